@@ -0,0 +1,286 @@
+package org.example;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Вычисление возраста на фиксированную дату отсчета, которая задается один раз на отчет или запрос.
+ * <p>
+ * При создании для каждого возраста от 0 до {@link #MAX_AGE} заранее вычисляется граничная
+ * дата рождения в днях от 01.01.1970: человек, родившийся в этот день или раньше, на дату отсчета
+ * имеет не меньше указанного количества полных лет. После этого возраст по дате рождения
+ * находится сравнением целых чисел без обращения к часам и без создания объектов,
+ * а условие "возраст в диапазоне" превращается в диапазон дат рождения.
+ * Результат совпадает с {@code Period.between(birthDate, referenceDate).getYears()},
+ * в том числе для родившихся 29 февраля.
+ * <p>
+ * Объект неизменяем и может использоваться из нескольких потоков.
+ */
+public final class AgeCalculator {
+
+    /** Наибольший возраст, для которого граничные даты вычисляются заранее */
+    public static final int MAX_AGE = 150;
+
+    private static volatile Today today;
+
+    private final LocalDate referenceDate;
+    private final long referenceEpochDay;
+
+    /** cutoffs[n] - последний день рождения, при котором возраст не меньше n лет; убывает с ростом n */
+    private final long[] cutoffs;
+
+    private AgeCalculator(LocalDate referenceDate) {
+        this.referenceDate = referenceDate;
+        this.referenceEpochDay = referenceDate.toEpochDay();
+        this.cutoffs = new long[MAX_AGE + 2];
+        for (int age = 0; age < cutoffs.length; age++) {
+            cutoffs[age] = referenceDate.minusYears(age).toEpochDay();
+        }
+    }
+
+    /**
+     * Создает калькулятор на заданную дату.
+     *
+     * @param referenceDate дата, на которую вычисляется возраст
+     * @return калькулятор возраста
+     */
+    public static AgeCalculator of(LocalDate referenceDate) {
+        if (referenceDate == null) {
+            throw new IllegalArgumentException("Дата отсчета не задана");
+        }
+        return new AgeCalculator(referenceDate);
+    }
+
+    /**
+     * Возвращает калькулятор на сегодняшнюю дату в часовом поясе по умолчанию.
+     * Калькулятор создается один раз в сутки; до полуночи повторные вызовы
+     * возвращают тот же объект, проверяя только текущее время в миллисекундах.
+     *
+     * @return калькулятор возраста на сегодня
+     */
+    public static AgeCalculator today() {
+        Today current = today;
+        if (current == null || System.currentTimeMillis() >= current.validUntilMillis()) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate date = LocalDate.now(zone);
+            long midnight = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            current = new Today(new AgeCalculator(date), midnight);
+            today = current;
+        }
+        return current.calculator();
+    }
+
+    /**
+     * Возвращает дату отсчета.
+     *
+     * @return дата, на которую вычисляется возраст
+     */
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+
+    /**
+     * Вычисляет полное количество лет на дату отсчета.
+     *
+     * @param birthEpochDay дата рождения в днях от 01.01.1970
+     * @return возраст в годах; отрицательный, если дата рождения позже даты отсчета
+     */
+    public int ageAt(long birthEpochDay) {
+        if (birthEpochDay > referenceEpochDay || birthEpochDay <= cutoffs[MAX_AGE + 1]) {
+            // Вне таблицы граничных дат: будущая дата рождения или возраст больше MAX_AGE
+            return Period.between(LocalDate.ofEpochDay(birthEpochDay), referenceDate).getYears();
+        }
+        // За n полных лет проходит меньше 366 * (n + 1) дней, поэтому оценка не превышает
+        // возраст и отличается от него не больше чем на год
+        int age = (int) ((referenceEpochDay - birthEpochDay) / 366);
+        while (birthEpochDay <= cutoffs[age + 1]) {
+            age++;
+        }
+        return age;
+    }
+
+    /**
+     * Вычисляет полное количество лет на дату отсчета.
+     *
+     * @param birthDate дата рождения
+     * @return возраст в годах
+     */
+    public int age(LocalDate birthDate) {
+        return ageAt(birthDate.toEpochDay());
+    }
+
+    /**
+     * Возвращает последнюю дату рождения, при которой возраст на дату отсчета не меньше age лет.
+     *
+     * @param age возраст в годах, не отрицательный
+     * @return дата рождения в днях от 01.01.1970
+     */
+    public long latestBirthEpochDay(int age) {
+        if (age < 0) {
+            throw new IllegalArgumentException("Возраст не может быть отрицательным: " + age);
+        }
+        if (age < cutoffs.length) {
+            return cutoffs[age];
+        }
+        if (age > (long) referenceDate.getYear() - Year.MIN_VALUE) {
+            return Long.MIN_VALUE;
+        }
+        return referenceDate.minusYears(age).toEpochDay();
+    }
+
+    /**
+     * Возвращает первую дату рождения, при которой возраст на дату отсчета не больше age лет.
+     *
+     * @param age возраст в годах, не отрицательный
+     * @return дата рождения в днях от 01.01.1970
+     */
+    public long earliestBirthEpochDay(int age) {
+        if (age == Integer.MAX_VALUE) {
+            return Long.MIN_VALUE;
+        }
+        long cutoff = latestBirthEpochDay(age + 1);
+        return cutoff == Long.MIN_VALUE ? Long.MIN_VALUE : cutoff + 1;
+    }
+
+    /**
+     * Создает возрастные группы одинаковой ширины: [0, width), [width, 2 * width), ...
+     * Последняя группа начинается не позже {@link #MAX_AGE} и не ограничена сверху.
+     *
+     * @param width ширина группы в годах
+     * @return возрастные группы на дату отсчета этого калькулятора
+     * @throws IllegalArgumentException если ширина не положительна
+     */
+    public Bands bandsOfWidth(int width) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Ширина возрастной группы должна быть положительной");
+        }
+        int[] lowerBounds = new int[MAX_AGE / width + 1];
+        for (int i = 0; i < lowerBounds.length; i++) {
+            lowerBounds[i] = i * width;
+        }
+        return new Bands(lowerBounds);
+    }
+
+    /**
+     * Создает возрастные группы с заданными нижними границами, например {@code bands(18, 30, 45, 60)}
+     * дает группы 18-29, 30-44, 45-59 и 60+. Люди младше первой границы не попадают ни в одну группу.
+     *
+     * @param lowerBounds возрастающие нижние границы групп от 0 до {@link #MAX_AGE}
+     * @return возрастные группы на дату отсчета этого калькулятора
+     * @throws IllegalArgumentException если границы не заданы, не возрастают или вне допустимого диапазона
+     */
+    public Bands bands(int... lowerBounds) {
+        if (lowerBounds.length == 0) {
+            throw new IllegalArgumentException("Не заданы границы возрастных групп");
+        }
+        for (int i = 0; i < lowerBounds.length; i++) {
+            if (lowerBounds[i] < 0 || lowerBounds[i] > MAX_AGE) {
+                throw new IllegalArgumentException("Граница возрастной группы вне диапазона 0.." + MAX_AGE
+                        + ": " + lowerBounds[i]);
+            }
+            if (i > 0 && lowerBounds[i] <= lowerBounds[i - 1]) {
+                throw new IllegalArgumentException("Границы возрастных групп должны возрастать");
+            }
+        }
+        return new Bands(lowerBounds.clone());
+    }
+
+    @Override
+    public String toString() {
+        return "AgeCalculator[" + referenceDate + "]";
+    }
+
+    /**
+     * Возрастные группы на дату отсчета калькулятора. Для каждой нижней границы заранее
+     * известна граничная дата рождения, поэтому группа определяется бинарным поиском
+     * по дате рождения без вычисления возраста.
+     */
+    public final class Bands {
+
+        private final int[] lowerBounds;
+
+        /** cutoffs[i] - последняя дата рождения группы i и старше; убывает с ростом i */
+        private final long[] bandCutoffs;
+
+        private Bands(int[] lowerBounds) {
+            this.lowerBounds = lowerBounds;
+            this.bandCutoffs = new long[lowerBounds.length];
+            for (int i = 0; i < lowerBounds.length; i++) {
+                bandCutoffs[i] = cutoffs[lowerBounds[i]];
+            }
+        }
+
+        /**
+         * Возвращает калькулятор, для даты отсчета которого построены группы.
+         */
+        public AgeCalculator getCalculator() {
+            return AgeCalculator.this;
+        }
+
+        /**
+         * Возвращает количество групп.
+         */
+        public int size() {
+            return lowerBounds.length;
+        }
+
+        /**
+         * Определяет группу по дате рождения.
+         *
+         * @param birthEpochDay дата рождения в днях от 01.01.1970
+         * @return номер группы или -1, если человек младше первой границы
+         */
+        public int indexOf(long birthEpochDay) {
+            int low = 0;
+            int high = bandCutoffs.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (birthEpochDay <= bandCutoffs[mid]) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Возвращает наименьший возраст группы.
+         */
+        public int minAge(int index) {
+            return lowerBounds[index];
+        }
+
+        /**
+         * Возвращает наибольший возраст группы или {@link Integer#MAX_VALUE} для последней группы.
+         */
+        public int maxAge(int index) {
+            return index + 1 < lowerBounds.length ? lowerBounds[index + 1] - 1 : Integer.MAX_VALUE;
+        }
+
+        /**
+         * Возвращает подпись группы, например "30-44" или "60+".
+         */
+        public String label(int index) {
+            return index + 1 < lowerBounds.length
+                    ? minAge(index) + "-" + maxAge(index)
+                    : minAge(index) + "+";
+        }
+
+        @Override
+        public String toString() {
+            return "Bands" + Arrays.toString(lowerBounds) + " на " + referenceDate;
+        }
+    }
+
+    /**
+     * Калькулятор на сегодня и момент, до которого он действителен.
+     */
+    private record Today(AgeCalculator calculator, long validUntilMillis) {
+    }
+}
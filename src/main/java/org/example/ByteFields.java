@@ -0,0 +1,211 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Вспомогательные методы для разбора полей CSV прямо в байтах буфера.
+ * Границы поля задаются полуинтервалом [start, end) абсолютных позиций в буфере.
+ * Обрезка пробелов совпадает с {@link String#trim()}: отбрасываются байты с кодом не больше пробела.
+ * <p>
+ * Разделители, цифры и даты сравниваются как байты ASCII, поэтому разбор подходит для любой
+ * кодировки, совместимой с ASCII (см. {@link #isAsciiCompatible(Charset)}); в строки
+ * декодируются только текстовые поля. Правила быстрого разбора чисел и дат общие
+ * со строковым разбором и берутся из {@link FieldParsers}.
+ */
+final class ByteFields {
+
+    /** Метка порядка байтов UTF-8 */
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private ByteFields() {
+    }
+
+    /**
+     * Проверяет, можно ли разбирать текст в кодировке прямо в байтах:
+     * символы ASCII кодируются одним байтом с тем же значением, а байты многобайтовых
+     * символов не совпадают с ASCII. Это верно для UTF-8 и однобайтовых кодировок
+     * вроде windows-1251 или ISO-8859-1, но не для UTF-16.
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)) {
+            return true;
+        }
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1.0f) {
+            return false;
+        }
+        byte[] ascii = new byte[128];
+        for (int i = 0; i < ascii.length; i++) {
+            ascii[i] = (byte) i;
+        }
+        return new String(ascii, charset).equals(new String(ascii, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Возвращает длину метки порядка байтов UTF-8 в начале диапазона [from, to) или 0, если ее нет.
+     */
+    static int bomLength(ByteBuffer buf, int from, int to) {
+        if (to - from < UTF8_BOM.length) {
+            return 0;
+        }
+        for (int i = 0; i < UTF8_BOM.length; i++) {
+            if (buf.get(from + i) != UTF8_BOM[i]) {
+                return 0;
+            }
+        }
+        return UTF8_BOM.length;
+    }
+
+    /**
+     * Возвращает позицию первого байта поля после обрезки пробелов слева.
+     */
+    static int trimStart(ByteBuffer buf, int start, int end) {
+        while (start < end && (buf.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Возвращает позицию за последним байтом поля после обрезки пробелов справа.
+     */
+    static int trimEnd(ByteBuffer buf, int start, int end) {
+        while (end > start && (buf.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Проверяет, состоит ли поле только из пробельных байтов.
+     */
+    static boolean isBlank(ByteBuffer buf, int start, int end) {
+        return trimStart(buf, start, end) == end;
+    }
+
+    /**
+     * Разбирает целое число из уже обрезанного поля.
+     * Быстрый путь обрабатывает только десятичные цифры с необязательным знаком;
+     * во всех остальных случаях используется {@link Integer#parseInt(String)}
+     * с его исключениями.
+     *
+     * @throws NumberFormatException если поле не является целым числом
+     */
+    static int parseInt(ByteBuffer buf, int start, int end, byte[] scratch) {
+        int pos = start;
+        boolean negative = false;
+        if (pos < end) {
+            byte first = buf.get(pos);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                pos++;
+            }
+        }
+        int digits = end - pos;
+        if (digits == 0 || digits > FieldParsers.MAX_FAST_INT_DIGITS) {
+            return Integer.parseInt(decodeUtf8(buf, start, end, scratch));
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            value = FieldParsers.appendDigit(value, buf.get(pos) - '0');
+            if (value == FieldParsers.NOT_FAST) {
+                return Integer.parseInt(decodeUtf8(buf, start, end, scratch));
+            }
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Разбирает число с плавающей точкой из уже обрезанного поля.
+     * Быстрый путь обрабатывает запись вида {@code 1234} или {@code 1234.56},
+     * когда результат деления мантиссы на степень десяти округляется точно так же,
+     * как в {@link Double#parseDouble(String)}. Иначе используется сам parseDouble.
+     *
+     * @throws NumberFormatException если поле не является числом
+     */
+    static double parseDouble(ByteBuffer buf, int start, int end, byte[] scratch) {
+        long mantissa = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+        for (int pos = start; pos < end; pos++) {
+            byte b = buf.get(pos);
+            if (b == '.' && !seenDot) {
+                seenDot = true;
+                continue;
+            }
+            mantissa = FieldParsers.appendDigit(mantissa, b - '0');
+            if (mantissa == FieldParsers.NOT_FAST) {
+                return Double.parseDouble(decodeUtf8(buf, start, end, scratch));
+            }
+            seenDigit = true;
+            if (seenDot) {
+                fractionDigits++;
+            }
+        }
+        double result = seenDigit ? FieldParsers.scale(mantissa, fractionDigits) : Double.NaN;
+        return Double.isNaN(result) ? Double.parseDouble(decodeUtf8(buf, start, end, scratch)) : result;
+    }
+
+    /**
+     * Разбирает дату из уже обрезанного поля, как {@link FieldParsers#parseDate(String, DateTimeFormatter)}.
+     * Быстрый путь читает "dd.MM.yyyy" прямо из байтов; остальные значения декодируются
+     * и разбираются самим formatter.
+     *
+     * @throws java.time.format.DateTimeParseException если не удалось распарсить дату
+     */
+    static LocalDate parseDate(ByteBuffer buf, int start, int end, byte[] scratch, DateTimeFormatter formatter) {
+        if (end - start == FieldParsers.DATE_LENGTH
+                && buf.get(start + 2) == '.'
+                && buf.get(start + 5) == '.') {
+            int day = digits(buf, start, 2);
+            int month = digits(buf, start + 3, 2);
+            int year = digits(buf, start + 6, 4);
+            if (FieldParsers.isFastDate(year, month, day)) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(decodeUtf8(buf, start, end, scratch), formatter);
+    }
+
+    /**
+     * Читает count десятичных цифр начиная с pos.
+     *
+     * @return число или -1, если встретился байт, не являющийся цифрой
+     */
+    private static int digits(ByteBuffer buf, int pos, int count) {
+        long result = 0;
+        for (int i = pos; i < pos + count && result != FieldParsers.NOT_FAST; i++) {
+            result = FieldParsers.appendDigit(result, buf.get(i) - '0');
+        }
+        return (int) result;
+    }
+
+    /**
+     * Декодирует поле как строку UTF-8.
+     *
+     * @param scratch буфер для копирования байтов; если он мал, выделяется временный
+     */
+    static String decodeUtf8(ByteBuffer buf, int start, int end, byte[] scratch) {
+        return decode(buf, start, end, scratch, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Декодирует поле как строку в заданной кодировке.
+     * Байты буфера в куче декодируются на месте, байты отображенного файла сначала копируются в scratch.
+     *
+     * @param scratch буфер для копирования байтов; если он мал, выделяется временный
+     */
+    static String decode(ByteBuffer buf, int start, int end, byte[] scratch, Charset charset) {
+        int length = end - start;
+        if (buf.hasArray()) {
+            return new String(buf.array(), buf.arrayOffset() + start, length, charset);
+        }
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buf.get(start, bytes, 0, length);
+        return new String(bytes, 0, length, charset);
+    }
+}
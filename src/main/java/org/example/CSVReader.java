@@ -1,12 +1,41 @@
+package org.example;
+
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Класс для чтения данных о людях из CSV файла, расположенного в ресурсах.
+ * Файлы читаются в явно заданной кодировке, по умолчанию UTF-8, независимо от кодировки
+ * платформы; метка порядка байтов в начале файла пропускается.
+ * Строки разбиваются на поля с учетом кавычек по RFC 4180 ({@link RowTokenizer#quoteAware()}),
+ * другой способ разбиения можно передать в {@link #streamPeopleFromFile(Path, Charset, ParseErrors, RowTokenizer)}.
  */
 public class CSVReader {
 
+    /** Номера полей в строке CSV */
+    static final int ID_FIELD = 0;
+    static final int NAME_FIELD = 1;
+    static final int GENDER_FIELD = 2;
+    static final int BIRTH_DATE_FIELD = 3;
+    static final int DEPARTMENT_FIELD = 4;
+    static final int SALARY_FIELD = 5;
+
+    /** Количество полей в строке CSV */
+    static final int FIELD_COUNT = 6;
+
+    /** Метка порядка байтов после декодирования */
+    private static final String BOM = "\uFEFF";
+
     /**
      * Читает данные о людях из CSV файла в ресурсах.
      * ID подразделений генерируются автоматически в программе.
@@ -17,22 +46,307 @@ public class CSVReader {
      * @throws IOException если произошла ошибка при чтении файла
      */
     public static List<Person> readPeopleFromResource(String resourcePath) throws IOException {
+        return readPeopleFromResource(resourcePath, ParseErrors.printing());
+    }
+
+    /**
+     * Читает данные о людях из CSV файла в ресурсах, обрабатывая строки с ошибками
+     * по политике errors. После чтения в errors доступны количества ошибок по причинам.
+     *
+     * @param resourcePath путь к ресурсу с CSV файлом
+     * @param errors получатель ошибок разбора строк
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     * @throws IllegalArgumentException при политике {@link ErrorPolicy#failFast()}, если в файле есть ошибка
+     */
+    public static List<Person> readPeopleFromResource(String resourcePath, ParseErrors errors) throws IOException {
+        return readPeopleFromResource(resourcePath, StandardCharsets.UTF_8, errors);
+    }
+
+    /**
+     * Читает данные о людях из CSV файла в ресурсах в заданной кодировке.
+     * Для кодировок, совместимых с ASCII (UTF-8, windows-1251 и т.п.), ресурс разбирается
+     * прямо в байтах, как в {@link MappedCSVReader}: в строки декодируются только текстовые поля.
+     * Прочие кодировки, например UTF-16, читаются построчно через Reader.
+     *
+     * @param resourcePath путь к ресурсу с CSV файлом
+     * @param charset кодировка ресурса
+     * @param errors получатель ошибок разбора строк
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     * @throws IllegalArgumentException при политике {@link ErrorPolicy#failFast()}, если в файле есть ошибка
+     */
+    public static List<Person> readPeopleFromResource(String resourcePath, Charset charset, ParseErrors errors)
+            throws IOException {
+        if (ByteFields.isAsciiCompatible(charset)) {
+            byte[] content;
+            try (InputStream in = resourceUrl(resourcePath).openStream()) {
+                content = in.readAllBytes();
+            }
+            return readPeople(content, charset, errors);
+        }
+        try (BufferedReader reader = openResource(resourcePath, charset)) {
+            return readPeople(reader, charset, errors, RowTokenizer.quoteAware());
+        }
+    }
+
+    /**
+     * Разбирает содержимое CSV файла в кодировке, совместимой с ASCII, прямо в байтах.
+     * Смещения в ошибках считаются в байтах.
+     */
+    static List<Person> readPeople(byte[] content, Charset charset, ParseErrors errors) {
+        IngestionMetrics metrics = IngestionMetrics.get();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
         List<Person> people = new ArrayList<>();
+        new MappedCSVReader.RangeParser(MappedCSVReader.RowSink.into(people), true, errors, 0, charset)
+                .parse(ByteBuffer.wrap(content), 0, content.length, 0);
+        errors.complete();
+
+        if (start != 0) {
+            metrics.recordLoad(System.nanoTime() - start);
+        }
+        return people;
+    }
 
+    /**
+     * Возвращает ленивый поток людей из CSV файла в ресурсах.
+     * Строки читаются и разбираются по мере потребления потока, поэтому объем памяти
+     * не зависит от размера файла. Поток нужно закрыть (например, в try-with-resources);
+     * закрытие до конца чтения прекращает чтение файла.
+     *
+     * @param resourcePath путь к ресурсу с CSV файлом
+     * @return поток объектов Person в порядке строк файла
+     * @throws IOException если ресурс не найден или не может быть открыт
+     */
+    public static Stream<Person> streamPeopleFromResource(String resourcePath) throws IOException {
+        return streamPeople(openResource(resourcePath, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Возвращает ленивый поток людей из CSV файла на диске в кодировке UTF-8.
+     * Поток нужно закрыть; закрытие до конца чтения прекращает чтение файла.
+     *
+     * @param path путь к CSV файлу
+     * @return поток объектов Person в порядке строк файла
+     * @throws IOException если файл не может быть открыт
+     */
+    public static Stream<Person> streamPeopleFromFile(Path path) throws IOException {
+        return streamPeopleFromFile(path, ParseErrors.printing());
+    }
+
+    /**
+     * Возвращает ленивый поток людей из CSV файла на диске в кодировке UTF-8,
+     * обрабатывая строки с ошибками по политике errors.
+     * Количества ошибок в errors окончательны после того, как поток прочитан до конца.
+     *
+     * @param path путь к CSV файлу
+     * @param errors получатель ошибок разбора строк
+     * @return поток объектов Person в порядке строк файла
+     * @throws IOException если файл не может быть открыт
+     */
+    public static Stream<Person> streamPeopleFromFile(Path path, ParseErrors errors) throws IOException {
+        return streamPeopleFromFile(path, StandardCharsets.UTF_8, errors);
+    }
+
+    /**
+     * Возвращает ленивый поток людей из CSV файла на диске в заданной кодировке.
+     * Поток нужно закрыть; закрытие до конца чтения прекращает чтение файла.
+     *
+     * @param path путь к CSV файлу
+     * @param charset кодировка файла
+     * @param errors получатель ошибок разбора строк
+     * @return поток объектов Person в порядке строк файла
+     * @throws IOException если файл не может быть открыт
+     */
+    public static Stream<Person> streamPeopleFromFile(Path path, Charset charset, ParseErrors errors)
+            throws IOException {
+        return streamPeopleFromFile(path, charset, errors, RowTokenizer.quoteAware());
+    }
+
+    /**
+     * Возвращает ленивый поток людей из CSV файла на диске, разбивая строки на поля
+     * заданным способом. Поток нужно закрыть; закрытие до конца чтения прекращает чтение файла.
+     *
+     * @param path путь к CSV файлу
+     * @param charset кодировка файла
+     * @param errors получатель ошибок разбора строк
+     * @param tokenizer способ разбиения строк; экземпляр используется только этим потоком
+     * @return поток объектов Person в порядке строк файла
+     * @throws IOException если файл не может быть открыт
+     */
+    public static Stream<Person> streamPeopleFromFile(Path path, Charset charset, ParseErrors errors,
+                                                      RowTokenizer tokenizer) throws IOException {
+        return streamPeople(Files.newBufferedReader(path, charset), charset, errors, tokenizer);
+    }
+
+    /**
+     * Открывает ресурс с CSV файлом для построчного чтения в заданной кодировке.
+     */
+    private static BufferedReader openResource(String resourcePath, Charset charset) throws IOException {
+        return new BufferedReader(new InputStreamReader(resourceUrl(resourcePath).openStream(), charset));
+    }
+
+    private static URL resourceUrl(String resourcePath) throws FileNotFoundException {
         URL resourceUrl = CSVReader.class.getClassLoader().getResource(resourcePath);
         if (resourceUrl == null) {
             throw new FileNotFoundException("Ресурс не найден: " + resourcePath);
         }
+        return resourceUrl;
+    }
 
-        try (InputStream inputStream = resourceUrl.openStream();
-             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+    /**
+     * Читает данные о людях построчно из уже открытого источника.
+     * Строки с ошибками выводятся в System.err и пропускаются.
+     *
+     * @param reader источник строк CSV
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении
+     */
+    static List<Person> readPeople(BufferedReader reader) throws IOException {
+        return readPeople(reader, ParseErrors.printing());
+    }
 
-            String line;
-            boolean isFirstLine = true;
-            int lineNumber = 0;
+    /**
+     * Читает данные о людях построчно из уже открытого источника,
+     * обрабатывая строки с ошибками по политике errors.
+     */
+    static List<Person> readPeople(BufferedReader reader, ParseErrors errors) throws IOException {
+        return readPeople(reader, errors, RowTokenizer.quoteAware());
+    }
+
+    /**
+     * Читает данные о людях построчно, разбивая строки на поля заданным способом.
+     */
+    static List<Person> readPeople(BufferedReader reader, ParseErrors errors, RowTokenizer tokenizer)
+            throws IOException {
+        return readPeople(reader, StandardCharsets.UTF_8, errors, tokenizer);
+    }
+
+    /**
+     * Читает данные о людях построчно из источника в кодировке charset;
+     * кодировка нужна только для подсчета прочитанных байтов в метриках.
+     */
+    static List<Person> readPeople(BufferedReader reader, Charset charset, ParseErrors errors,
+                                   RowTokenizer tokenizer) throws IOException {
+        List<Person> people = new ArrayList<>();
+        PersonSpliterator spliterator = new PersonSpliterator(reader, charset, errors, tokenizer);
+
+        try {
+            while (spliterator.tryAdvance(people::add)) {
+                // Все действие выполняется в tryAdvance
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return people;
+    }
 
-            while ((line = reader.readLine()) != null) {
+    /**
+     * Возвращает поток людей, который читает строки из источника по мере потребления.
+     * Закрытие потока закрывает источник.
+     */
+    static Stream<Person> streamPeople(BufferedReader reader) {
+        return streamPeople(reader, ParseErrors.printing());
+    }
+
+    /**
+     * Возвращает поток людей, обрабатывающий строки с ошибками по политике errors.
+     */
+    static Stream<Person> streamPeople(BufferedReader reader, ParseErrors errors) {
+        return streamPeople(reader, errors, RowTokenizer.quoteAware());
+    }
+
+    /**
+     * Возвращает поток людей, разбивающий строки на поля заданным способом.
+     */
+    static Stream<Person> streamPeople(BufferedReader reader, ParseErrors errors, RowTokenizer tokenizer) {
+        return streamPeople(reader, StandardCharsets.UTF_8, errors, tokenizer);
+    }
+
+    /**
+     * Возвращает поток людей из источника в кодировке charset;
+     * кодировка нужна только для подсчета прочитанных байтов в метриках.
+     */
+    static Stream<Person> streamPeople(BufferedReader reader, Charset charset, ParseErrors errors,
+                                       RowTokenizer tokenizer) {
+        return StreamSupport.stream(new PersonSpliterator(reader, charset, errors, tokenizer), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Последовательно разбирает строки CSV и выдает людей по одному.
+     * Пустые строки, заголовок и строки с ошибками пропускаются;
+     * ошибки передаются в {@link ParseErrors} с номером строки и смещением.
+     */
+    private static final class PersonSpliterator extends Spliterators.AbstractSpliterator<Person> {
+        private final BufferedReader reader;
+        private final Charset charset;
+        /** Однобайтовая ли кодировка источника: тогда байтов столько же, сколько символов */
+        private final boolean singleByte;
+        /** Длина перевода строки '\n' в байтах */
+        private final int lineBreakBytes;
+        private final ParseErrors errors;
+        private final RowTokenizer tokenizer;
+        private final String[] fields = new String[FIELD_COUNT];
+        private final IngestionMetrics metrics = IngestionMetrics.get();
+        private boolean isFirstLine = true;
+        private int lineNumber;
+
+        /** Смещение начала следующей строки в символах; перевод строки считается одним символом */
+        private long offset;
+
+        /** Время начала чтения для метрик или 0, если метрики не собирались */
+        private long loadStart;
+
+        PersonSpliterator(BufferedReader reader, Charset charset, ParseErrors errors, RowTokenizer tokenizer) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.reader = reader;
+            this.charset = charset;
+            this.singleByte = !charset.equals(StandardCharsets.UTF_8) && ByteFields.isAsciiCompatible(charset);
+            this.lineBreakBytes = encodedLength("\n", charset);
+            this.errors = errors;
+            this.tokenizer = tokenizer;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Person> action) {
+            while (true) {
+                boolean measure = metrics.isEnabled();
+                long start = measure ? System.nanoTime() : 0;
+                if (measure && loadStart == 0) {
+                    loadStart = start;
+                }
+
+                String line = readLine();
+                if (line == null) {
+                    errors.complete();
+                    if (loadStart != 0) {
+                        metrics.recordLoad(System.nanoTime() - loadStart);
+                        loadStart = 0;
+                    }
+                    return false;
+                }
                 lineNumber++;
+                long lineOffset = offset;
+                offset += line.length() + 1;
+                if (measure) {
+                    // Метрика считает байты источника, а не символы; перевод строки считается как '\n'
+                    metrics.recordLine((singleByte ? line.length() : encodedLength(line, charset)) + lineBreakBytes);
+                }
+                if (lineNumber == 1 && line.startsWith(BOM)) {
+                    line = line.substring(BOM.length());
+                }
+                if (measure) {
+                    start = metrics.recordPhase(IngestionMetrics.Phase.READ, start);
+                }
 
                 if (line.trim().isEmpty()) {
                     continue;
@@ -40,33 +354,72 @@ public class CSVReader {
 
                 // Пропускаем первую строку-заголовок
                 if (isFirstLine) {
+                    isFirstLine = false;
                     if (isHeaderLine(line)) {
                         System.out.println("Пропускаем строку заголовка...");
-                        isFirstLine = false;
                         continue;
                     }
-                    isFirstLine = false;
                 }
 
+                Person person;
                 try {
-                    Person person = parsePersonLine(line, lineNumber);
-                    if (person != null) {
-                        people.add(person);
-                    }
+                    person = parsePersonLine(line, tokenizer, fields, measure ? metrics : null, start);
                 } catch (Exception e) {
-                    System.err.printf("Ошибка в строке %d: %s%n", lineNumber, e.getMessage());
-                    System.err.printf("Содержимое строки: %s%n", line);
+                    if (measure) {
+                        metrics.recordError(ParseErrorCause.of(e));
+                    }
+                    errors.add(ParseError.of(e, lineNumber, lineOffset));
+                    continue;
                 }
+                if (measure) {
+                    metrics.recordRow(System.nanoTime() - start);
+                }
+                action.accept(person);
+                return true;
             }
         }
 
-        return people;
+        private String readLine() {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Возвращает длину строки в байтах кодировки charset. Для UTF-8 длина считается
+     * без кодирования; одиночные суррогаты считаются как замена '?' в один байт.
+     */
+    static int encodedLength(String s, Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            int length = s.length();
+            int bytes = length;
+            for (int i = 0; i < length; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    if (c < 0x800) {
+                        bytes += 1;
+                    } else if (Character.isHighSurrogate(c) && i + 1 < length
+                            && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        // Пара суррогатов - два символа и четыре байта
+                        bytes += 2;
+                        i++;
+                    } else if (!Character.isSurrogate(c)) {
+                        bytes += 2;
+                    }
+                }
+            }
+            return bytes;
+        }
+        return s.getBytes(charset).length;
     }
 
     /**
      * Проверяет, является ли строка заголовком CSV файла.
      */
-    private static boolean isHeaderLine(String line) {
+    static boolean isHeaderLine(String line) {
         String lowerLine = line.toLowerCase();
         return lowerLine.contains("id") &&
                 lowerLine.contains("name") &&
@@ -81,74 +434,144 @@ public class CSVReader {
      * @param line строка из CSV файла
      * @param lineNumber номер строки (для сообщений об ошибках)
      * @return объект Person
-     * @throws IllegalArgumentException если данные в строке некорректны
+     * @throws IllegalArgumentException если данные в строке некорректны; ошибки формата
+     *                                  и проверки выбрасываются как {@link InvalidFieldException}
+     */
+    static Person parsePersonLine(String line, int lineNumber) {
+        return parsePersonLine(line, RowTokenizer.quoteAware(), new String[FIELD_COUNT], null, 0);
+    }
+
+    /**
+     * Парсит строку CSV, при необходимости измеряя время фаз разбора.
+     *
+     * @param tokenizer способ разбиения строки на поля
+     * @param parts массив для полей строки, переиспользуемый между строками
+     * @param metrics метрики для записи времени фаз или null, если измерять не нужно
+     * @param start время начала разбора строки по {@link System#nanoTime()}
      */
-    private static Person parsePersonLine(String line, int lineNumber) {
-        String[] parts = line.split(";");
+    private static Person parsePersonLine(String line, RowTokenizer tokenizer, String[] parts,
+                                          IngestionMetrics metrics, long start) {
+        int fieldCount = tokenizer.tokenize(line, parts);
+        if (metrics != null) {
+            start = metrics.recordPhase(IngestionMetrics.Phase.SPLIT, start);
+        }
 
-        if (parts.length < 6) {
-            throw new IllegalArgumentException(
-                    String.format("Недостаточно полей. Ожидается 6, получено %d", parts.length)
-            );
+        if (fieldCount < FIELD_COUNT) {
+            throw fieldCountError(fieldCount);
         }
 
-        try {
-            // Парсим поля из CSV
-            int personId = Integer.parseInt(parts[0].trim());
-            String name = parts[1].trim();
-            String gender = parts[2].trim();
-            String birthDate = parts[3].trim();
-            String departmentName = parts[4].trim();
-            double salary = Double.parseDouble(parts[5].trim());
-
-            // Используем фабричный метод для получения подразделения
-            // ID будет сгенерирован автоматически при первом создании отдела
-            // Для одинаковых названий отделов будет возвращен один и тот же объект
-            Department department = Department.getDepartment(departmentName);
-
-            // Создаем и возвращаем объект Person
+        // Парсим поля из CSV; числа и дата разбираются на месте, без обрезанных копий
+        int personId = parseInt(parts, ID_FIELD);
+        String name = parts[NAME_FIELD].trim();
+        String gender = parts[GENDER_FIELD].trim();
+        String birthDate = parts[BIRTH_DATE_FIELD];
+        double salary = parseDouble(parts, SALARY_FIELD);
+
+        // Используем фабричный метод для получения подразделения
+        // ID будет сгенерирован автоматически при первом создании отдела
+        // Для одинаковых названий отделов будет возвращен один и тот же объект,
+        // причем поиск по фрагменту не создает обрезанную строку
+        String departmentName = parts[DEPARTMENT_FIELD];
+        Department department = Department.getDepartment(departmentName, 0, departmentName.length());
+
+        // Создаем и возвращаем объект Person
+        if (metrics == null) {
             return new Person(personId, name, gender, birthDate, department, salary);
+        }
 
+        // При сборе метрик проверка и разбор даты измеряются по отдельности
+        // в том же порядке, что и в конструкторе Person; проверка выполняется один раз
+        start = metrics.recordPhase(IngestionMetrics.Phase.FIELDS, start);
+        Person.validateParameters(personId, name, gender, !Person.isBlank(birthDate), department, salary);
+        start = metrics.recordPhase(IngestionMetrics.Phase.VALIDATE, start);
+        LocalDate parsedBirthDate = Person.parseBirthDate(birthDate);
+        start = metrics.recordPhase(IngestionMetrics.Phase.DATE, start);
+        Person person = Person.ofValidated(personId, name, gender, parsedBirthDate, department, salary);
+        metrics.recordPhase(IngestionMetrics.Phase.VALIDATE, start);
+        return person;
+    }
+
+    /**
+     * Разбирает целое число из поля строки.
+     *
+     * @throws InvalidFieldException если поле не является целым числом
+     */
+    static int parseInt(String[] parts, int field) {
+        try {
+            return FieldParsers.parseInt(parts[field]);
+        } catch (NumberFormatException e) {
+            throw numberFormatError(field);
+        }
+    }
+
+    /**
+     * Разбирает число с плавающей точкой из поля строки.
+     *
+     * @throws InvalidFieldException если поле не является числом
+     */
+    static double parseDouble(String[] parts, int field) {
+        try {
+            return FieldParsers.parseDouble(parts[field]);
         } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Некорректный числовой формат", e);
+            throw numberFormatError(field);
         }
     }
 
+    /**
+     * Ошибка количества полей; номер поля - первое отсутствующее поле.
+     */
+    static InvalidFieldException fieldCountError(int fieldCount) {
+        return new InvalidFieldException(ParseErrorCause.FIELD_COUNT, fieldCount,
+                String.format("Недостаточно полей. Ожидается %d, получено %d", FIELD_COUNT, fieldCount));
+    }
+
+    /**
+     * Ошибка формата числа в поле ID или зарплаты.
+     */
+    static InvalidFieldException numberFormatError(int field) {
+        return new InvalidFieldException(ParseErrorCause.NUMBER_FORMAT, field, "Некорректный числовой формат");
+    }
+
     /**
      * Выводит количество сотрудников по отделам.
      *
      * @param people список людей для анализа
      */
     public static void printStatistics(List<Person> people) {
-        if (people.isEmpty()) {
+        printStatistics(people.stream());
+    }
+
+    /**
+     * Выводит количество сотрудников по отделам, потребляя поток за один проход.
+     * В памяти хранится только статистика по группам, поэтому метод подходит
+     * для потоков из {@link #streamPeopleFromResource(String)} любого размера.
+     *
+     * @param people поток людей для анализа
+     */
+    public static void printStatistics(Stream<Person> people) {
+        printStatistics(StatisticsAggregator.aggregate(people));
+    }
+
+    /**
+     * Выводит количество сотрудников по отделам из готового отчета.
+     * Полная статистика зарплат доступна в самом отчете.
+     *
+     * @param report отчет {@link StatisticsAggregator}
+     */
+    public static void printStatistics(StatisticsReport report) {
+        if (report.getTotal().getCount() == 0) {
             System.out.println("Нет данных для статистики.");
             return;
         }
 
         System.out.println("\n=== КОЛИЧЕСТВО СОТРУДНИКОВ ПО ОТДЕЛАМ ===");
 
-        // Группируем сотрудников по названию отдела
-        Map<String, Integer> deptCount = new HashMap<>();
-
-        for (Person person : people) {
-            String deptName = person.getDepartment().getName();
-            deptCount.put(deptName, deptCount.getOrDefault(deptName, 0) + 1);
-        }
-
         // Выводим статистику, отсортированную по названию отдела
-        deptCount.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(entry -> {
-                    String deptName = entry.getKey();
-                    int count = entry.getValue();
-
-                    // Создаем временный объект для получения ID отдела
-                    // (или берем ID из любого сотрудника этого отдела)
-                    Department dept = Department.getDepartment(deptName);
-                    System.out.printf("%s (ID:%d): %d сотрудник(ов)%n",
-                            deptName, dept.getId(), count);
-                });
+        report.getDepartments().stream()
+                .sorted(Comparator.comparing(Department::getName))
+                .forEach(dept -> System.out.printf("%s (ID:%d): %d сотрудник(ов)%n",
+                        dept.getName(), dept.getId(), report.getByDepartment(dept).getCount()));
 
-        System.out.printf("Всего сотрудников: %d%n", people.size());
+        System.out.printf("Всего сотрудников: %d%n", report.getTotal().getCount());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,326 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение строк, дописываемых в конец CSV файла, без повторного разбора уже прочитанного.
+ * <p>
+ * Хранит смещение в байтах и номер строки, до которых файл обработан. При каждом опросе
+ * разбираются только новые полные строки, и для каждой создается объект {@link Person},
+ * который передается {@link Listener}. Незаконченная последняя строка (без перевода строки)
+ * остается непрочитанной до следующего опроса. Получатель вызывается уже после разбора строк,
+ * поэтому его исключения не считаются ошибками разбора, а выбрасываются из {@link #poll()}.
+ * <p>
+ * Если файл стал короче обработанного смещения (усечение) или по тому же пути появился
+ * другой файл (ротация), чтение начинается с начала нового содержимого, а получатель
+ * уведомляется через {@link Listener#onRestart(Restart)}. При ротации сначала дочитываются
+ * полные строки, дописанные в прежний файл.
+ * <p>
+ * Строки с ошибками обрабатываются по политике {@link ParseErrors}; по умолчанию первые
+ * {@link ErrorPolicy#DEFAULT_LIMIT} ошибок выводятся в System.err, а остальные только считаются,
+ * так что постоянно испорченный источник не засоряет вывод.
+ * <p>
+ * Не потокобезопасен: опрос выполняется из одного потока.
+ */
+public final class CSVTailer implements Closeable {
+
+    /** Начальный размер буфера чтения */
+    private static final int INITIAL_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Причина чтения файла с начала.
+     */
+    public enum Restart {
+        /** Файл стал короче уже обработанной части */
+        TRUNCATED,
+        /** По тому же пути теперь другой файл */
+        ROTATED
+    }
+
+    /**
+     * Получатель новых строк.
+     */
+    public interface Listener {
+
+        /**
+         * Принимает человека из новой строки файла.
+         */
+        void onPerson(Person person);
+
+        /**
+         * Вызывается перед чтением файла с начала. По умолчанию ничего не делает:
+         * уже полученные данные остаются, а новые добавляются к ним.
+         */
+        default void onRestart(Restart reason) {
+        }
+
+        /**
+         * Вызывается в конце опроса, в котором были прочитаны новые люди.
+         *
+         * @param count количество людей, полученных за опрос
+         */
+        default void onBatch(int count) {
+        }
+    }
+
+    private final Path file;
+    private final Listener listener;
+    private final ParseErrors errors;
+
+    private FileChannel channel;
+    private Object fileKey;
+    private long offset;
+    private MappedCSVReader.RangeParser parser;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private int added;
+
+    /** Люди из разобранных строк, еще не переданные получателю */
+    private final List<Person> pending = new ArrayList<>();
+    private int delivered;
+
+    /**
+     * Создает читателя, который начнет с начала файла.
+     *
+     * @param file путь к CSV файлу
+     * @param listener получатель новых строк
+     */
+    public CSVTailer(Path file, Listener listener) {
+        this(file, listener, 0, 0);
+    }
+
+    /**
+     * Создает читателя, который продолжит с сохраненной позиции.
+     *
+     * @param file путь к CSV файлу
+     * @param listener получатель новых строк
+     * @param offset смещение в байтах сразу после последней обработанной строки
+     * @param lineNumber количество обработанных строк, включая заголовок и пустые
+     * @throws IllegalArgumentException если смещение или номер строки отрицательны
+     */
+    public CSVTailer(Path file, Listener listener, long offset, int lineNumber) {
+        this(file, listener, offset, lineNumber, ParseErrors.printing());
+    }
+
+    /**
+     * Создает читателя, который продолжит с сохраненной позиции и обработает строки
+     * с ошибками по политике errors. При политике {@link ErrorPolicy#failFast()}
+     * опрос, встретивший ошибку, выбрасывает IllegalArgumentException; строки до ошибочной
+     * передаются получателю, а следующий опрос продолжает со строки после ошибочной.
+     *
+     * @param file путь к CSV файлу
+     * @param listener получатель новых строк
+     * @param offset смещение в байтах сразу после последней обработанной строки
+     * @param lineNumber количество обработанных строк, включая заголовок и пустые
+     * @param errors получатель ошибок разбора строк
+     * @throws IllegalArgumentException если смещение или номер строки отрицательны
+     */
+    public CSVTailer(Path file, Listener listener, long offset, int lineNumber, ParseErrors errors) {
+        if (offset < 0 || lineNumber < 0) {
+            throw new IllegalArgumentException("Смещение и номер строки не могут быть отрицательными");
+        }
+        this.file = Objects.requireNonNull(file);
+        this.listener = Objects.requireNonNull(listener);
+        this.errors = Objects.requireNonNull(errors);
+        this.offset = offset;
+        this.parser = newParser(offset == 0, lineNumber);
+    }
+
+    /**
+     * Возвращает смещение в байтах сразу после последней обработанной строки.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Возвращает количество обработанных строк, включая заголовок и пустые строки.
+     */
+    public int getLineNumber() {
+        return parser.lineCount();
+    }
+
+    /**
+     * Возвращает ошибки разбора, накопленные за все опросы.
+     */
+    public ParseErrors getErrors() {
+        return errors;
+    }
+
+    /**
+     * Разбирает строки, дописанные с прошлого опроса.
+     * Если получатель выбросил исключение, оно выбрасывается из опроса, а люди,
+     * которых получатель еще не принял, передаются ему в начале следующего опроса.
+     *
+     * @return количество людей, переданных получателю
+     * @throws IOException если файл не удалось прочитать
+     */
+    public int poll() throws IOException {
+        added = 0;
+        deliverPending();
+        readAvailable();
+        if (added > 0) {
+            listener.onBatch(added);
+        }
+        return added;
+    }
+
+    /**
+     * Следит за файлом, пока поток не будет прерван: ждет событий изменения каталога
+     * через {@link WatchService} и опрашивает файл не реже, чем раз в pollInterval,
+     * на случай если файловая система не сообщает об изменениях.
+     *
+     * @param pollInterval наибольший интервал между опросами
+     * @throws IOException если файл не удалось прочитать
+     */
+    public void watch(Duration pollInterval) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            while (!Thread.currentThread().isInterrupted()) {
+                poll();
+                WatchKey key = watcher.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    // Достаточно факта изменения: файл все равно перечитывается с сохраненного смещения
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Наблюдение закрыто: поток не прерывали, поэтому флаг прерывания не ставится
+        }
+    }
+
+    /**
+     * Закрывает открытый файл.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Проверяет усечение и ротацию файла и читает новые строки.
+     */
+    private void readAvailable() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            // Файл переименован, а новый еще не создан: дочитываем прежний
+            if (channel != null) {
+                readNewLines();
+            }
+            return;
+        }
+
+        if (channel == null) {
+            open(attributes);
+        } else if (attributes.fileKey() != null && !attributes.fileKey().equals(fileKey)) {
+            readNewLines();
+            channel.close();
+            channel = null;
+            open(attributes);
+            restart(Restart.ROTATED);
+        }
+
+        if (channel.size() < offset) {
+            restart(Restart.TRUNCATED);
+        }
+        readNewLines();
+    }
+
+    private void open(BasicFileAttributes attributes) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        fileKey = attributes.fileKey();
+    }
+
+    private void restart(Restart reason) {
+        offset = 0;
+        parser = newParser(true, 0);
+        listener.onRestart(reason);
+    }
+
+    private MappedCSVReader.RangeParser newParser(boolean headerAllowed, int linesBefore) {
+        return new MappedCSVReader.RangeParser(MappedCSVReader.RowSink.into(pending),
+                headerAllowed, errors, linesBefore);
+    }
+
+    /**
+     * Передает получателю людей из уже разобранных строк, вне обработки ошибок разбора.
+     */
+    private void deliverPending() {
+        while (delivered < pending.size()) {
+            // Человек считается переданным до вызова, чтобы ошибка получателя не повторялась на нем же
+            Person person = pending.get(delivered++);
+            listener.onPerson(person);
+            added++;
+        }
+        pending.clear();
+        delivered = 0;
+    }
+
+    /**
+     * Читает файл от сохраненного смещения до конца и разбирает полные строки.
+     */
+    private void readNewLines() throws IOException {
+        long size = channel.size();
+        while (offset < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), size - offset));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            int filled = buffer.position();
+
+            int end = MappedCSVReader.lastLineBreak(buffer, filled) + 1;
+            if (end == 0) {
+                if (filled == buffer.capacity() && offset + filled < size) {
+                    // Строка длиннее буфера: увеличиваем буфер и читаем снова
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                    continue;
+                }
+                // Последняя строка еще дописывается
+                return;
+            }
+
+            try {
+                parser.parse(buffer, 0, end, offset);
+            } catch (RuntimeException e) {
+                // Ошибка при политике FAIL_FAST: строки до ошибочной уже разобраны, а номер строки учтен.
+                // Смещение сдвигается за ошибочную строку, чтобы следующий опрос не разбирал
+                // и не передавал получателю те же строки повторно
+                offset += parser.parsedTo();
+                deliverPending();
+                throw e;
+            }
+            offset += end;
+            deliverPending();
+        }
+    }
+}
@@ -1,10 +1,23 @@
-import java.util.HashMap;
-import java.util.Map;
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Класс, представляющий подразделение в организации.
  * ID подразделения генерируется автоматически при создании объекта.
- * Для одинаковых названий подразделений создается один объект с одинаковым ID.
+ * Для одинаковых названий подразделений создается один объект с одним ID.
+ * <p>
+ * Реестр подразделений потокобезопасен: ID выдаются подряд, начиная с 1, под той же
+ * блокировкой, под которой подразделение публикуется в таблицу поиска, а поиск уже
+ * известных названий не берет блокировок.
+ * Названия можно искать по фрагменту строки или байтов без создания
+ * промежуточной обрезанной строки. Реестр рассчитан на небольшое число подразделений:
+ * добавление нового названия перестраивает таблицу поиска целиком.
  */
 public class Department {
     /** Уникальный идентификатор подразделения */
@@ -13,11 +26,17 @@ public class Department {
     /** Название подразделения */
     private final String name;
 
-    /** Счетчик для генерации уникальных идентификаторов */
+    /** Название подразделения в UTF-8 для сравнения с байтами файла */
+    private final byte[] utf8Name;
+
+    /** Счетчик для генерации уникальных идентификаторов, защищен блокировкой класса */
     private static int nextId = 1;
 
     /** Кэш созданных подразделений для избежания дублирования */
-    private static final Map<String, Department> departmentCache = new HashMap<>();
+    private static final ConcurrentMap<String, Department> departmentCache = new ConcurrentHashMap<>();
+
+    /** Неизменяемый снимок реестра для поиска по фрагментам без блокировок */
+    private static volatile Lookup lookup = new Lookup(new Department[1], new Department[16], new Department[16]);
 
     /**
      * Приватный конструктор подразделения.
@@ -29,27 +48,233 @@ public class Department {
     private Department(int id, String name) {
         this.id = id;
         this.name = name;
+        this.utf8Name = name.getBytes(StandardCharsets.UTF_8);
     }
 
     /**
      * Фабричный метод для получения подразделения.
      * Гарантирует, что для одного названия будет один объект с одним ID.
+     * Метод можно вызывать из нескольких потоков одновременно.
      *
      * @param name название подразделения (не может быть null или пустым)
      * @return объект Department
-     * @throws IllegalArgumentException если name равен null или пустой строке
+     * @throws InvalidFieldException если name равен null или пустой строке
      */
     public static Department getDepartment(String name) {
         if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Название подразделения не может быть пустым");
+            throw new InvalidFieldException(ParseErrorCause.VALIDATION, CSVReader.DEPARTMENT_FIELD,
+                    "Название подразделения не может быть пустым");
         }
 
         String normalizedName = name.trim();
 
-        // Если подразделение с таким названием уже существует, возвращаем его
-        // Если нет - создаем новое и сохраняем в кэш
-        return departmentCache.computeIfAbsent(normalizedName,
-                key -> new Department(nextId++, normalizedName));
+        // Уже известное название находится без блокировок
+        Department department = departmentCache.get(normalizedName);
+        if (department != null) {
+            return department;
+        }
+
+        return register(normalizedName);
+    }
+
+    /**
+     * Создает новое подразделение и публикует его под одной блокировкой.
+     * Поэтому к моменту, когда подразделение видно в кэше, оно уже есть в таблице поиска,
+     * а все ID до maxId() включительно находятся через getById().
+     */
+    private static synchronized Department register(String name) {
+        Department department = departmentCache.get(name);
+        if (department == null) {
+            department = new Department(nextId++, name);
+            publish(department);
+            departmentCache.put(name, department);
+        }
+        return department;
+    }
+
+    /**
+     * Возвращает подразделение по фрагменту [start, end) последовательности символов.
+     * Пробелы по краям фрагмента игнорируются; для известных названий строка не создается.
+     *
+     * @param chars последовательность символов, содержащая название
+     * @param start начало фрагмента
+     * @param end конец фрагмента (не включается)
+     * @return объект Department
+     * @throws InvalidFieldException если фрагмент пустой
+     */
+    public static Department getDepartment(CharSequence chars, int start, int end) {
+        while (start < end && chars.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && chars.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+
+        Department[] slots = lookup.slots();
+        int mask = slots.length - 1;
+        for (int i = spread(hash) & mask; slots[i] != null; i = (i + 1) & mask) {
+            if (slots[i].nameEquals(chars, start, end)) {
+                return slots[i];
+            }
+        }
+        return getDepartment(chars.subSequence(start, end).toString());
+    }
+
+    /**
+     * Возвращает подразделение по фрагменту [start, end) буфера с названием в UTF-8.
+     * Пробелы по краям фрагмента игнорируются; для известных названий строка не создается.
+     *
+     * @param buf буфер с байтами UTF-8
+     * @param start абсолютная позиция начала фрагмента
+     * @param end абсолютная позиция конца фрагмента (не включается)
+     * @return объект Department
+     * @throws InvalidFieldException если фрагмент пустой
+     */
+    public static Department getDepartment(ByteBuffer buf, int start, int end) {
+        return getDepartment(buf, start, end, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Возвращает подразделение по фрагменту [start, end) буфера с названием в заданной кодировке,
+     * совместимой с ASCII. Известные названия в UTF-8, в том числе кириллические, и названия
+     * из символов ASCII в любой такой кодировке находятся без создания строки.
+     *
+     * @param buf буфер с байтами названия
+     * @param start абсолютная позиция начала фрагмента
+     * @param end абсолютная позиция конца фрагмента (не включается)
+     * @param charset кодировка байтов буфера
+     * @return объект Department
+     * @throws InvalidFieldException если фрагмент пустой
+     */
+    static Department getDepartment(ByteBuffer buf, int start, int end, Charset charset) {
+        start = ByteFields.trimStart(buf, start, end);
+        end = ByteFields.trimEnd(buf, start, end);
+
+        int hash = 0;
+        boolean ascii = true;
+        for (int i = start; i < end; i++) {
+            byte b = buf.get(i);
+            ascii &= b >= 0;
+            hash = 31 * hash + b;
+        }
+
+        // Таблица построена по хэшу байтов UTF-8, а в ASCII байты всех таких кодировок совпадают
+        if (ascii || charset.equals(StandardCharsets.UTF_8)) {
+            Department[] slots = lookup.utf8Slots();
+            int mask = slots.length - 1;
+            for (int i = spread(hash) & mask; slots[i] != null; i = (i + 1) & mask) {
+                if (slots[i].nameEquals(buf, start, end)) {
+                    return slots[i];
+                }
+            }
+        }
+
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return getDepartment(new String(bytes, charset));
+    }
+
+    /**
+     * Возвращает подразделение по идентификатору.
+     *
+     * @param id идентификатор подразделения
+     * @return объект Department или null, если подразделения с таким ID нет
+     */
+    public static Department getById(int id) {
+        Department[] byId = lookup.byId();
+        return id > 0 && id < byId.length ? byId[id] : null;
+    }
+
+    /**
+     * Возвращает наибольший опубликованный идентификатор подразделения.
+     * Значение берется из того же снимка, что и getById(), а ID публикуются подряд с 1,
+     * поэтому массив размером maxId() + 1 вмещает все подразделения и getById()
+     * возвращает подразделение для любого ID от 1 до maxId().
+     *
+     * @return наибольший идентификатор или 0, если подразделений еще нет
+     */
+    public static int maxId() {
+        return lookup.byId().length - 1;
+    }
+
+    /**
+     * Добавляет подразделение в снимок для поиска по фрагментам.
+     * Вызывается редко - только для новых названий, поэтому снимок просто строится заново.
+     * Вызывается из register() с очередным ID, поэтому массив byId растет ровно на один элемент.
+     */
+    private static void publish(Department department) {
+        Lookup current = lookup;
+        Department[] byId = Arrays.copyOf(current.byId(), department.id + 1);
+        byId[department.id] = department;
+
+        int count = department.id;
+        int capacity = current.slots().length;
+        while (capacity < count * 2) {
+            capacity *= 2;
+        }
+        Department[] slots = new Department[capacity];
+        Department[] utf8Slots = new Department[capacity];
+        for (Department known : byId) {
+            if (known != null) {
+                insert(slots, known, known.name.hashCode());
+                insert(utf8Slots, known, utf8Hash(known.utf8Name));
+            }
+        }
+
+        lookup = new Lookup(byId, slots, utf8Slots);
+    }
+
+    private static void insert(Department[] slots, Department department, int hash) {
+        int mask = slots.length - 1;
+        int i = spread(hash) & mask;
+        while (slots[i] != null) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = department;
+    }
+
+    /**
+     * Хэш байтов, для ASCII совпадающий с {@link String#hashCode()}.
+     */
+    private static int utf8Hash(byte[] bytes) {
+        int hash = 0;
+        for (byte b : bytes) {
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean nameEquals(CharSequence chars, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != chars.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean nameEquals(ByteBuffer buf, int start, int end) {
+        if (utf8Name.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < utf8Name.length; i++) {
+            if (utf8Name[i] != buf.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -79,4 +304,11 @@ public class Department {
     public String toString() {
         return String.format("%s(ID:%d)", name, id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Снимок реестра: массив подразделений по ID и хэш-таблицы с открытой адресацией
+     * по названию и по его байтам UTF-8.
+     */
+    private record Lookup(Department[] byId, Department[] slots, Department[] utf8Slots) {
+    }
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+/**
+ * Политика обработки строк CSV с ошибками.
+ * <ul>
+ *     <li>{@link Mode#FAIL_FAST} - первая ошибка прерывает чтение исключением;</li>
+ *     <li>{@link Mode#SKIP} - строки с ошибками пропускаются, считаются только количества по причинам;</li>
+ *     <li>{@link Mode#COLLECT} - кроме количеств сохраняются первые N ошибок.</li>
+ * </ul>
+ */
+public final class ErrorPolicy {
+
+    /** Количество сохраняемых ошибок по умолчанию */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Режим обработки ошибок.
+     */
+    public enum Mode {
+        /** Прервать чтение на первой ошибке */
+        FAIL_FAST,
+        /** Пропустить строку, учитывая только количество */
+        SKIP,
+        /** Пропустить строку и сохранить ошибку, пока не достигнут предел */
+        COLLECT
+    }
+
+    private static final ErrorPolicy FAIL_FAST = new ErrorPolicy(Mode.FAIL_FAST, 0);
+    private static final ErrorPolicy SKIP = new ErrorPolicy(Mode.SKIP, 0);
+
+    private final Mode mode;
+    private final int limit;
+
+    private ErrorPolicy(Mode mode, int limit) {
+        this.mode = mode;
+        this.limit = limit;
+    }
+
+    /**
+     * Возвращает политику, прерывающую чтение на первой ошибке.
+     */
+    public static ErrorPolicy failFast() {
+        return FAIL_FAST;
+    }
+
+    /**
+     * Возвращает политику, пропускающую строки с ошибками без их сохранения.
+     */
+    public static ErrorPolicy skip() {
+        return SKIP;
+    }
+
+    /**
+     * Возвращает политику, сохраняющую первые limit ошибок.
+     *
+     * @param limit максимальное количество сохраняемых ошибок
+     * @throws IllegalArgumentException если limit отрицателен
+     */
+    public static ErrorPolicy collect(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Предел количества ошибок не может быть отрицательным");
+        }
+        return new ErrorPolicy(Mode.COLLECT, limit);
+    }
+
+    /**
+     * Возвращает режим обработки ошибок.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Возвращает максимальное количество сохраняемых ошибок; 0 для режимов без сохранения.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.COLLECT ? mode + "(" + limit + ")" : mode.toString();
+    }
+}
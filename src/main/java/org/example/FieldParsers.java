@@ -0,0 +1,201 @@
+package org.example;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Быстрый разбор полей CSV без создания подстрок и обрезанных копий строк.
+ * Символы читаются на месте, пробелы по краям пропускаются так же, как в {@link String#trim()}.
+ * Быстрый путь срабатывает только для обычной записи значения; все прочие случаи
+ * передаются стандартным методам разбора, поэтому результат и исключения
+ * совпадают с {@code Integer.parseInt(s.trim())}, {@code Double.parseDouble(s.trim())}
+ * и {@code LocalDate.parse(s.trim(), formatter)}.
+ * <p>
+ * Правила быстрого пути - накопление цифр, пределы точности и масштабирование - общие
+ * со строковым и байтовым ({@link ByteFields}) разбором и собраны здесь.
+ */
+final class FieldParsers {
+
+    /** Максимальное число цифр целого, при котором переполнение int невозможно */
+    static final int MAX_FAST_INT_DIGITS = 9;
+
+    /** Максимальная мантисса, точно представимая в double (2^53) */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Степени десяти, точно представимые в double */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Длина даты в формате "dd.MM.yyyy" */
+    static final int DATE_LENGTH = 10;
+
+    /** Результат {@link #appendDigit}, когда быстрый путь неприменим */
+    static final long NOT_FAST = -1;
+
+    private FieldParsers() {
+    }
+
+    /**
+     * Разбирает целое число, как {@code Integer.parseInt(value.trim())}.
+     *
+     * @throws NumberFormatException если значение не является целым числом
+     */
+    static int parseInt(String value) {
+        int start = trimStart(value);
+        int end = trimEnd(value, start);
+
+        int pos = start;
+        boolean negative = false;
+        if (pos < end && (value.charAt(pos) == '-' || value.charAt(pos) == '+')) {
+            negative = value.charAt(pos) == '-';
+            pos++;
+        }
+        int digits = end - pos;
+        if (digits == 0 || digits > MAX_FAST_INT_DIGITS) {
+            return Integer.parseInt(value.trim());
+        }
+
+        long result = 0;
+        for (; pos < end; pos++) {
+            result = appendDigit(result, value.charAt(pos) - '0');
+            if (result == NOT_FAST) {
+                return Integer.parseInt(value.trim());
+            }
+        }
+        return (int) (negative ? -result : result);
+    }
+
+    /**
+     * Разбирает число с плавающей точкой, как {@code Double.parseDouble(value.trim())}.
+     * Быстрый путь обрабатывает запись вида {@code 1234} или {@code 1234.56},
+     * когда деление мантиссы на степень десяти дает то же округление, что и parseDouble.
+     *
+     * @throws NumberFormatException если значение не является числом
+     */
+    static double parseDouble(String value) {
+        int start = trimStart(value);
+        int end = trimEnd(value, start);
+
+        long mantissa = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+        for (int pos = start; pos < end; pos++) {
+            char c = value.charAt(pos);
+            if (c == '.' && !seenDot) {
+                seenDot = true;
+                continue;
+            }
+            mantissa = appendDigit(mantissa, c - '0');
+            if (mantissa == NOT_FAST) {
+                return Double.parseDouble(value.trim());
+            }
+            seenDigit = true;
+            if (seenDot) {
+                fractionDigits++;
+            }
+        }
+        double result = seenDigit ? scale(mantissa, fractionDigits) : Double.NaN;
+        return Double.isNaN(result) ? Double.parseDouble(value.trim()) : result;
+    }
+
+    /**
+     * Разбирает дату, как {@code LocalDate.parse(value.trim(), formatter)}.
+     * Быстрый путь обрабатывает только существующие даты ровно в формате "dd.MM.yyyy";
+     * любые другие значения, включая несуществующие даты, разбирает сам formatter.
+     *
+     * @param value строка с датой
+     * @param formatter форматтер с шаблоном "dd.MM.yyyy" для нестандартных значений
+     * @throws DateTimeParseException если не удалось распарсить дату
+     */
+    static LocalDate parseDate(String value, DateTimeFormatter formatter) {
+        int start = trimStart(value);
+        int end = trimEnd(value, start);
+
+        if (end - start == DATE_LENGTH
+                && value.charAt(start + 2) == '.'
+                && value.charAt(start + 5) == '.') {
+            int day = digits(value, start, 2);
+            int month = digits(value, start + 3, 2);
+            int year = digits(value, start + 6, 4);
+            if (isFastDate(year, month, day)) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(value.trim(), formatter);
+    }
+
+    /**
+     * Читает count десятичных цифр начиная с pos.
+     *
+     * @return число или -1, если встретился символ, не являющийся цифрой
+     */
+    private static int digits(String value, int pos, int count) {
+        long result = 0;
+        for (int i = pos; i < pos + count && result != NOT_FAST; i++) {
+            result = appendDigit(result, value.charAt(i) - '0');
+        }
+        return (int) result;
+    }
+
+    /**
+     * Добавляет десятичную цифру к неотрицательной мантиссе быстрого пути.
+     *
+     * @param mantissa накопленное значение
+     * @param d значение символа минус '0'
+     * @return новое значение или {@link #NOT_FAST}, если d не цифра или значение
+     *         перестанет быть точно представимым в double
+     */
+    static long appendDigit(long mantissa, int d) {
+        if (d < 0 || d > 9 || mantissa >= MAX_EXACT_MANTISSA / 10) {
+            return NOT_FAST;
+        }
+        return mantissa * 10 + d;
+    }
+
+    /**
+     * Делит мантиссу на 10^fractionDigits. Мантисса и степень десяти точно представимы
+     * в double, поэтому одно деление округляется так же, как {@link Double#parseDouble(String)}.
+     *
+     * @return значение или NaN, если степень десяти не представима точно
+     */
+    static double scale(long mantissa, int fractionDigits) {
+        return fractionDigits < POWERS_OF_TEN.length ? mantissa / POWERS_OF_TEN[fractionDigits] : Double.NaN;
+    }
+
+    /**
+     * Проверяет, что цифры даты "dd.MM.yyyy" задают существующую дату, которую быстрый путь
+     * может вернуть сам; иначе дату разбирает formatter, чтобы сохранить его исключения.
+     * Нецифровые части передаются как -1.
+     */
+    static boolean isFastDate(int year, int month, int day) {
+        return day > 0 && month >= 1 && month <= 12 && year >= 1 && day <= lengthOfMonth(year, month);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static int trimStart(String value) {
+        int start = 0;
+        while (start < value.length() && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String value, int start) {
+        int end = value.length();
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,115 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Реестр значений пола. Значений всего несколько, поэтому все люди с одинаковым полом
+ * разделяют одну строку из реестра вместо собственной копии.
+ * Реестр ограничен {@link #MAX_COUNT} значениями; значения сверх предела не регистрируются
+ * и возвращаются как есть, поэтому строка с редким значением пола не отклоняется.
+ * <p>
+ * Чтение идет по неизменяемому снимку без блокировок; новые значения добавляются
+ * редко и под блокировкой, с публикацией нового снимка.
+ */
+final class Genders {
+
+    /** Наибольшее количество значений в реестре; ограничивает линейный поиск */
+    static final int MAX_COUNT = Byte.MAX_VALUE + 1;
+
+    private static volatile Snapshot snapshot = new Snapshot(new String[0], new byte[0][]);
+
+    private Genders() {
+    }
+
+    /**
+     * Возвращает строку из реестра, равную значению, при необходимости добавляя значение в реестр.
+     *
+     * @param gender обрезанное непустое значение
+     * @return строка из реестра или само значение, если реестр заполнен
+     */
+    static String intern(String gender) {
+        String[] values = snapshot.values();
+        for (String value : values) {
+            if (value == gender || value.equals(gender)) {
+                return value;
+            }
+        }
+        return register(gender);
+    }
+
+    /**
+     * Возвращает значение пола из реестра по обрезанному фрагменту [start, end) буфера.
+     * Известные значения в ASCII или UTF-8 находятся без создания строки.
+     *
+     * @param scratch буфер для декодирования нового значения
+     * @param charset кодировка байтов, совместимая с ASCII
+     * @return строка из реестра или новая строка, если реестр заполнен;
+     *         для пустого фрагмента - пустая строка
+     */
+    static String intern(ByteBuffer buf, int start, int end, byte[] scratch, Charset charset) {
+        if (start == end) {
+            return "";
+        }
+        Snapshot current = snapshot;
+        boolean comparable = charset.equals(StandardCharsets.UTF_8) || isAscii(buf, start, end);
+        if (comparable) {
+            byte[][] utf8 = current.utf8();
+            for (int i = 0; i < utf8.length; i++) {
+                if (equals(utf8[i], buf, start, end)) {
+                    return current.values()[i];
+                }
+            }
+        }
+        return intern(ByteFields.decode(buf, start, end, scratch, charset));
+    }
+
+    private static synchronized String register(String gender) {
+        Snapshot current = snapshot;
+        for (String value : current.values()) {
+            if (value.equals(gender)) {
+                return value;
+            }
+        }
+        int code = current.values().length;
+        if (code >= MAX_COUNT) {
+            return gender;
+        }
+
+        String[] values = Arrays.copyOf(current.values(), code + 1);
+        byte[][] utf8 = Arrays.copyOf(current.utf8(), code + 1);
+        values[code] = gender;
+        utf8[code] = gender.getBytes(StandardCharsets.UTF_8);
+        snapshot = new Snapshot(values, utf8);
+        return gender;
+    }
+
+    private static boolean isAscii(ByteBuffer buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buf.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(byte[] bytes, ByteBuffer buf, int start, int end) {
+        if (bytes.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != buf.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Снимок реестра: значения в порядке добавления и их байты UTF-8.
+     */
+    private record Snapshot(String[] values, byte[][] utf8) {
+    }
+}
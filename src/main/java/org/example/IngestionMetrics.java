@@ -0,0 +1,363 @@
+package org.example;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики загрузки CSV: счетчики строк, байтов и ошибок по причинам, время по фазам разбора
+ * и гистограммы длины строки и времени разбора строки.
+ * <p>
+ * Счетчики построены на {@link LongAdder}, поэтому параллельные читатели не конкурируют
+ * за одну ячейку памяти. Сбор выключен по умолчанию: код чтения проверяет {@link #isEnabled()}
+ * и при выключенном сборе не вызывает ни {@link System#nanoTime()}, ни счетчики.
+ * Включается свойством {@code -Dingestion.metrics=true}, методом {@link #setEnabled(boolean)}
+ * или через JMX.
+ */
+public final class IngestionMetrics implements IngestionMetricsMXBean {
+
+    /** Имя объекта JMX */
+    public static final String OBJECT_NAME = "org.example:type=IngestionMetrics";
+
+    /**
+     * Фаза разбора строки в {@link CSVReader}.
+     */
+    public enum Phase {
+        /** Чтение строки из файла */
+        READ,
+        /** Разбиение строки на поля */
+        SPLIT,
+        /** Разбор чисел и поиск подразделения */
+        FIELDS,
+        /** Разбор даты рождения */
+        DATE,
+        /** Проверка значений и создание Person */
+        VALIDATE
+    }
+
+    private static final IngestionMetrics INSTANCE = new IngestionMetrics(Boolean.getBoolean("ingestion.metrics"));
+
+    private volatile boolean enabled;
+
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder[] errors = adders(ParseErrorCause.values().length);
+    private final LongAdder[] phaseNanos = adders(Phase.values().length);
+    private final Histogram lineLengths = new Histogram();
+    private final Histogram rowNanos = new Histogram();
+
+    IngestionMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Возвращает общие метрики приложения.
+     */
+    public static IngestionMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Регистрирует общие метрики в платформенном MBeanServer. Повторный вызов ничего не делает.
+     *
+     * @throws IllegalStateException если регистрация не удалась
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Уже зарегистрированы
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать метрики в JMX", e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // Методы записи вызываются только при включенном сборе
+
+    /**
+     * Учитывает прочитанную строку.
+     *
+     * @param length длина строки с переводом строки
+     */
+    void recordLine(int length) {
+        lines.increment();
+        bytes.add(length);
+        lineLengths.record(length);
+    }
+
+    /**
+     * Учитывает прочитанные байты без подсчета отдельных строк.
+     */
+    void recordBytes(long count) {
+        bytes.add(count);
+    }
+
+    /**
+     * Учитывает принятую строку и время ее разбора.
+     */
+    void recordRow(long nanos) {
+        rows.increment();
+        rowNanos.record(nanos);
+    }
+
+    /**
+     * Учитывает ошибочную строку.
+     */
+    void recordError(ParseErrorCause cause) {
+        errors[cause.ordinal()].increment();
+    }
+
+    /**
+     * Добавляет время фазы, начавшейся в момент start.
+     *
+     * @return текущее время, начало следующей фазы
+     */
+    long recordPhase(Phase phase, long start) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()].add(now - start);
+        return now;
+    }
+
+    /**
+     * Учитывает время загрузки файла целиком.
+     */
+    void recordLoad(long nanos) {
+        loadNanos.add(nanos);
+    }
+
+    /**
+     * Возвращает согласованный по каждому счетчику снимок метрик.
+     */
+    public Snapshot snapshot() {
+        Map<ParseErrorCause, Long> errorCounts = new EnumMap<>(ParseErrorCause.class);
+        for (ParseErrorCause cause : ParseErrorCause.values()) {
+            errorCounts.put(cause, errors[cause.ordinal()].sum());
+        }
+        Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, phaseNanos[phase.ordinal()].sum());
+        }
+        return new Snapshot(lines.sum(), rows.sum(), bytes.sum(), loadNanos.sum(),
+                Collections.unmodifiableMap(errorCounts), Collections.unmodifiableMap(phases),
+                lineLengths.snapshot(), rowNanos.snapshot());
+    }
+
+    @Override
+    public void reset() {
+        lines.reset();
+        rows.reset();
+        bytes.reset();
+        loadNanos.reset();
+        for (LongAdder adder : errors) {
+            adder.reset();
+        }
+        for (LongAdder adder : phaseNanos) {
+            adder.reset();
+        }
+        lineLengths.reset();
+        rowNanos.reset();
+    }
+
+    @Override
+    public long getLines() {
+        return lines.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public Map<String, Long> getErrors() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        snapshot().errors().forEach((cause, count) -> result.put(cause.name(), count));
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMillis() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        snapshot().phaseNanos().forEach((phase, nanos) -> result.put(phase.name(), nanos / 1e6));
+        return result;
+    }
+
+    @Override
+    public double getRowsPerSecond() {
+        return snapshot().rowsPerSecond();
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return snapshot().bytesPerSecond();
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Снимок метрик.
+     *
+     * @param lines прочитанные строки, включая пустые, заголовок и ошибочные
+     * @param rows принятые строки с данными
+     * @param bytes прочитанные байты
+     * @param loadNanos суммарное время загрузок
+     * @param errors ошибочные строки по причинам
+     * @param phaseNanos время по фазам разбора
+     * @param lineLength распределение длины строки в байтах
+     * @param rowNanos распределение времени разбора одной строки
+     */
+    public record Snapshot(long lines, long rows, long bytes, long loadNanos,
+                           Map<ParseErrorCause, Long> errors, Map<Phase, Long> phaseNanos,
+                           HistogramSnapshot lineLength, HistogramSnapshot rowNanos) {
+
+        /** Общее количество ошибочных строк */
+        public long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /** Доля ошибочных строк среди строк с данными */
+        public double errorRate() {
+            long total = rows + errorCount();
+            return total == 0 ? 0 : (double) errorCount() / total;
+        }
+
+        /** Принятых строк в секунду за время загрузок */
+        public double rowsPerSecond() {
+            return loadNanos == 0 ? 0 : rows * 1e9 / loadNanos;
+        }
+
+        /** Байтов в секунду за время загрузок */
+        public double bytesPerSecond() {
+            return loadNanos == 0 ? 0 : bytes * 1e9 / loadNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Строк: %d, принято: %d, ошибок: %d (%.2f%%)%n",
+                    lines, rows, errorCount(), errorRate() * 100));
+            sb.append(String.format("Время загрузки: %.1f мс, %.0f строк/с, %.1f МБ/с%n",
+                    loadNanos / 1e6, rowsPerSecond(), bytesPerSecond() / 1e6));
+            errors.forEach((cause, count) -> {
+                if (count > 0) {
+                    sb.append(String.format("  ошибки %s: %d%n", cause, count));
+                }
+            });
+            long phaseTotal = phaseNanos.values().stream().mapToLong(Long::longValue).sum();
+            if (phaseTotal > 0) {
+                phaseNanos.forEach((phase, nanos) -> sb.append(String.format("  фаза %-8s %8.1f мс (%4.1f%%)%n",
+                        phase, nanos / 1e6, nanos * 100.0 / phaseTotal)));
+            }
+            sb.append(String.format("Длина строки, байт: %s%n", lineLength));
+            sb.append(String.format("Разбор строки, нс: %s", rowNanos));
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Снимок гистограммы.
+     *
+     * @param count количество значений
+     * @param sum сумма значений
+     * @param max наибольшее значение
+     * @param buckets количество значений в корзинах; в корзине i значения от 2^(i-1) до 2^i - 1
+     */
+    public record HistogramSnapshot(long count, long sum, long max, long[] buckets) {
+
+        /** Среднее значение или NaN, если значений нет */
+        public double mean() {
+            return count == 0 ? Double.NaN : (double) sum / count;
+        }
+
+        /**
+         * Оценка процентиля сверху: верхняя граница корзины, в которую он попадает.
+         *
+         * @param quantile доля от 0 до 1
+         * @return оценка или 0, если значений нет
+         */
+        public long percentile(double quantile) {
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(max, i == 0 ? 0 : (1L << i) - 1);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            if (count == 0) {
+                return "нет данных";
+            }
+            return String.format("среднее %.1f, p50 <= %d, p99 <= %d, максимум %d",
+                    mean(), percentile(0.5), percentile(0.99), max);
+        }
+    }
+
+    /**
+     * Гистограмма неотрицательных значений по степеням двойки.
+     */
+    private static final class Histogram {
+        private final LongAdder[] buckets = adders(Long.SIZE);
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long value) {
+            long v = Math.max(0, value);
+            buckets[Long.SIZE - Long.numberOfLeadingZeros(v)].increment();
+            sum.add(v);
+            max.accumulate(v);
+        }
+
+        HistogramSnapshot snapshot() {
+            long[] counts = new long[buckets.length];
+            long count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            return new HistogramSnapshot(count, sum.sum(), max.get(), counts);
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            sum.reset();
+            max.reset();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example;
+
+import java.util.Map;
+
+/**
+ * Интерфейс JMX для {@link IngestionMetrics}.
+ * Доступен под именем {@value IngestionMetrics#OBJECT_NAME} после {@link IngestionMetrics#registerMBean()}.
+ */
+public interface IngestionMetricsMXBean {
+
+    /** Включен ли сбор метрик */
+    boolean isEnabled();
+
+    /** Включает или выключает сбор метрик */
+    void setEnabled(boolean enabled);
+
+    /** Количество прочитанных строк, включая пустые, заголовок и ошибочные */
+    long getLines();
+
+    /** Количество принятых строк с данными */
+    long getRows();
+
+    /** Количество прочитанных байтов */
+    long getBytes();
+
+    /** Количество ошибочных строк по причинам */
+    Map<String, Long> getErrors();
+
+    /** Время по фазам разбора в миллисекундах */
+    Map<String, Double> getPhaseMillis();
+
+    /** Принятых строк в секунду за время загрузок */
+    double getRowsPerSecond();
+
+    /** Байтов в секунду за время загрузок */
+    double getBytesPerSecond();
+
+    /** Обнуляет все метрики */
+    void reset();
+}
@@ -0,0 +1,48 @@
+package org.example;
+
+/**
+ * Ошибка значения в строке CSV с причиной и номером поля.
+ * <p>
+ * Исключение не заполняет стек вызовов: ошибки в данных ожидаемы, встречаются в больших
+ * файлах тысячами, а стек для них ничего не сообщает, но стоит больше самого разбора строки.
+ */
+public class InvalidFieldException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Номер поля для ошибок, относящихся к строке целиком */
+    public static final int WHOLE_LINE = -1;
+
+    private final ParseErrorCause errorCause;
+    private final int fieldIndex;
+
+    /**
+     * @param errorCause причина ошибки
+     * @param fieldIndex номер поля в строке CSV с 0 или {@link #WHOLE_LINE}
+     * @param message описание ошибки
+     */
+    public InvalidFieldException(ParseErrorCause errorCause, int fieldIndex, String message) {
+        super(message);
+        this.errorCause = errorCause;
+        this.fieldIndex = fieldIndex;
+    }
+
+    /**
+     * Возвращает причину ошибки.
+     */
+    public ParseErrorCause getErrorCause() {
+        return errorCause;
+    }
+
+    /**
+     * Возвращает номер поля в строке CSV с 0 или {@link #WHOLE_LINE}.
+     */
+    public int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
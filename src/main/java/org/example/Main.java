@@ -1,5 +1,14 @@
+package org.example;
+
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Главный класс приложения для работы с данными о сотрудниках.
@@ -7,35 +16,56 @@ import java.util.List;
 public class Main {
 
     public static void main(String[] args) {
+        // Метрики загрузки доступны через JMX; сбор включается -Dingestion.metrics=true или из JMX
+        IngestionMetrics.registerMBean();
+
         System.out.println("=== ЧТЕНИЕ ДАННЫХ ИЗ CSV ФАЙЛА ===");
         System.out.println("ID подразделений генерируются автоматически в программе\n");
 
-        String resourcePath = "data.csv";
-
-        try {
-            // Чтение данных из CSV файла
-            System.out.println("Чтение данных из ресурса: " + resourcePath);
-            List<Person> people = CSVReader.readPeopleFromResource(resourcePath);
+        if (args.length > 2 && "--diff".equals(args[1])) {
+            diff(Path.of(args[0]), Path.of(args[2]));
+            return;
+        }
+        if (args.length > 1 && "--watch".equals(args[1])) {
+            watch(Path.of(args[0]));
+            return;
+        }
+        if (args.length > 0 && Files.isDirectory(Path.of(args[0]))) {
+            readFromDirectory(Path.of(args[0]), args.length > 1 ? args[1] : MultiFileLoader.DEFAULT_GLOB);
+            return;
+        }
+        if (args.length > 0) {
+            readFromFile(Path.of(args[0]));
+            return;
+        }
 
-            if (people.isEmpty()) {
-                System.out.println("Файл не содержит данных или произошла ошибка при чтении.");
-                return;
-            }
+        String resourcePath = "data.csv";
 
-            System.out.println("Успешно прочитано записей: " + people.size());
+        // Чтение данных из CSV файла потоком: сотрудники выводятся по мере чтения,
+        // а статистика считается в том же проходе, поэтому весь список в памяти не хранится
+        System.out.println("Чтение данных из ресурса: " + resourcePath);
 
+        try (Stream<Person> people = CSVReader.streamPeopleFromResource(resourcePath)) {
             // Вывод списка сотрудников
             System.out.println("\n=== СПИСОК СОТРУДНИКОВ ===");
             System.out.println("-".repeat(80));
 
-            for (Person person : people) {
-                System.out.println(person);
+            // Вывод каждого сотрудника по мере чтения через буферизованный писатель
+            // и статистики в конце; возраст считается на одну дату для всего списка
+            StatisticsReport report;
+            try (ReportWriter writer = ReportWriter.toStdout(ReportWriter.Format.TABLE, LocalDate.now())) {
+                report = StatisticsAggregator.aggregate(people.peek(person -> {
+                    try {
+                        writer.write(person);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
             }
+            CSVReader.printStatistics(report);
+            printMetrics();
 
-            // Вывод статистики
-            CSVReader.printStatistics(people);
-
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.err.println("Ошибка при чтении файла: " + e.getMessage());
             printHelp();
         } catch (Exception e) {
@@ -44,6 +74,139 @@ public class Main {
         }
     }
 
+    /**
+     * Читает CSV файл через двоичный снимок, который лежит рядом с ним.
+     * При первом запуске или после изменения CSV снимок перестраивается.
+     */
+    private static void readFromFile(Path csv) {
+        Path snapshot = csv.resolveSibling(csv.getFileName() + ".snap");
+        System.out.println("Чтение данных из файла: " + csv + " (снимок: " + snapshot + ")");
+
+        try {
+            long start = System.nanoTime();
+            PersonTable table = PersonSnapshot.loadOrRebuild(csv, snapshot);
+            System.out.printf("Загружено %d записей за %d мс%n%n", table.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+
+            CSVReader.printStatistics(StatisticsAggregator.aggregate(table, true));
+            printMetrics();
+
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Ошибка при чтении файла: " + e.getMessage());
+            printHelp();
+        }
+    }
+
+    /**
+     * Загружает все CSV файлы каталога одновременно и выводит статистику по файлам и общую.
+     */
+    private static void readFromDirectory(Path directory, String glob) {
+        System.out.println("Чтение файлов " + glob + " из каталога: " + directory);
+
+        try {
+            MultiFileLoader.Result result = MultiFileLoader.load(directory, glob);
+            for (MultiFileLoader.FileStats file : result.files()) {
+                System.out.println(file);
+                for (ParseError error : file.errors().getErrors()) {
+                    System.err.println("  " + error);
+                }
+            }
+            System.out.printf("Загружено %d записей из %d файлов за %d мс, ошибок: %d%n",
+                    result.people().size(), result.files().size(), result.nanos() / 1_000_000,
+                    result.errorCount());
+
+            CSVReader.printStatistics(result.people());
+            printMetrics();
+
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Ошибка при чтении файла: " + e.getMessage());
+            printHelp();
+        }
+    }
+
+    /**
+     * Сравнивает две выгрузки по ID сотрудника и выводит различия.
+     */
+    private static void diff(Path before, Path after) {
+        System.out.println("Сравнение выгрузок: " + before + " -> " + after);
+
+        try {
+            PersonDiff.Result result = PersonDiff.compare(
+                    MappedCSVReader.readPeopleFromFile(before), MappedCSVReader.readPeopleFromFile(after));
+            result.printSummary();
+            for (PersonDiff.Change change : result.departmentMoves()) {
+                System.out.println("Перевод: " + change);
+            }
+
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Ошибка при чтении файла: " + e.getMessage());
+            printHelp();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ошибка сравнения: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Следит за дописыванием строк в CSV файл до завершения программы.
+     * Новые сотрудники добавляются в список и в статистику по мере появления строк,
+     * уже прочитанная часть файла повторно не разбирается.
+     */
+    private static void watch(Path csv) {
+        System.out.println("Слежение за файлом: " + csv + " (Ctrl+C для выхода)");
+
+        CSVTailer.Listener listener = new CSVTailer.Listener() {
+            private final List<Person> people = new ArrayList<>();
+            private StatisticsAggregator statistics = newStatistics();
+
+            @Override
+            public void onPerson(Person person) {
+                people.add(person);
+                statistics.add(person);
+            }
+
+            @Override
+            public void onRestart(CSVTailer.Restart reason) {
+                // Усеченный файл записан заново, прежние строки из него больше не действительны
+                if (reason == CSVTailer.Restart.TRUNCATED) {
+                    System.out.println("Файл усечен, данные читаются заново");
+                    people.clear();
+                    statistics = newStatistics();
+                } else {
+                    System.out.println("Файл заменен новым, продолжаем чтение с его начала");
+                }
+            }
+
+            @Override
+            public void onBatch(int count) {
+                System.out.printf("%nДобавлено сотрудников: %d, всего: %d%n", count, people.size());
+                CSVReader.printStatistics(statistics.toReport());
+                printMetrics();
+            }
+
+            private StatisticsAggregator newStatistics() {
+                return new StatisticsAggregator(AgeCalculator.today(), StatisticsAggregator.DEFAULT_AGE_BAND_WIDTH);
+            }
+        };
+
+        try (CSVTailer tailer = new CSVTailer(csv, listener)) {
+            tailer.watch(Duration.ofSeconds(1));
+        } catch (IOException e) {
+            System.err.println("Ошибка при чтении файла: " + e.getMessage());
+            printHelp();
+        }
+    }
+
+    /**
+     * Выводит метрики загрузки, если их сбор включен.
+     */
+    private static void printMetrics() {
+        IngestionMetrics metrics = IngestionMetrics.get();
+        if (metrics.isEnabled()) {
+            System.out.println("\n=== МЕТРИКИ ЗАГРУЗКИ ===");
+            System.out.println(metrics.snapshot());
+        }
+    }
+
     private static void printHelp() {
         System.err.println("\nПомощь:");
         System.err.println("1. Поместите файл data.csv в папку resources/");
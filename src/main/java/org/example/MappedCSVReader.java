@@ -0,0 +1,479 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Класс для чтения данных о людях из CSV файла на диске через отображение файла в память.
+ * В отличие от {@link CSVReader#readPeopleFromResource(String)}, строки не превращаются
+ * в объекты String: разделители ';' и перевод строки ищутся прямо в байтах,
+ * числа разбираются без промежуточных строк, а строками становятся только
+ * текстовые поля, которые хранятся в объекте Person.
+ * Файл отображается окнами, поэтому поддерживаются файлы больше 2 ГБ.
+ * <p>
+ * По умолчанию файл читается в UTF-8, метка порядка байтов в начале файла пропускается.
+ * Можно указать другую кодировку, совместимую с ASCII, например windows-1251.
+ */
+public class MappedCSVReader {
+
+    /** Размер окна отображения файла по умолчанию (1 ГБ) */
+    static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+
+    /**
+     * Читает данные о людях из CSV файла на диске.
+     * Формат файла и обработка ошибок такие же, как в {@link CSVReader#readPeopleFromResource(String)}.
+     *
+     * @param path путь к CSV файлу
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     */
+    public static List<Person> readPeopleFromFile(Path path) throws IOException {
+        return readPeopleFromFile(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Читает данные о людях, отображая файл окнами заданного размера.
+     *
+     * @param path путь к CSV файлу
+     * @param windowSize максимальный размер одного окна отображения в байтах
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла или строка не помещается в окно
+     */
+    static List<Person> readPeopleFromFile(Path path, long windowSize) throws IOException {
+        return readPeopleFromFile(path, windowSize, ParseErrors.printing());
+    }
+
+    /**
+     * Читает данные о людях из CSV файла на диске, обрабатывая строки с ошибками
+     * по политике errors. Смещения в ошибках считаются в байтах от начала файла.
+     *
+     * @param path путь к CSV файлу
+     * @param errors получатель ошибок разбора строк
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     * @throws IllegalArgumentException при политике {@link ErrorPolicy#failFast()}, если в файле есть ошибка
+     */
+    public static List<Person> readPeopleFromFile(Path path, ParseErrors errors) throws IOException {
+        return readPeopleFromFile(path, DEFAULT_WINDOW_SIZE, errors);
+    }
+
+    /**
+     * Читает данные о людях из CSV файла в заданной кодировке.
+     * Разделители, числа и даты разбираются прямо в байтах, в строки декодируются только
+     * имя и пол; известные подразделения находятся по байтам без декодирования.
+     *
+     * @param path путь к CSV файлу
+     * @param charset кодировка файла, совместимая с ASCII
+     * @param errors получатель ошибок разбора строк
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     * @throws IllegalArgumentException если кодировка не совместима с ASCII (например, UTF-16)
+     *                                  или, при политике {@link ErrorPolicy#failFast()}, в файле есть ошибка
+     */
+    public static List<Person> readPeopleFromFile(Path path, Charset charset, ParseErrors errors) throws IOException {
+        if (!ByteFields.isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Кодировка не поддерживается для разбора в байтах: " + charset);
+        }
+        List<Person> people = new ArrayList<>();
+        readRows(path, DEFAULT_WINDOW_SIZE, RowSink.into(people), errors, charset);
+        return people;
+    }
+
+    static List<Person> readPeopleFromFile(Path path, long windowSize, ParseErrors errors) throws IOException {
+        List<Person> people = new ArrayList<>();
+        readRows(path, windowSize, RowSink.into(people), errors);
+        return people;
+    }
+
+    /**
+     * Разбирает строки CSV файла и передает значения полей получателю, не создавая объектов Person.
+     * Ошибки разбора выводятся в System.err так же, как при чтении в список.
+     *
+     * @param path путь к CSV файлу
+     * @param windowSize максимальный размер одного окна отображения в байтах
+     * @param sink получатель строк
+     * @throws IOException если произошла ошибка при чтении файла или строка не помещается в окно
+     */
+    static void readRows(Path path, long windowSize, RowSink sink) throws IOException {
+        readRows(path, windowSize, sink, ParseErrors.printing());
+    }
+
+    /**
+     * Разбирает строки CSV файла, обрабатывая строки с ошибками по политике errors.
+     */
+    static void readRows(Path path, long windowSize, RowSink sink, ParseErrors errors) throws IOException {
+        readRows(path, windowSize, sink, errors, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Разбирает строки CSV файла в заданной кодировке, совместимой с ASCII.
+     */
+    static void readRows(Path path, long windowSize, RowSink sink, ParseErrors errors,
+                         Charset charset) throws IOException {
+        RangeParser parser = new RangeParser(sink, true, errors, 0, charset);
+        IngestionMetrics metrics = IngestionMetrics.get();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+
+            while (position < size) {
+                long length = Math.min(Math.min(windowSize, Integer.MAX_VALUE), size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int limit = (int) length;
+
+                // Окно заканчивается на последнем переводе строки, остаток попадет в следующее окно
+                if (position + length < size) {
+                    limit = lastLineBreak(buffer, limit) + 1;
+                    if (limit == 0) {
+                        throw new IOException(String.format(
+                                "Строка, начинающаяся с позиции %d, не помещается в окно %d байт",
+                                position, length));
+                    }
+                }
+
+                parser.parse(buffer, 0, limit, position);
+                position += limit;
+            }
+        }
+        errors.complete();
+        if (start != 0) {
+            metrics.recordLoad(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Возвращает позицию последнего символа '\n' в буфере до limit или -1, если его нет.
+     */
+    static int lastLineBreak(ByteBuffer buffer, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Получатель разобранных строк CSV.
+     * Значения уже обрезаны и проверены на формат, но еще не проверены на допустимость:
+     * эту проверку выполняет получатель, например конструктор {@link Person}.
+     * Пустая дата рождения передается как null.
+     */
+    @FunctionalInterface
+    interface RowSink {
+
+        /**
+         * Принимает значения полей одной строки.
+         *
+         * @throws IllegalArgumentException если значения недопустимы; строка считается ошибочной
+         */
+        void accept(int id, String name, String gender, LocalDate birthDate, Department department, double salary);
+
+        /**
+         * Возвращает получателя, который создает объекты Person и добавляет их в список.
+         */
+        static RowSink into(List<Person> people) {
+            return (id, name, gender, birthDate, department, salary) ->
+                    people.add(new Person(id, name, gender, birthDate, department, salary));
+        }
+    }
+
+    /**
+     * Разбирает строки CSV в заданном диапазоне байтов и передает их получателю.
+     * Хранит номер текущей строки и признак того, что заголовок еще не проверен,
+     * поэтому один парсер можно последовательно применять к нескольким окнам файла.
+     * Строки нумеруются с 1 от начала первого разобранного диапазона.
+     * Если диапазон начинается с начала файла в UTF-8, метка порядка байтов пропускается.
+     * Строки без кавычек разбираются прямо в байтах, строки с кавычками - через
+     * {@link RowTokenizer#quoteAware()}, поэтому ';' внутри поля в кавычках не разбивает поле.
+     */
+    static final class RangeParser {
+        private final RowSink sink;
+        private final ParseErrors errors;
+        private final Charset charset;
+        private final int[] fieldStarts = new int[CSVReader.FIELD_COUNT];
+        private final int[] fieldEnds = new int[CSVReader.FIELD_COUNT];
+        private final byte[] scratch = new byte[256];
+        private final String[] quotedFields = new String[CSVReader.FIELD_COUNT];
+        private RowTokenizer quotedTokenizer;
+        private final IngestionMetrics metrics = IngestionMetrics.get();
+        private int lineNumber;
+        private boolean isFirstLine;
+
+        /** Позиция в буфере сразу за последней строкой, переданной на разбор в текущем диапазоне */
+        private int parsedTo;
+
+        /** Условие досрочной остановки, проверяется перед каждой строкой, или null */
+        private BooleanSupplier stopCondition;
+
+        /** Измеряется ли время фаз в текущем диапазоне */
+        private boolean measure;
+        /** Начало текущей фазы по {@link System#nanoTime()}, если время измеряется */
+        private long phaseStart;
+
+        /**
+         * @param sink получатель разобранных строк
+         * @param headerAllowed может ли первая непустая строка быть заголовком
+         * @param errors получатель ошибок разбора строк
+         */
+        RangeParser(RowSink sink, boolean headerAllowed, ParseErrors errors) {
+            this(sink, headerAllowed, errors, 0);
+        }
+
+        /**
+         * @param sink получатель разобранных строк
+         * @param headerAllowed может ли первая непустая строка быть заголовком
+         * @param errors получатель ошибок разбора строк
+         * @param linesBefore количество строк до первого разобранного диапазона;
+         *                    нумерация продолжается с linesBefore + 1
+         */
+        RangeParser(RowSink sink, boolean headerAllowed, ParseErrors errors, int linesBefore) {
+            this(sink, headerAllowed, errors, linesBefore, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @param sink получатель разобранных строк
+         * @param headerAllowed может ли первая непустая строка быть заголовком
+         * @param errors получатель ошибок разбора строк
+         * @param linesBefore количество строк до первого разобранного диапазона
+         * @param charset кодировка байтов, совместимая с ASCII
+         */
+        RangeParser(RowSink sink, boolean headerAllowed, ParseErrors errors, int linesBefore, Charset charset) {
+            this.sink = sink;
+            this.charset = charset;
+            this.isFirstLine = headerAllowed;
+            this.errors = errors;
+            this.lineNumber = linesBefore;
+        }
+
+        /**
+         * Возвращает количество разобранных строк, включая пустые и заголовок.
+         */
+        int lineCount() {
+            return lineNumber;
+        }
+
+        /**
+         * Возвращает позицию в буфере сразу за последней строкой последнего вызова
+         * {@link #parse}, включая строку, на которой разбор прервался исключением.
+         * Номер этой строки уже учтен в {@link #lineCount()}.
+         */
+        int parsedTo() {
+            return parsedTo;
+        }
+
+        /**
+         * Задает условие, при котором разбор останавливается, не дойдя до конца диапазона.
+         * После остановки {@link #lineCount()} и {@link #parsedTo()} учитывают только разобранные строки.
+         *
+         * @param condition условие остановки, проверяется перед каждой строкой
+         */
+        void stopWhen(BooleanSupplier condition) {
+            this.stopCondition = condition;
+        }
+
+        /**
+         * Разбирает все строки в диапазоне [from, to).
+         * Последняя строка диапазона может не заканчиваться переводом строки.
+         *
+         * @param bufferOffset смещение начала буфера в файле, для смещений в ошибках
+         * @throws IllegalArgumentException при политике {@link ErrorPolicy#failFast()}, если в диапазоне есть ошибка
+         */
+        void parse(ByteBuffer buf, int from, int to, long bufferOffset) {
+            measure = metrics.isEnabled();
+            parsedTo = from;
+            int lineStart = from;
+            if (bufferOffset + from == 0 && charset.equals(StandardCharsets.UTF_8)) {
+                int bomLength = ByteFields.bomLength(buf, from, to);
+                lineStart += bomLength;
+                if (measure) {
+                    metrics.recordBytes(bomLength);
+                }
+            }
+            while (lineStart < to && (stopCondition == null || !stopCondition.getAsBoolean())) {
+                long lineStartNanos = measure ? System.nanoTime() : 0;
+                phaseStart = lineStartNanos;
+                int lineEnd = lineStart;
+                while (lineEnd < to && buf.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int next = lineEnd + 1;
+                if (lineEnd > lineStart && buf.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+
+                lineNumber++;
+                parsedTo = Math.min(next, to);
+                if (measure) {
+                    // Длина строки вместе с переводом строки, чтобы сумма длин совпала с размером файла
+                    metrics.recordLine(parsedTo - lineStart);
+                }
+                phase(IngestionMetrics.Phase.READ);
+                parseLine(buf, lineStart, lineEnd, bufferOffset, lineStartNanos);
+                lineStart = next;
+            }
+        }
+
+        private void parseLine(ByteBuffer buf, int start, int end, long bufferOffset, long lineStartNanos) {
+            if (ByteFields.isBlank(buf, start, end)) {
+                return;
+            }
+
+            // Пропускаем первую строку-заголовок
+            if (isFirstLine) {
+                isFirstLine = false;
+                if (CSVReader.isHeaderLine(ByteFields.decode(buf, start, end, scratch, charset))) {
+                    System.out.println("Пропускаем строку заголовка...");
+                    return;
+                }
+            }
+
+            try {
+                parseRow(buf, start, end);
+                if (measure) {
+                    metrics.recordRow(System.nanoTime() - lineStartNanos);
+                }
+            } catch (Exception e) {
+                if (measure) {
+                    metrics.recordError(ParseErrorCause.of(e));
+                }
+                errors.add(ParseError.of(e, lineNumber, bufferOffset + start));
+            }
+        }
+
+        /**
+         * Находит границы полей строки и передает значения получателю.
+         *
+         * @throws IllegalArgumentException если данные в строке некорректны
+         */
+        private void parseRow(ByteBuffer buf, int start, int end) {
+            // Количество полей считается так же, как в String.split: пустые поля в конце не учитываются
+            int fieldIndex = 0;
+            int fieldCount = 0;
+            int fieldStart = start;
+            for (int pos = start; pos <= end; pos++) {
+                byte b = pos == end ? (byte) RowTokenizer.SEPARATOR : buf.get(pos);
+                if (b == '"') {
+                    // Строки с кавычками редки: они разбираются через строку
+                    parseQuotedRow(ByteFields.decode(buf, start, end, scratch, charset));
+                    return;
+                }
+                if (b == RowTokenizer.SEPARATOR) {
+                    if (fieldIndex < CSVReader.FIELD_COUNT) {
+                        fieldStarts[fieldIndex] = ByteFields.trimStart(buf, fieldStart, pos);
+                        fieldEnds[fieldIndex] = ByteFields.trimEnd(buf, fieldStarts[fieldIndex], pos);
+                    }
+                    fieldIndex++;
+                    if (pos > fieldStart) {
+                        fieldCount = fieldIndex;
+                    }
+                    fieldStart = pos + 1;
+                }
+            }
+
+            phase(IngestionMetrics.Phase.SPLIT);
+            if (fieldCount < CSVReader.FIELD_COUNT) {
+                throw CSVReader.fieldCountError(fieldCount);
+            }
+
+            int personId = parseInt(buf, CSVReader.ID_FIELD);
+            // Повторяющиеся имена и значения пола берутся из пулов прямо по байтам, без новой строки
+            String name = Person.namePool().intern(buf, fieldStarts[CSVReader.NAME_FIELD],
+                    fieldEnds[CSVReader.NAME_FIELD], scratch, charset);
+            String gender = Genders.intern(buf, fieldStarts[CSVReader.GENDER_FIELD],
+                    fieldEnds[CSVReader.GENDER_FIELD], scratch, charset);
+            phase(IngestionMetrics.Phase.FIELDS);
+            LocalDate birthDate = parseDate(buf, CSVReader.BIRTH_DATE_FIELD);
+            phase(IngestionMetrics.Phase.DATE);
+            double salary = parseDouble(buf, CSVReader.SALARY_FIELD);
+
+            // Известное подразделение находится прямо по байтам, без создания строки
+            Department department = Department.getDepartment(buf,
+                    fieldStarts[CSVReader.DEPARTMENT_FIELD], fieldEnds[CSVReader.DEPARTMENT_FIELD], charset);
+            phase(IngestionMetrics.Phase.FIELDS);
+            accept(personId, name, gender, birthDate, department, salary);
+        }
+
+        /**
+         * Передает строку получателю; проверка значений при создании {@link Person} учитывается как VALIDATE.
+         */
+        private void accept(int personId, String name, String gender, LocalDate birthDate,
+                            Department department, double salary) {
+            sink.accept(personId, name, gender, birthDate, department, salary);
+            phase(IngestionMetrics.Phase.VALIDATE);
+        }
+
+        /**
+         * Добавляет время завершившейся фазы, если время измеряется.
+         */
+        private void phase(IngestionMetrics.Phase phase) {
+            if (measure) {
+                phaseStart = metrics.recordPhase(phase, phaseStart);
+            }
+        }
+
+        private int parseInt(ByteBuffer buf, int index) {
+            try {
+                return ByteFields.parseInt(buf, fieldStarts[index], fieldEnds[index], scratch);
+            } catch (NumberFormatException e) {
+                throw CSVReader.numberFormatError(index);
+            }
+        }
+
+        private double parseDouble(ByteBuffer buf, int index) {
+            try {
+                return ByteFields.parseDouble(buf, fieldStarts[index], fieldEnds[index], scratch);
+            } catch (NumberFormatException e) {
+                throw CSVReader.numberFormatError(index);
+            }
+        }
+
+        /**
+         * Разбирает строку с кавычками по RFC 4180 и передает значения получателю.
+         *
+         * @throws IllegalArgumentException если данные в строке некорректны
+         */
+        private void parseQuotedRow(String line) {
+            if (quotedTokenizer == null) {
+                quotedTokenizer = RowTokenizer.quoteAware();
+            }
+            int fieldCount = quotedTokenizer.tokenize(line, quotedFields);
+            phase(IngestionMetrics.Phase.SPLIT);
+            if (fieldCount < CSVReader.FIELD_COUNT) {
+                throw CSVReader.fieldCountError(fieldCount);
+            }
+
+            int personId = CSVReader.parseInt(quotedFields, CSVReader.ID_FIELD);
+            String name = quotedFields[CSVReader.NAME_FIELD].trim();
+            String gender = quotedFields[CSVReader.GENDER_FIELD].trim();
+            String birthDate = quotedFields[CSVReader.BIRTH_DATE_FIELD];
+            double salary = CSVReader.parseDouble(quotedFields, CSVReader.SALARY_FIELD);
+            Department department = Department.getDepartment(quotedFields[CSVReader.DEPARTMENT_FIELD]);
+            phase(IngestionMetrics.Phase.FIELDS);
+            LocalDate parsedBirthDate = Person.isBlank(birthDate) ? null : Person.parseBirthDate(birthDate);
+            phase(IngestionMetrics.Phase.DATE);
+            accept(personId, name, gender, parsedBirthDate, department, salary);
+        }
+
+        /**
+         * Разбирает дату; пустое поле дает null, чтобы ошибку сообщила проверка {@link Person}.
+         */
+        private LocalDate parseDate(ByteBuffer buf, int index) {
+            int start = fieldStarts[index];
+            int end = fieldEnds[index];
+            return start == end ? null : Person.parseBirthDate(buf, start, end, scratch);
+        }
+    }
+}
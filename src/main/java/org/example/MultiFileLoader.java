@@ -0,0 +1,213 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Загрузка множества CSV файлов одного формата, например по файлу на региональный офис.
+ * <p>
+ * Каждый файл читается и разбирается в своем виртуальном потоке. Одновременное чтение
+ * с диска ограничено семафором: небольшой файл читается в память целиком, после чего
+ * разрешение освобождается и разбор идет уже без обращения к диску. Подразделения
+ * всех файлов попадают в общий реестр {@link Department}, поэтому одинаковые названия
+ * из разных файлов дают один объект.
+ * <p>
+ * Результат - объединенный список людей в порядке файлов и строк внутри файла
+ * и статистика по каждому файлу.
+ */
+public final class MultiFileLoader {
+
+    /** Количество одновременно читаемых файлов по умолчанию */
+    public static final int DEFAULT_MAX_CONCURRENT_READS = 16;
+
+    /** Шаблон имен файлов по умолчанию */
+    public static final String DEFAULT_GLOB = "*.csv";
+
+    /** Файлы больше этого размера не читаются в память, а разбираются через отображение */
+    static final long MAX_BUFFERED_FILE_SIZE = 64L << 20;
+
+    private MultiFileLoader() {
+    }
+
+    /**
+     * Загружает все файлы каталога, подходящие под шаблон, с настройками по умолчанию:
+     * {@link #DEFAULT_MAX_CONCURRENT_READS} одновременных чтений и первые
+     * {@link ErrorPolicy#DEFAULT_LIMIT} ошибок каждого файла.
+     *
+     * @param source каталог с CSV файлами или путь к одному файлу
+     * @param glob шаблон имен файлов, например "*.csv"
+     * @return объединенные данные и статистика по файлам
+     * @throws IOException если каталог или один из файлов не удалось прочитать
+     */
+    public static Result load(Path source, String glob) throws IOException {
+        return load(findFiles(source, glob), DEFAULT_MAX_CONCURRENT_READS,
+                ErrorPolicy.collect(ErrorPolicy.DEFAULT_LIMIT));
+    }
+
+    /**
+     * Загружает заданные файлы.
+     *
+     * @param files CSV файлы; порядок файлов определяет порядок людей в результате
+     * @param maxConcurrentReads максимальное количество файлов, читаемых с диска одновременно
+     * @param policy политика обработки ошибок, применяемая к каждому файлу отдельно
+     * @return объединенные данные и статистика по файлам
+     * @throws IOException если один из файлов не удалось прочитать
+     * @throws IllegalArgumentException если maxConcurrentReads не положительно или,
+     *                                  при политике {@link ErrorPolicy#failFast()}, в файле есть ошибка
+     */
+    public static Result load(List<Path> files, int maxConcurrentReads, ErrorPolicy policy) throws IOException {
+        if (maxConcurrentReads <= 0) {
+            throw new IllegalArgumentException("Количество одновременных чтений должно быть положительным");
+        }
+
+        IngestionMetrics metrics = IngestionMetrics.get();
+        long start = System.nanoTime();
+        Semaphore reads = new Semaphore(maxConcurrentReads);
+
+        List<Future<FileResult>> futures = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                for (Path file : files) {
+                    futures.add(executor.submit(() -> loadFile(file, reads, policy)));
+                }
+
+                List<Person> people = new ArrayList<>();
+                List<FileStats> stats = new ArrayList<>(files.size());
+                for (Future<FileResult> future : futures) {
+                    FileResult result = ParallelCSVReader.await(future);
+                    people.addAll(result.people());
+                    stats.add(result.stats());
+                }
+
+                long nanos = System.nanoTime() - start;
+                if (metrics.isEnabled()) {
+                    metrics.recordLoad(nanos);
+                }
+                return new Result(people, Collections.unmodifiableList(stats), nanos);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Загрузка файлов прервана", e);
+            } finally {
+                // После ошибки в одном файле остальные не дочитываются
+                for (Future<FileResult> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Возвращает файлы каталога, подходящие под шаблон, в порядке имен.
+     * Если source - обычный файл, возвращается только он.
+     *
+     * @param source каталог с CSV файлами или путь к одному файлу
+     * @param glob шаблон имен файлов в синтаксисе {@link java.nio.file.FileSystem#getPathMatcher(String)}
+     * @return список файлов
+     * @throws IOException если каталог не удалось прочитать
+     */
+    public static List<Path> findFiles(Path source, String glob) throws IOException {
+        if (Files.isRegularFile(source)) {
+            return List.of(source);
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(source, glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Читает и разбирает один файл.
+     */
+    private static FileResult loadFile(Path file, Semaphore reads, ErrorPolicy policy)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        List<Person> people = new ArrayList<>();
+        MappedCSVReader.RowSink sink = MappedCSVReader.RowSink.into(people);
+        ParseErrors errors = new ParseErrors(policy);
+
+        try {
+            byte[] content = null;
+            long size;
+            reads.acquire();
+            try {
+                size = Files.size(file);
+                if (size > MAX_BUFFERED_FILE_SIZE) {
+                    // Большой файл разбирается через отображение, пока разрешение на чтение занято
+                    MappedCSVReader.readRows(file, MappedCSVReader.DEFAULT_WINDOW_SIZE, sink, errors);
+                } else {
+                    content = Files.readAllBytes(file);
+                }
+            } finally {
+                reads.release();
+            }
+
+            if (content != null) {
+                new MappedCSVReader.RangeParser(sink, true, errors)
+                        .parse(ByteBuffer.wrap(content), 0, content.length, 0);
+            }
+            return new FileResult(people, new FileStats(file, size, people.size(), errors, System.nanoTime() - start));
+
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Статистика загрузки одного файла.
+     *
+     * @param file путь к файлу
+     * @param bytes размер файла в байтах
+     * @param rows количество принятых строк
+     * @param errors ошибки разбора строк файла
+     * @param nanos время от начала чтения до конца разбора, включая ожидание разрешения на чтение
+     */
+    public record FileStats(Path file, long bytes, int rows, ParseErrors errors, long nanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d записей, %d ошибок, %d байт, %.1f мс",
+                    file.getFileName(), rows, errors.getTotal(), bytes, nanos / 1e6);
+        }
+    }
+
+    /**
+     * Результат загрузки.
+     *
+     * @param people люди из всех файлов в порядке файлов и строк внутри файла
+     * @param files статистика по файлам в том же порядке
+     * @param nanos общее время загрузки
+     */
+    public record Result(List<Person> people, List<FileStats> files, long nanos) {
+
+        /** Общий размер файлов в байтах */
+        public long bytes() {
+            return files.stream().mapToLong(FileStats::bytes).sum();
+        }
+
+        /** Общее количество строк с ошибками */
+        public long errorCount() {
+            return files.stream().mapToLong(stats -> stats.errors().getTotal()).sum();
+        }
+    }
+
+    private record FileResult(List<Person> people, FileStats stats) {
+    }
+}
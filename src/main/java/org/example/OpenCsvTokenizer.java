@@ -0,0 +1,34 @@
+package org.example;
+
+import com.opencsv.RFC4180Parser;
+import com.opencsv.RFC4180ParserBuilder;
+
+import java.io.IOException;
+
+/**
+ * Разбиение строки по RFC 4180 с помощью {@link RFC4180Parser} из opencsv.
+ * Парсер нестрогий: поле с незакрытой кавычкой попадает в результат вместе с кавычкой,
+ * а не считается ошибкой, как в {@link QuoteAwareTokenizer}.
+ */
+final class OpenCsvTokenizer implements RowTokenizer {
+
+    private final RFC4180Parser parser = new RFC4180ParserBuilder().withSeparator(SEPARATOR).build();
+
+    @Override
+    public int tokenize(String line, String[] fields) {
+        String[] parts;
+        try {
+            parts = parser.parseLine(line);
+        } catch (IOException e) {
+            throw new InvalidFieldException(ParseErrorCause.OTHER, InvalidFieldException.WHOLE_LINE, e.getMessage());
+        }
+
+        // Пустые поля в конце не считаются, как в String.split
+        int count = parts.length;
+        while (count > 0 && parts[count - 1].isEmpty()) {
+            count--;
+        }
+        System.arraycopy(parts, 0, fields, 0, Math.min(count, fields.length));
+        return count;
+    }
+}
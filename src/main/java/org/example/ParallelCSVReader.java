@@ -0,0 +1,328 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Класс для параллельного чтения данных о людях из CSV файла на диске.
+ * Файл делится на диапазоны байтов, границы которых выровнены по переводам строк,
+ * и каждый диапазон разбирается отдельной задачей в пуле fork-join.
+ * Номера строк в сообщениях об ошибках пересчитываются после разбора,
+ * поэтому совпадают с номерами, которые выдает последовательное чтение.
+ */
+public class ParallelCSVReader {
+
+    /** Минимальный размер диапазона: более мелкое дробление не окупается */
+    static final long MIN_CHUNK_SIZE = 1L << 20;
+
+    /** Максимальный размер диапазона, который можно отобразить одним буфером */
+    private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+    /** Количество диапазонов на один поток для выравнивания нагрузки */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** Размер буфера для поиска перевода строки у границы диапазона */
+    private static final int BOUNDARY_SCAN_SIZE = 8 * 1024;
+
+    /**
+     * Читает данные о людях из CSV файла, используя общий пул fork-join.
+     *
+     * @param path путь к CSV файлу
+     * @param preserveOrder сохранять ли порядок строк файла; без него результаты
+     *                      диапазонов объединяются по мере готовности
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     */
+    public static List<Person> readPeopleFromFile(Path path, boolean preserveOrder) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return readPeopleFromFile(path, preserveOrder, pool, chunkSize(path, pool.getParallelism()));
+    }
+
+    /**
+     * Читает данные о людях из CSV файла, используя общий пул fork-join, и обрабатывает
+     * строки с ошибками по политике errors. Ошибки передаются в errors в порядке строк файла
+     * со сквозными номерами строк, поэтому результат совпадает с последовательным чтением
+     * {@link MappedCSVReader#readPeopleFromFile(Path, ParseErrors)}.
+     *
+     * @param path путь к CSV файлу
+     * @param preserveOrder сохранять ли порядок строк файла
+     * @param errors получатель ошибок разбора строк
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     * @throws IllegalArgumentException при политике {@link ErrorPolicy#failFast()}, если в файле есть ошибка
+     */
+    public static List<Person> readPeopleFromFile(Path path, boolean preserveOrder, ParseErrors errors)
+            throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return readPeopleFromFile(path, preserveOrder, pool, chunkSize(path, pool.getParallelism()), errors);
+    }
+
+    /**
+     * Читает данные о людях из CSV файла в отдельном пуле с заданным числом потоков.
+     *
+     * @param path путь к CSV файлу
+     * @param preserveOrder сохранять ли порядок строк файла
+     * @param parallelism количество потоков разбора
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     * @throws IllegalArgumentException если parallelism не положительно
+     */
+    public static List<Person> readPeopleFromFile(Path path, boolean preserveOrder, int parallelism)
+            throws IOException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return readPeopleFromFile(path, preserveOrder, pool, chunkSize(path, parallelism));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Читает данные о людях, деля файл на диапазоны примерно заданного размера.
+     *
+     * @param path путь к CSV файлу
+     * @param preserveOrder сохранять ли порядок строк файла
+     * @param pool пул, в котором разбираются диапазоны
+     * @param chunkSize желаемый размер диапазона в байтах
+     * @return список объектов Person
+     * @throws IOException если произошла ошибка при чтении файла
+     */
+    static List<Person> readPeopleFromFile(Path path, boolean preserveOrder,
+                                           ExecutorService pool, long chunkSize) throws IOException {
+        return readPeopleFromFile(path, preserveOrder, pool, chunkSize, ParseErrors.printing());
+    }
+
+    /**
+     * Читает данные о людях, деля файл на диапазоны, и обрабатывает строки с ошибками по политике errors.
+     */
+    static List<Person> readPeopleFromFile(Path path, boolean preserveOrder, ExecutorService pool,
+                                           long chunkSize, ParseErrors errors) throws IOException {
+        IngestionMetrics metrics = IngestionMetrics.get();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = splitAtLineBreaks(channel, Math.min(chunkSize, MAX_CHUNK_SIZE / 2));
+            int chunkCount = bounds.length - 1;
+
+            // При FAIL_FAST исключение выбросит первая по порядку ошибка, поэтому диапазоны после
+            // диапазона с ошибкой останавливаются, а более ранние дочитываются до конца:
+            // в них может быть ошибка раньше, и без них не посчитать сквозной номер строки
+            AtomicInteger firstFailedChunk = errors.getPolicy().getMode() == ErrorPolicy.Mode.FAIL_FAST
+                    ? new AtomicInteger(Integer.MAX_VALUE) : null;
+
+            List<Callable<Chunk>> tasks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                int index = i;
+                tasks.add(() -> parseChunk(channel, index, bounds[index], bounds[index + 1], errors.forRange(),
+                        firstFailedChunk));
+            }
+
+            Chunk[] chunks = new Chunk[chunkCount];
+            List<Person> people;
+            if (preserveOrder) {
+                people = new ArrayList<>();
+                List<Future<Chunk>> futures = pool.invokeAll(tasks);
+                for (int i = 0; i < chunkCount; i++) {
+                    chunks[i] = await(futures.get(i));
+                    people.addAll(chunks[i].people());
+                }
+            } else {
+                people = mergeAsCompleted(pool, tasks, chunks);
+            }
+
+            reportErrors(chunks, errors);
+            if (start != 0) {
+                metrics.recordLoad(System.nanoTime() - start);
+            }
+            return people;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Чтение файла прервано: " + path, e);
+        }
+    }
+
+    /**
+     * Объединяет результаты диапазонов в порядке их готовности.
+     */
+    private static List<Person> mergeAsCompleted(ExecutorService pool, List<Callable<Chunk>> tasks,
+                                                 Chunk[] chunks) throws IOException, InterruptedException {
+        CompletionService<Chunk> completion = new ExecutorCompletionService<>(pool);
+        List<Future<Chunk>> futures = new ArrayList<>(tasks.size());
+        for (Callable<Chunk> task : tasks) {
+            futures.add(completion.submit(task));
+        }
+
+        List<Person> people = new ArrayList<>();
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                Chunk chunk = await(completion.take());
+                chunks[chunk.index()] = chunk;
+                people.addAll(chunk.people());
+            }
+        } finally {
+            for (Future<Chunk> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return people;
+    }
+
+    /**
+     * Передает ошибки всех диапазонов в errors, переводя номера строк в сквозную нумерацию файла.
+     */
+    private static void reportErrors(Chunk[] chunks, ParseErrors errors) {
+        int lineOffset = 0;
+        for (Chunk chunk : chunks) {
+            errors.merge(chunk.errors(), lineOffset);
+            lineOffset += chunk.lineCount();
+        }
+        errors.complete();
+    }
+
+    /**
+     * Разбирает один диапазон файла. Строки нумеруются с 1 от начала диапазона.
+     *
+     * @param firstFailedChunk наименьший номер диапазона с ошибкой при FAIL_FAST или null;
+     *                         разбор останавливается на первой ошибке диапазона или когда
+     *                         ошибка найдена в более раннем диапазоне
+     */
+    private static Chunk parseChunk(FileChannel channel, int index, long start, long end,
+                                    ParseErrors errors, AtomicInteger firstFailedChunk) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        List<Person> people = new ArrayList<>();
+
+        // Заголовок может быть только в начале файла
+        MappedCSVReader.RangeParser parser = new MappedCSVReader.RangeParser(
+                MappedCSVReader.RowSink.into(people), index == 0, errors);
+        if (firstFailedChunk != null) {
+            parser.stopWhen(() -> isFailed(index, errors, firstFailedChunk));
+        }
+        parser.parse(buffer, 0, (int) (end - start), start);
+
+        return new Chunk(index, people, parser.lineCount(), errors);
+    }
+
+    /**
+     * Проверяет, нужно ли останавливать диапазон index при FAIL_FAST, и сообщает другим
+     * диапазонам о его первой ошибке.
+     */
+    private static boolean isFailed(int index, ParseErrors errors, AtomicInteger firstFailedChunk) {
+        if (errors.getTotal() > 0) {
+            firstFailedChunk.accumulateAndGet(index, Math::min);
+            return true;
+        }
+        return firstFailedChunk.get() < index;
+    }
+
+    /**
+     * Делит файл на диапазоны: каждая граница, кроме последней, стоит сразу после символа '\n'.
+     *
+     * @return массив границ, где диапазон i равен [bounds[i], bounds[i + 1])
+     */
+    static long[] splitAtLineBreaks(FileChannel channel, long chunkSize) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long start = 0;
+        while (size - start > chunkSize) {
+            long boundary = nextLineStart(channel, start + chunkSize, scan);
+            if (boundary - start > MAX_CHUNK_SIZE) {
+                throw new IOException(String.format(
+                        "Диапазон, начинающийся с позиции %d, превышает %d байт", start, MAX_CHUNK_SIZE));
+            }
+            if (boundary >= size) {
+                break;
+            }
+            bounds.add(boundary);
+            start = boundary;
+        }
+        bounds.add(size);
+
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Возвращает позицию сразу после первого '\n', расположенного не раньше position - 1,
+     * или размер файла, если перевода строки нет.
+     */
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer scan) throws IOException {
+        long pos = position - 1;
+        while (true) {
+            scan.clear();
+            int read = channel.read(scan, pos);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+    }
+
+    /**
+     * Выбирает размер диапазона так, чтобы на каждый поток пришлось несколько диапазонов.
+     */
+    private static long chunkSize(Path path, int parallelism) throws IOException {
+        long size = Files.size(path);
+        long perChunk = size / ((long) parallelism * CHUNKS_PER_THREAD) + 1;
+        return Math.max(MIN_CHUNK_SIZE, perChunk);
+    }
+
+    /**
+     * Дожидается результата задачи и разворачивает исключение, выброшенное при разборе.
+     */
+    static <T> T await(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Ошибка при разборе файла", cause);
+        }
+    }
+
+    /**
+     * Результат разбора одного диапазона.
+     *
+     * @param index порядковый номер диапазона в файле
+     * @param people люди в порядке строк диапазона
+     * @param lineCount количество разобранных строк диапазона; меньше полного,
+     *                  если разбор остановлен после ошибки при FAIL_FAST
+     * @param errors ошибки с номерами строк относительно начала диапазона
+     */
+    private record Chunk(int index, List<Person> people, int lineCount, ParseErrors errors) {
+    }
+}
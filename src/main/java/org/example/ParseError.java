@@ -0,0 +1,55 @@
+package org.example;
+
+/**
+ * Ошибка разбора строки CSV.
+ *
+ * @param lineNumber номер строки с 1
+ * @param byteOffset смещение начала строки от начала файла; для {@link CSVReader} считается
+ *                   в символах (совпадает с байтами для ASCII и переводов строк '\n')
+ * @param fieldIndex номер поля с 0 или {@link InvalidFieldException#WHOLE_LINE}
+ * @param cause причина ошибки
+ * @param message описание ошибки
+ */
+public record ParseError(int lineNumber, long byteOffset, int fieldIndex, ParseErrorCause cause, String message) {
+
+    /**
+     * Создает ошибку по исключению, выброшенному при разборе строки.
+     */
+    static ParseError of(Throwable e, int lineNumber, long byteOffset) {
+        ParseErrorCause cause = ParseErrorCause.of(e);
+        int fieldIndex;
+        if (e instanceof InvalidFieldException invalid) {
+            fieldIndex = invalid.getFieldIndex();
+        } else if (cause == ParseErrorCause.DATE_FORMAT) {
+            fieldIndex = CSVReader.BIRTH_DATE_FIELD;
+        } else {
+            fieldIndex = InvalidFieldException.WHOLE_LINE;
+        }
+        return new ParseError(lineNumber, byteOffset, fieldIndex, cause, e.getMessage());
+    }
+
+    /**
+     * Возвращает ту же ошибку с номером строки, сдвинутым на lines.
+     */
+    ParseError shift(int lines) {
+        return new ParseError(lineNumber + lines, byteOffset, fieldIndex, cause, message);
+    }
+
+    /**
+     * Возвращает ошибку в виде, в котором ее выводит политика по умолчанию
+     * ({@link ParseErrors#printing()}): только номер строки и описание, как до появления
+     * причин ошибок. Причина, поле и смещение доступны в {@link #toString()}.
+     */
+    String toPlainString() {
+        return String.format("Ошибка в строке %d: %s", lineNumber, message);
+    }
+
+    @Override
+    public String toString() {
+        if (fieldIndex == InvalidFieldException.WHOLE_LINE) {
+            return String.format("Ошибка в строке %d: %s [%s, смещение %d]", lineNumber, message, cause, byteOffset);
+        }
+        return String.format("Ошибка в строке %d: %s [%s, поле %d, смещение %d]",
+                lineNumber, message, cause, fieldIndex, byteOffset);
+    }
+}
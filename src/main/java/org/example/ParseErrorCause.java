@@ -0,0 +1,41 @@
+package org.example;
+
+import java.time.DateTimeException;
+
+/**
+ * Причина, по которой строка CSV не была принята.
+ */
+public enum ParseErrorCause {
+    /** В строке меньше шести полей */
+    FIELD_COUNT,
+    /** Некорректное число в поле ID или зарплаты */
+    NUMBER_FORMAT,
+    /** Некорректная дата рождения */
+    DATE_FORMAT,
+    /** Значения разобраны, но не прошли проверку {@link Person} */
+    VALIDATION,
+    /** Прочие ошибки */
+    OTHER;
+
+    /**
+     * Определяет причину по исключению, выброшенному при разборе строки.
+     *
+     * @param e исключение разбора
+     * @return причина ошибки
+     */
+    public static ParseErrorCause of(Throwable e) {
+        if (e instanceof InvalidFieldException invalid) {
+            return invalid.getErrorCause();
+        }
+        if (e instanceof DateTimeException) {
+            return DATE_FORMAT;
+        }
+        if (e instanceof NumberFormatException || e.getCause() instanceof NumberFormatException) {
+            return NUMBER_FORMAT;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return VALIDATION;
+        }
+        return OTHER;
+    }
+}
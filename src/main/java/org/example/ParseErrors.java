@@ -0,0 +1,174 @@
+package org.example;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ошибки одной загрузки CSV, обработанные по {@link ErrorPolicy}.
+ * Количества ошибок по причинам считаются при любой политике и доступны после чтения;
+ * сами ошибки сохраняются только до предела политики, поэтому объем памяти не зависит
+ * от числа плохих строк в файле.
+ * <p>
+ * Объект не потокобезопасен: параллельное чтение собирает ошибки каждого диапазона
+ * отдельно и объединяет их в порядке файла.
+ */
+public final class ParseErrors {
+
+    private final ErrorPolicy policy;
+    private final PrintStream log;
+    private final long[] counts = new long[ParseErrorCause.values().length];
+    private final List<ParseError> errors = new ArrayList<>();
+    private long total;
+
+    /**
+     * @param policy политика обработки ошибок
+     */
+    public ParseErrors(ErrorPolicy policy) {
+        this(policy, null);
+    }
+
+    /**
+     * @param policy политика обработки ошибок
+     * @param log куда выводить сохраняемые ошибки по мере поступления или null;
+     *            выводятся номер строки и описание ({@link ParseError#toPlainString()})
+     */
+    ParseErrors(ErrorPolicy policy, PrintStream log) {
+        this.policy = policy;
+        this.log = log;
+    }
+
+    /**
+     * Возвращает ошибки с поведением по умолчанию: первые {@link ErrorPolicy#DEFAULT_LIMIT}
+     * ошибок выводятся в System.err, остальные только считаются.
+     */
+    static ParseErrors printing() {
+        return new ParseErrors(ErrorPolicy.collect(ErrorPolicy.DEFAULT_LIMIT), System.err);
+    }
+
+    /**
+     * Возвращает пустые ошибки для разбора одного диапазона файла с той же политикой.
+     * Для {@link ErrorPolicy.Mode#FAIL_FAST} диапазон сохраняет свою первую ошибку, а исключение
+     * выбрасывает {@link #merge(ParseErrors, int)}, когда известен сквозной номер строки.
+     * Остановить разбор после ошибки должен вызывающий код, как это делает {@link ParallelCSVReader}.
+     */
+    ParseErrors forRange() {
+        ErrorPolicy rangePolicy = policy.getMode() == ErrorPolicy.Mode.FAIL_FAST ? ErrorPolicy.collect(1) : policy;
+        return new ParseErrors(rangePolicy);
+    }
+
+    /**
+     * Учитывает ошибку строки.
+     *
+     * @throws IllegalArgumentException при политике {@link ErrorPolicy.Mode#FAIL_FAST}
+     */
+    void add(ParseError error) {
+        counts[error.cause().ordinal()]++;
+        total++;
+        keep(error);
+    }
+
+    /**
+     * Добавляет ошибки диапазона, сдвигая номера строк на lineShift.
+     *
+     * @throws IllegalArgumentException при политике {@link ErrorPolicy.Mode#FAIL_FAST}, если в диапазоне есть ошибки
+     */
+    void merge(ParseErrors range, int lineShift) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += range.counts[i];
+        }
+        total += range.total;
+        for (ParseError error : range.errors) {
+            keep(error.shift(lineShift));
+        }
+    }
+
+    private void keep(ParseError error) {
+        switch (policy.getMode()) {
+            case FAIL_FAST -> throw new IllegalArgumentException(error.toString());
+            case SKIP -> {
+                // Только количество
+            }
+            case COLLECT -> {
+                if (errors.size() < policy.getLimit()) {
+                    errors.add(error);
+                    if (log != null) {
+                        log.println(error.toPlainString());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Завершает загрузку: если выведены не все ошибки, сообщает об этом.
+     */
+    void complete() {
+        if (log != null && isTruncated()) {
+            log.printf("Выведено ошибок: %d из %d%n", errors.size(), total);
+        }
+    }
+
+    /**
+     * Возвращает политику обработки ошибок.
+     */
+    public ErrorPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Возвращает общее количество строк с ошибками.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Возвращает количество строк с ошибками по заданной причине.
+     */
+    public long getCount(ParseErrorCause cause) {
+        return counts[cause.ordinal()];
+    }
+
+    /**
+     * Возвращает количества строк с ошибками по всем причинам.
+     */
+    public Map<ParseErrorCause, Long> getCounts() {
+        Map<ParseErrorCause, Long> result = new EnumMap<>(ParseErrorCause.class);
+        for (ParseErrorCause cause : ParseErrorCause.values()) {
+            result.put(cause, counts[cause.ordinal()]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Возвращает сохраненные ошибки в порядке строк файла.
+     */
+    public List<ParseError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Проверяет, были ли ошибки сверх сохраненных.
+     */
+    public boolean isTruncated() {
+        return total > errors.size();
+    }
+
+    /**
+     * Выводит общее количество ошибок и количества по причинам.
+     *
+     * @param out поток вывода
+     */
+    public void printSummary(PrintStream out) {
+        out.printf("Строк с ошибками: %d%n", total);
+        for (ParseErrorCause cause : ParseErrorCause.values()) {
+            if (counts[cause.ordinal()] > 0) {
+                out.printf("  %s: %d%n", cause, counts[cause.ordinal()]);
+            }
+        }
+    }
+}
@@ -1,3 +1,6 @@
+package org.example;
+
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -13,7 +16,7 @@ public class Person {
     /** Имя человека */
     private final String name;
 
-    /** Пол человека */
+    /** Пол человека; повторяющиеся значения разделяют строку из реестра {@link Genders} */
     private final String gender;
 
     /** Подразделение, в котором работает человек */
@@ -25,10 +28,17 @@ public class Person {
     /** Дата рождения человека */
     private final LocalDate birthDate;
 
-    /** Форматтер для парсинга даты рождения из строки */
+    /** Форматтер для парсинга и вывода даты рождения */
     private static final DateTimeFormatter DATE_FORMATTER =
             DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
+    /**
+     * Пул имен, общий для всех читателей: одинаковые имена разных людей разделяют одну строку.
+     * Размер задается свойством {@code -Dperson.namePool.capacity}, 0 выключает пул.
+     */
+    private static volatile StringPool namePool = new StringPool(
+            Integer.getInteger("person.namePool.capacity", StringPool.DEFAULT_CAPACITY));
+
     /**
      * Конструктор для создания объекта Person.
      *
@@ -43,42 +53,143 @@ public class Person {
      */
     public Person(int id, String name, String gender, String birthDateStr,
                   Department department, double salary) {
-        validateParameters(id, name, gender, birthDateStr, department, salary);
+        validateParameters(id, name, gender, !isBlank(birthDateStr), department, salary);
 
         this.id = id;
-        this.name = name.trim();
-        this.gender = gender.trim();
+        this.name = namePool.intern(name.trim());
+        this.gender = Genders.intern(gender.trim());
         this.department = department;
         this.salary = salary;
-        this.birthDate = LocalDate.parse(birthDateStr.trim(), DATE_FORMATTER);
+        this.birthDate = parseBirthDate(birthDateStr);
+    }
+
+    /**
+     * Конструктор для восстановления объекта Person из уже разобранных данных,
+     * например из строки {@link PersonTable}.
+     *
+     * @param id идентификатор человека
+     * @param name имя человека
+     * @param gender пол человека
+     * @param birthDate дата рождения
+     * @param department подразделение, в котором работает человек
+     * @param salary зарплата человека
+     * @throws IllegalArgumentException если параметры некорректны
+     */
+    Person(int id, String name, String gender, LocalDate birthDate,
+           Department department, double salary) {
+        this(id, name, gender, birthDate, department, salary, true);
+    }
+
+    private Person(int id, String name, String gender, LocalDate birthDate,
+                   Department department, double salary, boolean validate) {
+        if (validate) {
+            validateParameters(id, name, gender, birthDate != null, department, salary);
+        }
+
+        this.id = id;
+        this.name = namePool.intern(name.trim());
+        this.gender = Genders.intern(gender.trim());
+        this.department = department;
+        this.salary = salary;
+        this.birthDate = birthDate;
+    }
+
+    /**
+     * Создает объект Person из значений, уже проверенных {@link #validateParameters},
+     * не повторяя проверку.
+     *
+     * @param birthDate дата рождения, не null
+     */
+    static Person ofValidated(int id, String name, String gender, LocalDate birthDate,
+                              Department department, double salary) {
+        return new Person(id, name, gender, birthDate, department, salary, false);
+    }
+
+    /**
+     * Парсит дату рождения в формате "dd.MM.yyyy", игнорируя пробелы по краям.
+     * Обычные даты разбираются без DateTimeFormatter, остальные - строго через него.
+     *
+     * @param birthDateStr строка с датой рождения
+     * @return дата рождения
+     * @throws DateTimeParseException если не удалось распарсить дату рождения
+     */
+    static LocalDate parseBirthDate(String birthDateStr) {
+        return FieldParsers.parseDate(birthDateStr, DATE_FORMATTER);
+    }
+
+    /**
+     * Парсит дату рождения из уже обрезанного поля [start, end) буфера, не создавая строку.
+     *
+     * @param scratch буфер для декодирования нестандартных значений
+     * @return дата рождения
+     * @throws DateTimeParseException если не удалось распарсить дату рождения
+     */
+    static LocalDate parseBirthDate(ByteBuffer buf, int start, int end, byte[] scratch) {
+        return ByteFields.parseDate(buf, start, end, scratch, DATE_FORMATTER);
+    }
+
+    /**
+     * Возвращает пул имен, через который проходят имена всех создаваемых людей.
+     */
+    static StringPool namePool() {
+        return namePool;
+    }
+
+    /**
+     * Заменяет пул имен, например выключенным пулом для сравнения объема кучи.
+     * Влияет только на людей, создаваемых после вызова.
+     */
+    static void setNamePool(StringPool pool) {
+        namePool = pool;
     }
 
     /**
      * Валидация входных параметров.
+     * Используется также при заполнении {@link PersonTable}, чтобы строки проверялись одинаково.
+     *
+     * @throws InvalidFieldException с номером поля CSV, если параметр некорректен
      */
-    private void validateParameters(int id, String name, String gender,
-                                    String birthDateStr, Department department,
-                                    double salary) {
+    static void validateParameters(int id, String name, String gender,
+                                   boolean hasBirthDate, Department department,
+                                   double salary) {
         if (id <= 0) {
-            throw new IllegalArgumentException("ID должен быть положительным числом");
+            throw invalid(CSVReader.ID_FIELD, "ID должен быть положительным числом");
         }
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Имя не может быть пустым");
+        if (isBlank(name)) {
+            throw invalid(CSVReader.NAME_FIELD, "Имя не может быть пустым");
         }
-        if (gender == null || gender.trim().isEmpty()) {
-            throw new IllegalArgumentException("Пол не может быть пустым");
+        if (isBlank(gender)) {
+            throw invalid(CSVReader.GENDER_FIELD, "Пол не может быть пустым");
         }
-        if (birthDateStr == null || birthDateStr.trim().isEmpty()) {
-            throw new IllegalArgumentException("Дата рождения не может быть пустой");
+        if (!hasBirthDate) {
+            throw invalid(CSVReader.BIRTH_DATE_FIELD, "Дата рождения не может быть пустой");
         }
         if (department == null) {
-            throw new IllegalArgumentException("Подразделение не может быть null");
+            throw invalid(CSVReader.DEPARTMENT_FIELD, "Подразделение не может быть null");
+        }
+        if (!Double.isFinite(salary)) {
+            throw invalid(CSVReader.SALARY_FIELD, "Зарплата должна быть конечным числом");
         }
         if (salary < 0) {
-            throw new IllegalArgumentException("Зарплата не может быть отрицательной");
+            throw invalid(CSVReader.SALARY_FIELD, "Зарплата не может быть отрицательной");
         }
     }
 
+    /**
+     * Создает исключение проверки без стека вызовов: при загрузке файла
+     * такие ошибки ожидаемы и обрабатываются построчно.
+     */
+    private static InvalidFieldException invalid(int fieldIndex, String message) {
+        return new InvalidFieldException(ParseErrorCause.VALIDATION, fieldIndex, message);
+    }
+
+    /**
+     * Проверяет, что строка равна null или состоит только из пробелов.
+     */
+    static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
     /**
      * Возвращает идентификатор человека.
      *
@@ -134,12 +245,22 @@ public class Person {
     }
 
     /**
-     * Возвращает возраст человека в годах.
+     * Возвращает возраст человека в годах на сегодняшнюю дату.
      *
      * @return возраст в годах
      */
     public int getAge() {
-        return java.time.Period.between(birthDate, LocalDate.now()).getYears();
+        return getAge(AgeCalculator.today());
+    }
+
+    /**
+     * Возвращает возраст человека в годах на дату отсчета калькулятора.
+     *
+     * @param ages калькулятор возраста
+     * @return возраст в годах
+     */
+    public int getAge(AgeCalculator ages) {
+        return ages.age(birthDate);
     }
 
     /**
@@ -151,8 +272,8 @@ public class Person {
     public String toString() {
         return String.format(
                 "ID: %-6d Имя: %-15s Пол: %-8s Отдел: %-15s Зарплата: %8.2f Дата рождения: %s Возраст: %d",
-                id, name, gender, department.getName(), salary,
-                birthDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")),
+                id, name, getGender(), department.getName(), salary,
+                birthDate.format(DATE_FORMATTER),
                 getAge()
         );
     }
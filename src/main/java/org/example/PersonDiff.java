@@ -0,0 +1,271 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Сравнение двух выгрузок сотрудников по {@link Person#getId()}: новые сотрудники,
+ * уволенные, изменения зарплаты и переводы между подразделениями, а также изменение
+ * численности и фонда оплаты труда по подразделениям.
+ * <p>
+ * Обе выгрузки сливаются за один проход в порядке возрастания ID. Списки в произвольном
+ * порядке предварительно упорядочиваются сортировкой массива примитивов {@code long},
+ * в котором ID объединен с номером строки. Если обе выгрузки уже отсортированы по ID,
+ * {@link #compareSorted} читает их потоком и хранит в памяти только изменения.
+ * <p>
+ * Изменения по подразделениям считаются только по найденным различиям, без повторной
+ * агрегации выгрузок: сотрудники без изменений в них не участвуют.
+ */
+public final class PersonDiff {
+
+    private final List<Person> hires = new ArrayList<>();
+    private final List<Person> leavers = new ArrayList<>();
+    private final List<Change> salaryChanges = new ArrayList<>();
+    private final List<Change> departmentMoves = new ArrayList<>();
+
+    // Изменения по плотному ID подразделения
+    private int[] headcountDeltas = new int[Department.maxId() + 1];
+    private double[] payrollDeltas = new double[Department.maxId() + 1];
+    private boolean[] touched = new boolean[Department.maxId() + 1];
+
+    private PersonDiff() {
+    }
+
+    /**
+     * Сравнивает две выгрузки в произвольном порядке.
+     *
+     * @param before вчерашняя выгрузка
+     * @param after сегодняшняя выгрузка
+     * @return найденные различия
+     * @throws IllegalArgumentException если в одной из выгрузок повторяется ID
+     */
+    public static Result compare(List<Person> before, List<Person> after) {
+        return merge(inIdOrder(before), inIdOrder(after));
+    }
+
+    /**
+     * Сравнивает две выгрузки, отсортированные по возрастанию ID, читая их потоком.
+     * Потоки не закрываются.
+     *
+     * @param before вчерашняя выгрузка в порядке возрастания ID
+     * @param after сегодняшняя выгрузка в порядке возрастания ID
+     * @return найденные различия
+     * @throws IllegalArgumentException если выгрузка не отсортирована по ID или ID повторяется
+     */
+    public static Result compareSorted(Stream<Person> before, Stream<Person> after) {
+        return merge(before.iterator(), after.iterator());
+    }
+
+    /**
+     * Сливает две последовательности в порядке возрастания ID.
+     */
+    private static Result merge(Iterator<Person> before, Iterator<Person> after) {
+        PersonDiff diff = new PersonDiff();
+        Cursor old = new Cursor(before, "во вчерашней");
+        Cursor current = new Cursor(after, "в сегодняшней");
+
+        while (old.person != null || current.person != null) {
+            if (current.person == null || (old.person != null && old.person.getId() < current.person.getId())) {
+                diff.leave(old.person);
+                old.advance();
+            } else if (old.person == null || current.person.getId() < old.person.getId()) {
+                diff.hire(current.person);
+                current.advance();
+            } else {
+                diff.compare(old.person, current.person);
+                old.advance();
+                current.advance();
+            }
+        }
+        return diff.toResult();
+    }
+
+    /**
+     * Возвращает людей списка в порядке возрастания ID. Сортируется массив ключей
+     * {@code (id << 32) | строка}, поэтому объекты не упаковываются и не сравниваются.
+     */
+    private static Iterator<Person> inIdOrder(List<Person> people) {
+        long[] keys = new long[people.size()];
+        for (int row = 0; row < keys.length; row++) {
+            keys[row] = ((long) people.get(row).getId() << 32) | row;
+        }
+        Arrays.sort(keys);
+
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < keys.length;
+            }
+
+            @Override
+            public Person next() {
+                if (next >= keys.length) {
+                    throw new NoSuchElementException();
+                }
+                return people.get((int) keys[next++]);
+            }
+        };
+    }
+
+    private void hire(Person person) {
+        hires.add(person);
+        account(person.getDepartment(), 1, person.getSalary());
+    }
+
+    private void leave(Person person) {
+        leavers.add(person);
+        account(person.getDepartment(), -1, -person.getSalary());
+    }
+
+    private void compare(Person before, Person after) {
+        Change change = new Change(before, after);
+        if (change.isSalaryChange()) {
+            salaryChanges.add(change);
+        }
+        if (change.isDepartmentMove()) {
+            departmentMoves.add(change);
+            account(before.getDepartment(), -1, -before.getSalary());
+            account(after.getDepartment(), 1, after.getSalary());
+        } else if (change.isSalaryChange()) {
+            account(after.getDepartment(), 0, change.salaryDelta());
+        }
+    }
+
+    private void account(Department department, int headcount, double payroll) {
+        int id = department.getId();
+        if (id >= touched.length) {
+            int length = Math.max(id + 1, Department.maxId() + 1);
+            headcountDeltas = Arrays.copyOf(headcountDeltas, length);
+            payrollDeltas = Arrays.copyOf(payrollDeltas, length);
+            touched = Arrays.copyOf(touched, length);
+        }
+        headcountDeltas[id] += headcount;
+        payrollDeltas[id] += payroll;
+        touched[id] = true;
+    }
+
+    private Result toResult() {
+        List<DepartmentDelta> departments = new ArrayList<>();
+        for (int id = 0; id < touched.length; id++) {
+            Department department = touched[id] ? Department.getById(id) : null;
+            if (department != null) {
+                departments.add(new DepartmentDelta(department, headcountDeltas[id], payrollDeltas[id]));
+            }
+        }
+        return new Result(Collections.unmodifiableList(hires), Collections.unmodifiableList(leavers),
+                Collections.unmodifiableList(salaryChanges), Collections.unmodifiableList(departmentMoves),
+                Collections.unmodifiableList(departments));
+    }
+
+    /**
+     * Текущий элемент последовательности с проверкой возрастания ID.
+     */
+    private static final class Cursor {
+        private final Iterator<Person> people;
+        private final String where;
+        private Person person;
+
+        Cursor(Iterator<Person> people, String where) {
+            this.people = people;
+            this.where = where;
+            this.person = people.hasNext() ? people.next() : null;
+        }
+
+        void advance() {
+            if (!people.hasNext()) {
+                person = null;
+                return;
+            }
+            Person next = people.next();
+            if (next.getId() <= person.getId()) {
+                throw new IllegalArgumentException(String.format(
+                        "ID не по возрастанию или повторяется %s выгрузке: %d после %d",
+                        where, next.getId(), person.getId()));
+            }
+            person = next;
+        }
+    }
+
+    /**
+     * Изменение сотрудника, который есть в обеих выгрузках.
+     *
+     * @param before данные из вчерашней выгрузки
+     * @param after данные из сегодняшней выгрузки
+     */
+    public record Change(Person before, Person after) {
+
+        /** Изменилась ли зарплата */
+        public boolean isSalaryChange() {
+            return Double.compare(before.getSalary(), after.getSalary()) != 0;
+        }
+
+        /** Перешел ли сотрудник в другое подразделение */
+        public boolean isDepartmentMove() {
+            return before.getDepartment() != after.getDepartment();
+        }
+
+        /** Изменение зарплаты */
+        public double salaryDelta() {
+            return after.getSalary() - before.getSalary();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ID %d %s: %s, %.2f -> %s, %.2f", after.getId(), after.getName(),
+                    before.getDepartment().getName(), before.getSalary(),
+                    after.getDepartment().getName(), after.getSalary());
+        }
+    }
+
+    /**
+     * Изменение численности и фонда оплаты труда подразделения.
+     *
+     * @param department подразделение
+     * @param headcount изменение количества сотрудников
+     * @param payroll изменение суммы зарплат
+     */
+    public record DepartmentDelta(Department department, int headcount, double payroll) {
+
+        @Override
+        public String toString() {
+            return String.format("%-15s %+6d сотр. %+14.2f", department.getName(), headcount, payroll);
+        }
+    }
+
+    /**
+     * Результат сравнения.
+     *
+     * @param hires сотрудники, которых нет во вчерашней выгрузке, в порядке ID
+     * @param leavers сотрудники, которых нет в сегодняшней выгрузке, в порядке ID
+     * @param salaryChanges изменения зарплаты в порядке ID
+     * @param departmentMoves переводы между подразделениями в порядке ID;
+     *                        при одновременном изменении зарплаты сотрудник есть в обоих списках
+     * @param departments изменения по подразделениям, затронутым различиями, в порядке ID подразделения
+     */
+    public record Result(List<Person> hires, List<Person> leavers, List<Change> salaryChanges,
+                         List<Change> departmentMoves, List<DepartmentDelta> departments) {
+
+        /** Нет ли различий в найме, увольнениях, зарплатах и подразделениях */
+        public boolean isEmpty() {
+            return hires.isEmpty() && leavers.isEmpty() && salaryChanges.isEmpty() && departmentMoves.isEmpty();
+        }
+
+        /**
+         * Выводит сводку различий в консоль.
+         */
+        public void printSummary() {
+            System.out.printf("Принято: %d, уволено: %d, изменений зарплаты: %d, переводов: %d%n",
+                    hires.size(), leavers.size(), salaryChanges.size(), departmentMoves.size());
+            for (DepartmentDelta delta : departments) {
+                System.out.println("  " + delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package org.example;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Индексы для быстрого поиска среди загруженных людей без полного перебора списка:
+ * <ul>
+ *     <li>хеш-таблица с открытой адресацией на примитивах: ID сотрудника → номер строки</li>
+ *     <li>списки номеров строк по ID подразделения</li>
+ *     <li>номера строк, отсортированные по зарплате и по дате рождения, для запросов по диапазону</li>
+ * </ul>
+ * Индекс строится один раз после загрузки и не меняется. Результаты запросов - представления
+ * над исходным списком по массиву номеров строк: объекты {@link Person} не копируются.
+ * Потокобезопасен для чтения.
+ */
+public final class PersonIndex {
+
+    /** Признак пустой ячейки хеш-таблицы */
+    private static final int EMPTY = -1;
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final List<Person> people;
+
+    // Поля по номеру строки для проверки условий без обращения к объектам Person
+    private final double[] salaries;
+    private final int[] birthEpochDays;
+    private final int[] departmentIds;
+
+    // Хеш-таблица по ID сотрудника
+    private final int[] idKeys;
+    private final int[] idRows;
+    private final int idShift;
+
+    /** Номера строк по ID подразделения в порядке загрузки */
+    private final int[][] departmentRows;
+
+    // Номера строк, отсортированные по ключу, и сами ключи в том же порядке
+    private final int[] rowsBySalary;
+    private final double[] sortedSalaries;
+    private final int[] rowsByBirthDate;
+    private final int[] sortedBirthEpochDays;
+
+    private PersonIndex(List<Person> people) {
+        this.people = people;
+        int size = people.size();
+
+        salaries = new double[size];
+        birthEpochDays = new int[size];
+        departmentIds = new int[size];
+        int maxDepartmentId = 0;
+        for (int row = 0; row < size; row++) {
+            Person person = people.get(row);
+            salaries[row] = person.getSalary();
+            birthEpochDays[row] = (int) person.getBirthDate().toEpochDay();
+            departmentIds[row] = person.getDepartment().getId();
+            maxDepartmentId = Math.max(maxDepartmentId, departmentIds[row]);
+        }
+
+        // Размер таблицы - степень двойки не меньше удвоенного числа строк
+        int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+        idKeys = new int[capacity];
+        idRows = new int[capacity];
+        idShift = Integer.numberOfLeadingZeros(capacity - 1);
+        Arrays.fill(idRows, EMPTY);
+        for (int row = 0; row < size; row++) {
+            putId(people.get(row).getId(), row);
+        }
+
+        int[] counts = new int[maxDepartmentId + 1];
+        for (int departmentId : departmentIds) {
+            counts[departmentId]++;
+        }
+        departmentRows = new int[maxDepartmentId + 1][];
+        for (int id = 0; id <= maxDepartmentId; id++) {
+            departmentRows[id] = counts[id] == 0 ? NO_ROWS : new int[counts[id]];
+            counts[id] = 0;
+        }
+        for (int row = 0; row < size; row++) {
+            int departmentId = departmentIds[row];
+            departmentRows[departmentId][counts[departmentId]++] = row;
+        }
+
+        rowsBySalary = sortedRows(salaries);
+        sortedSalaries = keysInOrder(salaries, rowsBySalary);
+
+        // Дата и номер строки объединяются в long: сортировка примитивов сразу дает порядок
+        // по дате, а при равных датах - по номеру строки
+        long[] birthKeys = new long[size];
+        for (int row = 0; row < size; row++) {
+            birthKeys[row] = ((long) birthEpochDays[row] << 32) | row;
+        }
+        Arrays.sort(birthKeys);
+        rowsByBirthDate = new int[size];
+        sortedBirthEpochDays = new int[size];
+        for (int i = 0; i < size; i++) {
+            rowsByBirthDate[i] = (int) birthKeys[i];
+            sortedBirthEpochDays[i] = (int) (birthKeys[i] >> 32);
+        }
+    }
+
+    /**
+     * Строит индексы по списку людей. Список не копируется и не должен меняться после построения;
+     * список без произвольного доступа предварительно копируется.
+     *
+     * @param people загруженные люди
+     * @return индекс
+     */
+    public static PersonIndex build(List<Person> people) {
+        return new PersonIndex(people instanceof RandomAccess ? people : new ArrayList<>(people));
+    }
+
+    /**
+     * Возвращает количество проиндексированных людей.
+     */
+    public int size() {
+        return people.size();
+    }
+
+    /**
+     * Находит человека по ID. Если ID повторяется, возвращается первый по порядку загрузки.
+     *
+     * @param id ID сотрудника
+     * @return найденный человек или null
+     */
+    public Person findById(int id) {
+        int mask = idKeys.length - 1;
+        for (int slot = hash(id); ; slot = (slot + 1) & mask) {
+            int row = idRows[slot];
+            if (row == EMPTY) {
+                return null;
+            }
+            if (idKeys[slot] == id) {
+                return people.get(row);
+            }
+        }
+    }
+
+    /**
+     * Возвращает сотрудников подразделения в порядке загрузки.
+     *
+     * @param department подразделение
+     * @return представление без копирования
+     */
+    public List<Person> byDepartment(Department department) {
+        return query().department(department).list();
+    }
+
+    /**
+     * Возвращает людей с зарплатой в диапазоне [min, max] в порядке загрузки.
+     */
+    public List<Person> bySalary(double min, double max) {
+        return query().salaryBetween(min, max).list();
+    }
+
+    /**
+     * Возвращает людей, родившихся в диапазоне дат [from, to] включительно, в порядке загрузки.
+     */
+    public List<Person> byBirthDate(LocalDate from, LocalDate to) {
+        return query().bornBetween(from, to).list();
+    }
+
+    /**
+     * Создает запрос, в котором условия объединяются через "и".
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Запрос с набором условий. Выполнение начинается с самого избирательного индекса,
+     * остальные условия проверяются по столбцам примитивов для каждого кандидата.
+     * Объект запроса не потокобезопасен и может выполняться несколько раз.
+     */
+    public final class Query {
+        private int departmentId = EMPTY;
+        private boolean bySalary;
+        private double minSalary;
+        private double maxSalary;
+        private boolean byBirthDate;
+        private int fromEpochDay;
+        private int toEpochDay;
+
+        private Query() {
+        }
+
+        /**
+         * Оставляет только сотрудников подразделения.
+         */
+        public Query department(Department department) {
+            departmentId = department.getId();
+            return this;
+        }
+
+        /**
+         * Оставляет только зарплаты в диапазоне [min, max].
+         */
+        public Query salaryBetween(double min, double max) {
+            bySalary = true;
+            minSalary = min;
+            maxSalary = max;
+            return this;
+        }
+
+        /**
+         * Оставляет только даты рождения в диапазоне [from, to] включительно.
+         */
+        public Query bornBetween(LocalDate from, LocalDate to) {
+            byBirthDate = true;
+            fromEpochDay = (int) Math.max(Integer.MIN_VALUE, from.toEpochDay());
+            toEpochDay = (int) Math.min(Integer.MAX_VALUE, to.toEpochDay());
+            return this;
+        }
+
+        /**
+         * Оставляет только людей с возрастом в диапазоне [minAge, maxAge] на дату отсчета калькулятора.
+         * Диапазон возрастов переводится в диапазон дат рождения, поэтому используется индекс дат.
+         *
+         * @throws IllegalArgumentException если minAge отрицателен или больше maxAge
+         */
+        public Query ageBetween(AgeCalculator ages, int minAge, int maxAge) {
+            if (minAge > maxAge) {
+                throw new IllegalArgumentException("Некорректный диапазон возрастов: " + minAge + ".." + maxAge);
+            }
+            byBirthDate = true;
+            fromEpochDay = (int) Math.max(Integer.MIN_VALUE, ages.earliestBirthEpochDay(maxAge));
+            toEpochDay = (int) Math.min(Integer.MAX_VALUE, ages.latestBirthEpochDay(minAge));
+            return this;
+        }
+
+        /**
+         * Оставляет только людей из возрастной группы.
+         *
+         * @param bands возрастные группы
+         * @param index номер группы
+         */
+        public Query ageBand(AgeCalculator.Bands bands, int index) {
+            return ageBetween(bands.getCalculator(), bands.minAge(index), bands.maxAge(index));
+        }
+
+        /**
+         * Выполняет запрос.
+         *
+         * @return неизменяемое представление над исходным списком в порядке загрузки
+         */
+        public List<Person> list() {
+            if (departmentId == EMPTY && !bySalary && !byBirthDate) {
+                return Collections.unmodifiableList(people);
+            }
+            int[] rows = rows();
+            return new RowList(rows, rows.length);
+        }
+
+        /**
+         * Возвращает количество подходящих людей. Для запроса с одним условием
+         * результат берется из индекса без перебора.
+         */
+        public int count() {
+            int filters = (departmentId != EMPTY ? 1 : 0) + (bySalary ? 1 : 0) + (byBirthDate ? 1 : 0);
+            if (filters == 0) {
+                return people.size();
+            }
+            if (filters == 1) {
+                if (departmentId != EMPTY) {
+                    return departmentRows(departmentId).length;
+                }
+                if (bySalary) {
+                    return Math.max(0, upperBound(sortedSalaries, maxSalary) - lowerBound(sortedSalaries, minSalary));
+                }
+                return Math.max(0, upperBound(sortedBirthEpochDays, toEpochDay)
+                        - lowerBound(sortedBirthEpochDays, fromEpochDay));
+            }
+            return rows().length;
+        }
+
+        /**
+         * Находит номера подходящих строк в порядке возрастания.
+         */
+        private int[] rows() {
+            int[] departmentCandidates = departmentId != EMPTY ? departmentRows(departmentId) : null;
+            int salaryFrom = 0;
+            int salaryTo = 0;
+            if (bySalary) {
+                salaryFrom = lowerBound(sortedSalaries, minSalary);
+                salaryTo = Math.max(salaryFrom, upperBound(sortedSalaries, maxSalary));
+            }
+            int birthFrom = 0;
+            int birthTo = 0;
+            if (byBirthDate) {
+                birthFrom = lowerBound(sortedBirthEpochDays, fromEpochDay);
+                birthTo = Math.max(birthFrom, upperBound(sortedBirthEpochDays, toEpochDay));
+            }
+
+            // Выбираем индекс с наименьшим числом кандидатов
+            int best = Integer.MAX_VALUE;
+            int[] source = null;
+            int from = 0;
+            int to = 0;
+            if (departmentCandidates != null) {
+                best = departmentCandidates.length;
+                source = departmentCandidates;
+                to = departmentCandidates.length;
+            }
+            if (bySalary && salaryTo - salaryFrom < best) {
+                best = salaryTo - salaryFrom;
+                source = rowsBySalary;
+                from = salaryFrom;
+                to = salaryTo;
+            }
+            if (byBirthDate && birthTo - birthFrom < best) {
+                source = rowsByBirthDate;
+                from = birthFrom;
+                to = birthTo;
+            }
+
+            boolean checkDepartment = departmentCandidates != null && source != departmentCandidates;
+            boolean checkSalary = bySalary && source != rowsBySalary;
+            boolean checkBirthDate = byBirthDate && source != rowsByBirthDate;
+            if (source == departmentCandidates && !checkSalary && !checkBirthDate) {
+                return departmentCandidates;
+            }
+
+            int[] result = new int[to - from];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int row = source[i];
+                if (checkDepartment && departmentIds[row] != departmentId) {
+                    continue;
+                }
+                if (checkSalary && !(salaries[row] >= minSalary && salaries[row] <= maxSalary)) {
+                    continue;
+                }
+                if (checkBirthDate && (birthEpochDays[row] < fromEpochDay || birthEpochDays[row] > toEpochDay)) {
+                    continue;
+                }
+                result[count++] = row;
+            }
+            result = count == result.length ? result : Arrays.copyOf(result, count);
+
+            // Строки из индекса по диапазону идут в порядке ключа, возвращаем их в порядке загрузки
+            if (source != departmentCandidates) {
+                Arrays.sort(result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Неизменяемое представление над номерами строк исходного списка.
+     */
+    private final class RowList extends AbstractList<Person> implements RandomAccess {
+        private final int[] rows;
+        private final int size;
+
+        RowList(int[] rows, int size) {
+            this.rows = rows;
+            this.size = size;
+        }
+
+        @Override
+        public Person get(int index) {
+            Objects.checkIndex(index, size);
+            return people.get(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private int[] departmentRows(int departmentId) {
+        return departmentId < departmentRows.length ? departmentRows[departmentId] : NO_ROWS;
+    }
+
+    private void putId(int id, int row) {
+        int mask = idKeys.length - 1;
+        for (int slot = hash(id); ; slot = (slot + 1) & mask) {
+            if (idRows[slot] == EMPTY) {
+                idKeys[slot] = id;
+                idRows[slot] = row;
+                return;
+            }
+            if (idKeys[slot] == id) {
+                // Повторный ID: остается первая строка
+                return;
+            }
+        }
+    }
+
+    /**
+     * Мультипликативное хеширование: старшие биты произведения на золотое сечение.
+     */
+    private int hash(int id) {
+        return (id * 0x9E3779B9) >>> idShift;
+    }
+
+    /**
+     * Первая позиция, на которой ключ не меньше value.
+     */
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(sorted[mid], value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Первая позиция, на которой ключ больше value.
+     */
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(sorted[mid], value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Первая позиция, на которой ключ не меньше value.
+     */
+    private static int lowerBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Первая позиция, на которой ключ больше value.
+     */
+    private static int upperBound(int[] sorted, int value) {
+        return value == Integer.MAX_VALUE ? sorted.length : lowerBound(sorted, value + 1);
+    }
+
+    /**
+     * Возвращает номера строк, упорядоченные по ключу; при равных ключах - по номеру строки.
+     * Сортировка слиянием на примитивах, без упаковки номеров строк в Integer.
+     */
+    private static int[] sortedRows(double[] keys) {
+        int size = keys.length;
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int left = 0; left < size; left += 2 * width) {
+                int mid = Math.min(left + width, size);
+                int right = Math.min(left + 2 * width, size);
+                int i = left;
+                int j = mid;
+                int k = left;
+                while (i < mid && j < right) {
+                    buffer[k++] = Double.compare(keys[rows[j]], keys[rows[i]]) < 0 ? rows[j++] : rows[i++];
+                }
+                while (i < mid) {
+                    buffer[k++] = rows[i++];
+                }
+                while (j < right) {
+                    buffer[k++] = rows[j++];
+                }
+            }
+            int[] swap = rows;
+            rows = buffer;
+            buffer = swap;
+        }
+        return rows;
+    }
+
+    private static double[] keysInOrder(double[] keys, int[] rows) {
+        double[] sorted = new double[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            sorted[i] = keys[rows[i]];
+        }
+        return sorted;
+    }
+}
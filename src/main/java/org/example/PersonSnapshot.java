@@ -0,0 +1,509 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.CRC32C;
+
+/**
+ * Двоичный снимок разобранных данных о людях для быстрой повторной загрузки без разбора CSV.
+ * <p>
+ * Формат (все числа little-endian):
+ * <pre>
+ * Заголовок, 48 байт:
+ *   int    сигнатура "PSNP"
+ *   int    версия формата
+ *   long   размер исходного CSV файла
+ *   long   время изменения исходного CSV файла в миллисекундах
+ *   int    количество строк
+ *   int    количество подразделений
+ *   int    размер словаря пола
+ *   int    размер словаря имен
+ *   long   контрольная сумма CRC32C всех данных после заголовка
+ * Данные:
+ *   подразделения: int ID, int длина, байты названия в UTF-8
+ *   словарь пола, затем словарь имен: int длина, байты UTF-8
+ *   выравнивание нулями до 8 байт
+ *   столбцы: double[] зарплаты, int[] ID, int[] даты рождения в днях от 01.01.1970,
+ *            int[] ID подразделений, int[] коды имен, коды пола: byte[] при словаре пола
+ *            не больше {@link PersonTable#MAX_BYTE_GENDER_CODES} значений, иначе int[]
+ * </pre>
+ * Снимок загружается через отображение файла в память окнами ограниченного размера:
+ * столбцы копируются в массивы без разбора текста, а смещения считаются в long, поэтому
+ * размер файла не ограничен 2 ГБ. Вместе с людьми сохраняется реестр подразделений;
+ * при загрузке названия снова регистрируются в {@link Department}, а ID в столбце
+ * пересчитываются, если в текущем реестре они другие.
+ */
+public final class PersonSnapshot {
+
+    /** Сигнатура файла: байты "PSNP" */
+    private static final int MAGIC = 0x504E5350;
+
+    /** Текущая версия формата */
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 48;
+
+    /** Смещение контрольной суммы в заголовке */
+    private static final int CHECKSUM_OFFSET = HEADER_SIZE - Long.BYTES;
+
+    /** Наибольший размер окна отображения при загрузке */
+    private static final int LOAD_WINDOW_SIZE = 1 << 28;
+
+    /** Размер буфера записи */
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private PersonSnapshot() {
+    }
+
+    /**
+     * Загружает снимок, если он актуален для исходного CSV файла, иначе разбирает CSV
+     * и перезаписывает снимок. Снимок считается актуальным, если он записан не раньше
+     * последнего изменения CSV, а размер и время изменения CSV совпадают с сохраненными.
+     * Поврежденный снимок или снимок другой версии также перестраивается.
+     *
+     * @param csv путь к исходному CSV файлу
+     * @param snapshot путь к файлу снимка
+     * @return таблица с данными о людях
+     * @throws IOException если не удалось прочитать CSV или записать снимок
+     */
+    public static PersonTable loadOrRebuild(Path csv, Path snapshot) throws IOException {
+        long csvSize = Files.size(csv);
+        FileTime csvModified = Files.getLastModifiedTime(csv);
+
+        if (Files.exists(snapshot) && Files.getLastModifiedTime(snapshot).compareTo(csvModified) >= 0) {
+            try {
+                Header header = readHeader(snapshot);
+                if (header.sourceSize() == csvSize && header.sourceModified() == csvModified.toMillis()) {
+                    return load(snapshot);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Любая ошибка загрузки или проверки снимка означает, что его нужно перестроить
+                System.err.println("Снимок не может быть загружен и будет перестроен: " + e.getMessage());
+            }
+        }
+
+        PersonTable table = PersonTable.readFromFile(csv);
+        write(table, snapshot, csvSize, csvModified.toMillis());
+        return table;
+    }
+
+    /**
+     * Записывает таблицу и реестр подразделений в файл снимка.
+     * Файл сначала пишется во временный файл рядом и затем атомарно заменяет прежний.
+     *
+     * @param table таблица с данными о людях
+     * @param snapshot путь к файлу снимка
+     * @param sourceSize размер исходного CSV файла
+     * @param sourceModified время изменения исходного CSV файла в миллисекундах
+     * @throws IOException если не удалось записать файл
+     */
+    public static void write(PersonTable table, Path snapshot, long sourceSize, long sourceModified)
+            throws IOException {
+        Path parent = snapshot.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, snapshot.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ChecksumWriter out = new ChecksumWriter(channel, HEADER_SIZE);
+                String[] genders = table.genderDictionary();
+                String[] names = table.nameDictionary();
+                int departmentCount = Department.maxId();
+
+                for (int id = 1; id <= departmentCount; id++) {
+                    out.putInt(id);
+                    out.putString(Department.getById(id).getName());
+                }
+                for (String gender : genders) {
+                    out.putString(gender);
+                }
+                for (String name : names) {
+                    out.putString(name);
+                }
+                out.align(Long.BYTES);
+
+                int rows = table.size();
+                for (int row = 0; row < rows; row++) {
+                    out.putDouble(table.getSalary(row));
+                }
+                for (int row = 0; row < rows; row++) {
+                    out.putInt(table.getId(row));
+                }
+                for (int row = 0; row < rows; row++) {
+                    out.putInt(table.getBirthEpochDay(row));
+                }
+                for (int row = 0; row < rows; row++) {
+                    out.putInt(table.getDepartmentId(row));
+                }
+                for (int row = 0; row < rows; row++) {
+                    out.putInt(table.getNameCode(row));
+                }
+                if (hasByteGenderCodes(genders.length)) {
+                    for (int row = 0; row < rows; row++) {
+                        out.putByte((byte) table.getGenderCode(row));
+                    }
+                } else {
+                    for (int row = 0; row < rows; row++) {
+                        out.putInt(table.getGenderCode(row));
+                    }
+                }
+                long checksum = out.finish();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION)
+                        .putLong(sourceSize).putLong(sourceModified)
+                        .putInt(rows).putInt(departmentCount).putInt(genders.length).putInt(names.length)
+                        .putLong(checksum)
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(false);
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Загружает таблицу из файла снимка и регистрирует сохраненные подразделения.
+     *
+     * @param snapshot путь к файлу снимка
+     * @return таблица с данными о людях
+     * @throws IOException если файл не является снимком, имеет другую версию или поврежден
+     */
+    public static PersonTable load(Path snapshot) throws IOException {
+        return load(snapshot, LOAD_WINDOW_SIZE);
+    }
+
+    /**
+     * Загружает снимок, отображая файл в память окнами не больше windowSize байт,
+     * поэтому размер файла не ограничен 2 ГБ.
+     */
+    static PersonTable load(Path snapshot, int windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            WindowReader in = new WindowReader(channel, windowSize);
+            Header header = Header.read(in.slice(0, HEADER_SIZE), snapshot);
+            header.validate(channel.size(), snapshot);
+
+            if (in.checksum(HEADER_SIZE) != header.checksum()) {
+                throw new IOException("Контрольная сумма снимка не совпадает: " + snapshot);
+            }
+
+            try {
+                in.seek(HEADER_SIZE);
+
+                // Сохраненные ID подразделений переводятся в ID текущего реестра
+                int[] departmentIds = new int[header.departmentCount() + 1];
+                boolean sameIds = true;
+                for (int i = 0; i < header.departmentCount(); i++) {
+                    int savedId = in.getInt();
+                    Department department = Department.getDepartment(in.getString());
+                    departmentIds[savedId] = department.getId();
+                    sameIds &= savedId == department.getId();
+                }
+                String[] genders = new String[header.genderCount()];
+                for (int i = 0; i < genders.length; i++) {
+                    genders[i] = in.getString();
+                }
+                String[] names = new String[header.nameCount()];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = in.getString();
+                }
+                in.seek(align(in.position(), Long.BYTES));
+
+                int rows = header.rows();
+                double[] salaries = new double[rows];
+                in.getDoubles(salaries);
+                int[] ids = in.getInts(rows);
+                int[] birthEpochDays = in.getInts(rows);
+                int[] rowDepartmentIds = in.getInts(rows);
+                int[] nameCodes = in.getInts(rows);
+                byte[] genderCodes = null;
+                int[] wideGenderCodes = null;
+                if (hasByteGenderCodes(genders.length)) {
+                    genderCodes = new byte[rows];
+                    in.getBytes(genderCodes);
+                } else {
+                    wideGenderCodes = in.getInts(rows);
+                }
+
+                if (!sameIds) {
+                    for (int row = 0; row < rows; row++) {
+                        rowDepartmentIds[row] = departmentIds[rowDepartmentIds[row]];
+                    }
+                }
+                for (int row = 0; row < rows; row++) {
+                    int genderCode = genderCodes != null ? genderCodes[row] : wideGenderCodes[row];
+                    if (nameCodes[row] < 0 || nameCodes[row] >= names.length
+                            || genderCode < 0 || genderCode >= genders.length) {
+                        throw new IOException("Код имени или пола вне словаря в строке " + row + ": " + snapshot);
+                    }
+                }
+
+                return new PersonTable(ids, salaries, birthEpochDays, rowDepartmentIds,
+                        genderCodes, wideGenderCodes, genders, nameCodes, names);
+
+            } catch (RuntimeException e) {
+                throw new IOException("Снимок поврежден: " + snapshot, e);
+            }
+        }
+    }
+
+    /**
+     * Читает только заголовок снимка.
+     */
+    private static Header readHeader(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (buf.hasRemaining() && channel.read(buf) > 0) {
+                // Читаем, пока заголовок не заполнен или файл не закончился
+            }
+            return Header.read(buf.flip(), snapshot);
+        }
+    }
+
+    /**
+     * Хранятся ли коды пола байтами при словаре пола из genderCount значений.
+     */
+    private static boolean hasByteGenderCodes(int genderCount) {
+        return genderCount <= PersonTable.MAX_BYTE_GENDER_CODES;
+    }
+
+    private static long align(long position, int alignment) {
+        return (position + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * Заголовок снимка.
+     */
+    private record Header(long sourceSize, long sourceModified, int rows, int departmentCount,
+                          int genderCount, int nameCount, long checksum) {
+
+        static Header read(ByteBuffer buf, Path snapshot) throws IOException {
+            if (buf.remaining() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+                throw new IOException("Файл не является снимком данных: " + snapshot);
+            }
+            int version = buf.getInt(4);
+            if (version != VERSION) {
+                throw new IOException(String.format("Неподдерживаемая версия снимка %d, ожидается %d",
+                        version, VERSION));
+            }
+            return new Header(buf.getLong(8), buf.getLong(16), buf.getInt(24), buf.getInt(28),
+                    buf.getInt(32), buf.getInt(36), buf.getLong(CHECKSUM_OFFSET));
+        }
+
+        /**
+         * Проверяет, что размеры из заголовка не отрицательны и столбцы помещаются в файл,
+         * чтобы поврежденный заголовок не приводил к выделению огромных массивов.
+         */
+        void validate(long fileSize, Path snapshot) throws IOException {
+            int genderCodeSize = hasByteGenderCodes(genderCount) ? Byte.BYTES : Integer.BYTES;
+            long columns = (long) rows * (Double.BYTES + 4L * Integer.BYTES + genderCodeSize);
+            long dictionaries = (long) departmentCount * 2 * Integer.BYTES
+                    + ((long) genderCount + nameCount) * Integer.BYTES;
+            if (rows < 0 || departmentCount < 0 || genderCount < 0 || nameCount < 0
+                    || HEADER_SIZE + columns + dictionaries > fileSize) {
+                throw new IOException("Заголовок снимка не соответствует размеру файла: " + snapshot);
+            }
+        }
+    }
+
+    /**
+     * Последовательное чтение файла через отображение окнами ограниченного размера.
+     * Позиции в файле - long, окно сдвигается, когда в нем не хватает байтов.
+     */
+    private static final class WindowReader {
+        private final FileChannel channel;
+        private final long size;
+        private final int windowSize;
+        private ByteBuffer window = ByteBuffer.allocate(0);
+        private long windowStart;
+
+        WindowReader(FileChannel channel, int windowSize) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.windowSize = windowSize;
+        }
+
+        /**
+         * Отображает фрагмент [position, position + length) отдельным буфером.
+         */
+        ByteBuffer slice(long position, int length) throws IOException {
+            length = (int) Math.min(length, Math.max(0, size - position));
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Считает CRC32C байтов от position до конца файла.
+         */
+        long checksum(long position) throws IOException {
+            CRC32C crc = new CRC32C();
+            for (long offset = position; offset < size; offset += windowSize) {
+                crc.update(slice(offset, windowSize));
+            }
+            return crc.getValue();
+        }
+
+        long position() {
+            return windowStart + window.position();
+        }
+
+        void seek(long position) throws IOException {
+            if (position >= windowStart && position <= windowStart + window.limit()) {
+                window.position((int) (position - windowStart));
+            } else {
+                map(position);
+            }
+        }
+
+        int getInt() throws IOException {
+            require(Integer.BYTES);
+            return window.getInt();
+        }
+
+        String getString() throws IOException {
+            int length = getInt();
+            if (length < 0 || length > size - position()) {
+                throw new IOException("Некорректная длина строки в снимке: " + length);
+            }
+            byte[] bytes = new byte[length];
+            getBytes(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int[] getInts(int count) throws IOException {
+            int[] values = new int[count];
+            for (int done = 0; done < count; ) {
+                require(Integer.BYTES);
+                int n = Math.min(window.remaining() / Integer.BYTES, count - done);
+                window.asIntBuffer().get(values, done, n);
+                window.position(window.position() + n * Integer.BYTES);
+                done += n;
+            }
+            return values;
+        }
+
+        void getDoubles(double[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                require(Double.BYTES);
+                int n = Math.min(window.remaining() / Double.BYTES, values.length - done);
+                window.asDoubleBuffer().get(values, done, n);
+                window.position(window.position() + n * Double.BYTES);
+                done += n;
+            }
+        }
+
+        void getBytes(byte[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                require(Byte.BYTES);
+                int n = Math.min(window.remaining(), values.length - done);
+                window.get(values, done, n);
+                done += n;
+            }
+        }
+
+        /**
+         * Сдвигает окно, если в нем осталось меньше bytes байтов.
+         */
+        private void require(int bytes) throws IOException {
+            if (window.remaining() >= bytes) {
+                return;
+            }
+            long position = position();
+            if (position + bytes > size) {
+                throw new IOException("Снимок обрезан: позиция " + position + ", размер " + size);
+            }
+            map(position);
+        }
+
+        private void map(long position) throws IOException {
+            window = slice(position, windowSize);
+            windowStart = position;
+        }
+    }
+
+    /**
+     * Буферизованная запись в канал с подсчетом CRC32C записанных байтов.
+     * Запись начинается с заданной позиции, место под заголовок остается свободным.
+     */
+    private static final class ChecksumWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long position;
+        private long written;
+
+        ChecksumWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(Byte.BYTES);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            for (byte b : bytes) {
+                putByte(b);
+            }
+        }
+
+        /**
+         * Дополняет данные нулями до границы alignment относительно начала файла.
+         */
+        void align(int alignment) throws IOException {
+            long offset = HEADER_SIZE + written + buffer.position();
+            while (offset % alignment != 0) {
+                putByte((byte) 0);
+                offset++;
+            }
+        }
+
+        /**
+         * Сбрасывает буфер и возвращает контрольную сумму всех записанных байтов.
+         */
+        long finish() throws IOException {
+            flush();
+            return crc.getValue();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                int count = channel.write(buffer, position);
+                position += count;
+                written += count;
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Колоночное хранилище данных о людях - компактная альтернатива {@code List<Person>}.
+ * Каждое поле хранится в отдельном массиве примитивов:
+ * <ul>
+ *     <li>ID сотрудников, ID подразделений и даты рождения (в днях от 01.01.1970) - в int[]</li>
+ *     <li>зарплаты - в double[]</li>
+ *     <li>пол и имя - кодами в словаре повторяющихся значений; коды пола занимают байт,
+ *     пока в словаре не больше {@link #MAX_BYTE_GENDER_CODES} значений, и int при большем словаре</li>
+ * </ul>
+ * Для совместимости с кодом, работающим с {@link Person}, доступно представление строки {@link Row}.
+ * Таблица неизменяема; для заполнения используется {@link Builder}.
+ */
+public class PersonTable {
+
+    /** Наибольший размер словаря пола, при котором коды пола хранятся в byte[] */
+    static final int MAX_BYTE_GENDER_CODES = Byte.MAX_VALUE + 1;
+
+    private final int size;
+    private final int[] ids;
+    private final double[] salaries;
+    private final int[] birthEpochDays;
+    private final int[] departmentIds;
+    /** Коды пола при небольшом словаре или null */
+    private final byte[] genderCodes;
+    /** Коды пола при словаре больше {@link #MAX_BYTE_GENDER_CODES} значений или null */
+    private final int[] wideGenderCodes;
+    private final String[] genders;
+    private final int[] nameCodes;
+    private final String[] names;
+
+    private PersonTable(Builder builder) {
+        this(Arrays.copyOf(builder.ids, builder.size),
+                Arrays.copyOf(builder.salaries, builder.size),
+                Arrays.copyOf(builder.birthEpochDays, builder.size),
+                Arrays.copyOf(builder.departmentIds, builder.size),
+                builder.genderCodes == null ? null : Arrays.copyOf(builder.genderCodes, builder.size),
+                builder.wideGenderCodes == null ? null : Arrays.copyOf(builder.wideGenderCodes, builder.size),
+                builder.genders.keySet().toArray(new String[0]),
+                Arrays.copyOf(builder.nameCodes, builder.size),
+                builder.names.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * Создает таблицу из готовых столбцов без копирования, например при загрузке {@link PersonSnapshot}.
+     * Все столбцы должны иметь одинаковую длину, а коды - указывать на элементы словарей.
+     * Из столбцов кодов пола задается ровно один: genderCodes или wideGenderCodes.
+     */
+    PersonTable(int[] ids, double[] salaries, int[] birthEpochDays, int[] departmentIds,
+                byte[] genderCodes, int[] wideGenderCodes, String[] genders, int[] nameCodes, String[] names) {
+        this.size = ids.length;
+        this.ids = ids;
+        this.salaries = salaries;
+        this.birthEpochDays = birthEpochDays;
+        this.departmentIds = departmentIds;
+        this.genderCodes = genderCodes;
+        this.wideGenderCodes = wideGenderCodes;
+        this.genders = genders;
+        this.nameCodes = nameCodes;
+        this.names = names;
+    }
+
+    /**
+     * Создает таблицу из списка людей.
+     *
+     * @param people список людей
+     * @return таблица с теми же данными в том же порядке
+     */
+    public static PersonTable fromPeople(List<Person> people) {
+        Builder builder = new Builder(people.size());
+        for (Person person : people) {
+            builder.add(person);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Читает CSV файл с диска сразу в колоночную таблицу, не создавая объектов Person.
+     * Формат файла и обработка ошибок такие же, как в {@link MappedCSVReader#readPeopleFromFile(Path)}.
+     *
+     * @param path путь к CSV файлу
+     * @return таблица с данными о людях
+     * @throws IOException если произошла ошибка при чтении файла
+     */
+    public static PersonTable readFromFile(Path path) throws IOException {
+        Builder builder = new Builder(1024);
+        MappedCSVReader.readRows(path, MappedCSVReader.DEFAULT_WINDOW_SIZE, builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Возвращает количество строк в таблице.
+     *
+     * @return количество людей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает идентификатор человека в строке row.
+     */
+    public int getId(int row) {
+        return ids[checkRow(row)];
+    }
+
+    /**
+     * Возвращает имя человека в строке row.
+     */
+    public String getName(int row) {
+        return names[nameCodes[checkRow(row)]];
+    }
+
+    /**
+     * Возвращает пол человека в строке row.
+     */
+    public String getGender(int row) {
+        return genders[genderCode(checkRow(row))];
+    }
+
+    /**
+     * Возвращает идентификатор подразделения человека в строке row.
+     */
+    public int getDepartmentId(int row) {
+        return departmentIds[checkRow(row)];
+    }
+
+    /**
+     * Возвращает подразделение человека в строке row.
+     */
+    public Department getDepartment(int row) {
+        return Department.getById(departmentIds[checkRow(row)]);
+    }
+
+    /**
+     * Возвращает зарплату человека в строке row.
+     */
+    public double getSalary(int row) {
+        return salaries[checkRow(row)];
+    }
+
+    /**
+     * Возвращает дату рождения человека в строке row как количество дней от 01.01.1970.
+     */
+    public int getBirthEpochDay(int row) {
+        return birthEpochDays[checkRow(row)];
+    }
+
+    /**
+     * Возвращает дату рождения человека в строке row.
+     */
+    public LocalDate getBirthDate(int row) {
+        return LocalDate.ofEpochDay(birthEpochDays[checkRow(row)]);
+    }
+
+    /**
+     * Возвращает код пола в строке row - индекс в {@link #genderDictionary()}.
+     */
+    int getGenderCode(int row) {
+        return genderCode(checkRow(row));
+    }
+
+    private int genderCode(int row) {
+        return genderCodes != null ? genderCodes[row] : wideGenderCodes[row];
+    }
+
+    /**
+     * Возвращает код имени в строке row - индекс в {@link #nameDictionary()}.
+     */
+    int getNameCode(int row) {
+        return nameCodes[checkRow(row)];
+    }
+
+    /**
+     * Возвращает копию словаря значений пола.
+     */
+    String[] genderDictionary() {
+        return genders.clone();
+    }
+
+    /**
+     * Возвращает копию словаря имен.
+     */
+    String[] nameDictionary() {
+        return names.clone();
+    }
+
+    /**
+     * Возвращает количество различных имен в словаре таблицы.
+     */
+    public int nameDictionarySize() {
+        return names.length;
+    }
+
+    /**
+     * Возвращает количество различных значений пола в словаре таблицы.
+     */
+    public int genderDictionarySize() {
+        return genders.length;
+    }
+
+    /**
+     * Возвращает представление строки таблицы с методами, как у {@link Person}.
+     *
+     * @param row номер строки
+     * @return представление строки
+     * @throws IndexOutOfBoundsException если номер строки вне таблицы
+     */
+    public Row row(int row) {
+        return new Row(checkRow(row));
+    }
+
+    /**
+     * Возвращает неизменяемый список представлений строк.
+     * Представления создаются при обращении, данные не копируются.
+     *
+     * @return список строк таблицы
+     */
+    public List<Row> rows() {
+        return new AbstractList<>() {
+            @Override
+            public Row get(int index) {
+                return row(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int checkRow(int row) {
+        return Objects.checkIndex(row, size);
+    }
+
+    /**
+     * Представление одной строки таблицы. Не хранит данных, кроме номера строки.
+     * Методы совпадают по смыслу с одноименными методами {@link Person}.
+     */
+    public final class Row {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        /** Возвращает идентификатор человека. */
+        public int getId() {
+            return ids[row];
+        }
+
+        /** Возвращает имя человека. */
+        public String getName() {
+            return names[nameCodes[row]];
+        }
+
+        /** Возвращает пол человека. */
+        public String getGender() {
+            return genders[genderCode(row)];
+        }
+
+        /** Возвращает подразделение, в котором работает человек. */
+        public Department getDepartment() {
+            return Department.getById(departmentIds[row]);
+        }
+
+        /** Возвращает зарплату человека. */
+        public double getSalary() {
+            return salaries[row];
+        }
+
+        /** Возвращает дату рождения человека. */
+        public LocalDate getBirthDate() {
+            return LocalDate.ofEpochDay(birthEpochDays[row]);
+        }
+
+        /** Возвращает возраст человека в годах на сегодняшнюю дату. */
+        public int getAge() {
+            return getAge(AgeCalculator.today());
+        }
+
+        /** Возвращает возраст человека в годах на дату отсчета калькулятора. */
+        public int getAge(AgeCalculator ages) {
+            return ages.ageAt(birthEpochDays[row]);
+        }
+
+        /**
+         * Создает полноценный объект Person с данными этой строки.
+         *
+         * @return объект Person
+         */
+        public Person toPerson() {
+            return new Person(getId(), getName(), getGender(), getBirthDate(), getDepartment(), getSalary());
+        }
+
+        @Override
+        public String toString() {
+            return toPerson().toString();
+        }
+    }
+
+    /**
+     * Построитель таблицы: накапливает строки в растущих массивах и словарях.
+     * Не потокобезопасен.
+     */
+    public static final class Builder {
+        private int size;
+        private int[] ids;
+        private double[] salaries;
+        private int[] birthEpochDays;
+        private int[] departmentIds;
+        private byte[] genderCodes;
+        private int[] wideGenderCodes;
+        private int[] nameCodes;
+
+        /** Словари значений; порядок вставки задает код значения */
+        private final Map<String, Integer> genders = new LinkedHashMap<>();
+        private final Map<String, Integer> names = new LinkedHashMap<>();
+
+        /**
+         * @param expectedSize ожидаемое количество строк
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new int[capacity];
+            salaries = new double[capacity];
+            birthEpochDays = new int[capacity];
+            departmentIds = new int[capacity];
+            genderCodes = new byte[capacity];
+            nameCodes = new int[capacity];
+        }
+
+        /**
+         * Добавляет строку с данными человека.
+         *
+         * @param person человек
+         * @return этот построитель
+         */
+        public Builder add(Person person) {
+            return add(person.getId(), person.getName(), person.getGender(),
+                    Math.toIntExact(person.getBirthDate().toEpochDay()),
+                    person.getDepartment(), person.getSalary());
+        }
+
+        /**
+         * Добавляет строку, проверяя значения так же, как конструктор {@link Person}.
+         *
+         * @param birthDateStr строка с датой рождения в формате "dd.MM.yyyy"
+         * @return этот построитель
+         * @throws IllegalArgumentException если параметры некорректны
+         * @throws DateTimeParseException если не удалось распарсить дату рождения
+         */
+        public Builder add(int id, String name, String gender, String birthDateStr,
+                           Department department, double salary) {
+            Person.validateParameters(id, name, gender, !Person.isBlank(birthDateStr), department, salary);
+            int epochDay = Math.toIntExact(Person.parseBirthDate(birthDateStr).toEpochDay());
+            return add(id, name.trim(), gender.trim(), epochDay, department, salary);
+        }
+
+        /**
+         * Добавляет строку с уже разобранной датой рождения.
+         *
+         * @param birthDate дата рождения или null, если поле было пустым
+         * @return этот построитель
+         * @throws IllegalArgumentException если параметры некорректны
+         */
+        Builder add(int id, String name, String gender, LocalDate birthDate,
+                    Department department, double salary) {
+            Person.validateParameters(id, name, gender, birthDate != null, department, salary);
+            return add(id, name.trim(), gender.trim(), Math.toIntExact(birthDate.toEpochDay()), department, salary);
+        }
+
+        private Builder add(int id, String name, String gender, int birthEpochDay,
+                            Department department, double salary) {
+            if (size == ids.length) {
+                grow();
+            }
+            int genderCode = code(genders, gender);
+            if (genderCode >= MAX_BYTE_GENDER_CODES && wideGenderCodes == null) {
+                widenGenderCodes();
+            }
+
+            ids[size] = id;
+            salaries[size] = salary;
+            birthEpochDays[size] = birthEpochDay;
+            departmentIds[size] = department.getId();
+            if (wideGenderCodes != null) {
+                wideGenderCodes[size] = genderCode;
+            } else {
+                genderCodes[size] = (byte) genderCode;
+            }
+            nameCodes[size] = code(names, name);
+            size++;
+            return this;
+        }
+
+        private static int code(Map<String, Integer> dictionary, String value) {
+            Integer code = dictionary.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.put(value, code);
+            }
+            return code;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            birthEpochDays = Arrays.copyOf(birthEpochDays, capacity);
+            departmentIds = Arrays.copyOf(departmentIds, capacity);
+            if (wideGenderCodes != null) {
+                wideGenderCodes = Arrays.copyOf(wideGenderCodes, capacity);
+            } else {
+                genderCodes = Arrays.copyOf(genderCodes, capacity);
+            }
+            nameCodes = Arrays.copyOf(nameCodes, capacity);
+        }
+
+        /**
+         * Переводит коды пола в int[], когда словарь перестает помещаться в байт.
+         */
+        private void widenGenderCodes() {
+            wideGenderCodes = new int[ids.length];
+            for (int i = 0; i < size; i++) {
+                wideGenderCodes[i] = genderCodes[i];
+            }
+            genderCodes = null;
+        }
+
+        /**
+         * Создает таблицу из накопленных строк.
+         *
+         * @return неизменяемая таблица
+         */
+        public PersonTable build() {
+            return new PersonTable(this);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example;
+
+/**
+ * Однопроходное разбиение строки по RFC 4180.
+ * <p>
+ * Строка без кавычек разбивается поиском разделителя и подстроками, без промежуточных буферов.
+ * В строке с кавычками поле, начинающееся с '"', продолжается до парной кавычки и может
+ * содержать ';'; удвоенная кавычка внутри поля означает саму кавычку. Символы после
+ * закрывающей кавычки до разделителя добавляются к полю, кавычка в середине поля
+ * без кавычек считается обычным символом. Поля в кавычках собираются в одном буфере,
+ * который переиспользуется для всех строк.
+ */
+final class QuoteAwareTokenizer implements RowTokenizer {
+
+    private static final char QUOTE = '"';
+
+    private final StringBuilder field = new StringBuilder();
+
+    @Override
+    public int tokenize(String line, String[] fields) {
+        return line.indexOf(QUOTE) < 0 ? tokenizeSimple(line, fields) : tokenizeQuoted(line, fields);
+    }
+
+    private static int tokenizeSimple(String line, String[] fields) {
+        int count = 0;
+        int nonEmpty = 0;
+        int start = 0;
+        while (true) {
+            int end = line.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = line.length();
+            }
+            if (count < fields.length) {
+                fields[count] = line.substring(start, end);
+            }
+            count++;
+            if (end > start) {
+                nonEmpty = count;
+            }
+            if (end == line.length()) {
+                return nonEmpty;
+            }
+            start = end + 1;
+        }
+    }
+
+    private int tokenizeQuoted(String line, String[] fields) {
+        int length = line.length();
+        int count = 0;
+        int nonEmpty = 0;
+        int pos = 0;
+        while (true) {
+            field.setLength(0);
+            boolean quoted = pos < length && line.charAt(pos) == QUOTE;
+            if (quoted) {
+                pos = readQuoted(line, pos + 1, count);
+            }
+
+            int end = line.indexOf(SEPARATOR, pos);
+            if (end < 0) {
+                end = length;
+            }
+            field.append(line, pos, end);
+            if (count < fields.length) {
+                fields[count] = field.toString();
+            }
+            count++;
+            if (!field.isEmpty()) {
+                nonEmpty = count;
+            }
+            if (end == length) {
+                return nonEmpty;
+            }
+            pos = end + 1;
+        }
+    }
+
+    /**
+     * Читает содержимое поля в кавычках в буфер.
+     *
+     * @param pos позиция сразу после открывающей кавычки
+     * @return позиция сразу после закрывающей кавычки
+     */
+    private int readQuoted(String line, int pos, int fieldIndex) {
+        int length = line.length();
+        while (pos < length) {
+            int quote = line.indexOf(QUOTE, pos);
+            if (quote < 0) {
+                break;
+            }
+            field.append(line, pos, quote);
+            if (quote + 1 < length && line.charAt(quote + 1) == QUOTE) {
+                field.append(QUOTE);
+                pos = quote + 2;
+            } else {
+                return quote + 1;
+            }
+        }
+        throw new InvalidFieldException(ParseErrorCause.OTHER, fieldIndex, "Незакрытая кавычка");
+    }
+}
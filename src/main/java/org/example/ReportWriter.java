@@ -0,0 +1,544 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Быстрый вывод списка сотрудников в файл или на стандартный вывод.
+ * <p>
+ * Каждая строка собирается в переиспользуемом массиве символов без {@code String.format},
+ * кодируется в общий буфер (в UTF-8 для файлов, в кодировке {@link System#out} для стандартного
+ * вывода) и записывается в канал крупными блоками.
+ * Возраст вычисляется на одну дату отсчета, заданную при создании.
+ * Поддерживаются форматы:
+ * <ul>
+ *     <li>{@link Format#TABLE} - таблица с выравниванием, как в {@link Person#toString()}</li>
+ *     <li>{@link Format#CSV} - формат data.csv с заголовком, поля с ';' и кавычками экранируются
+ *     по RFC 4180, файл можно прочитать снова</li>
+ *     <li>{@link Format#JSON_LINES} - один JSON объект на строку</li>
+ * </ul>
+ * Не потокобезопасен.
+ */
+public final class ReportWriter implements Closeable, Flushable {
+
+    /**
+     * Формат вывода.
+     */
+    public enum Format {
+        TABLE, CSV, JSON_LINES
+    }
+
+    /** Размер буфера вывода по умолчанию */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 18;
+
+    private static final String CSV_HEADER = "id;name;gender;BirthDate;Division;Salary";
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    /** Поток под каналом, который нужно сбрасывать после записи, или null */
+    private final Flushable sink;
+    private final Format format;
+    private final ByteBuffer out;
+    private final CharsetEncoder encoder;
+
+    // Возраст на дату отсчета
+    private final AgeCalculator ages;
+
+    /** Текущая строка */
+    private char[] chars = new char[256];
+    private CharBuffer charView = CharBuffer.wrap(chars);
+    private int length;
+
+    private long rowCount;
+    private boolean headerPending;
+    private boolean closed;
+
+    /**
+     * Создает писатель поверх канала.
+     *
+     * @param channel канал для записи
+     * @param closeChannel закрывать ли канал в {@link #close()}
+     * @param format формат вывода
+     * @param referenceDate дата, на которую вычисляется возраст
+     * @param bufferSize размер буфера вывода в байтах
+     */
+    ReportWriter(WritableByteChannel channel, boolean closeChannel, Format format,
+                 LocalDate referenceDate, int bufferSize) {
+        this(channel, closeChannel, null, StandardCharsets.UTF_8, format, referenceDate, bufferSize);
+    }
+
+    private ReportWriter(WritableByteChannel channel, boolean closeChannel, Flushable sink, Charset charset,
+                         Format format, LocalDate referenceDate, int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Размер буфера слишком мал: " + bufferSize);
+        }
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.sink = sink;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.format = format;
+        this.out = ByteBuffer.allocateDirect(bufferSize);
+        this.ages = AgeCalculator.of(referenceDate);
+        this.headerPending = format == Format.CSV;
+    }
+
+    /**
+     * Создает писатель в файл. Существующий файл перезаписывается.
+     *
+     * @param path путь к файлу
+     * @param format формат вывода
+     * @param referenceDate дата, на которую вычисляется возраст
+     * @return писатель, который нужно закрыть после вывода
+     * @throws IOException если файл не может быть открыт
+     */
+    public static ReportWriter toFile(Path path, Format format, LocalDate referenceDate) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new ReportWriter(channel, true, format, referenceDate, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Создает писатель на стандартный вывод через текущий {@link System#out} в его кодировке
+     * ({@link java.io.PrintStream#charset()}). Строки попадают в System.out в порядке вызовов,
+     * в том числе если System.out был заменен через {@link System#setOut}.
+     * {@link #close()} только сбрасывает буфер, стандартный вывод остается открытым.
+     *
+     * @param format формат вывода
+     * @param referenceDate дата, на которую вычисляется возраст
+     * @return писатель
+     */
+    public static ReportWriter toStdout(Format format, LocalDate referenceDate) {
+        return toStream(System.out, System.out.charset(), format, referenceDate);
+    }
+
+    /**
+     * Создает писатель в поток вызывающего кода. После каждого сброса буфера поток
+     * также сбрасывается; {@link #close()} поток не закрывает.
+     *
+     * @param stream поток для записи
+     * @param charset кодировка вывода
+     * @param format формат вывода
+     * @param referenceDate дата, на которую вычисляется возраст
+     * @return писатель
+     */
+    public static ReportWriter toStream(OutputStream stream, Charset charset, Format format,
+                                        LocalDate referenceDate) {
+        return new ReportWriter(Channels.newChannel(stream), false, stream, charset, format,
+                referenceDate, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Выводит одного сотрудника.
+     *
+     * @param person сотрудник
+     * @throws IOException если запись в канал не удалась
+     */
+    public void write(Person person) throws IOException {
+        writeRow(person.getId(), person.getName(), person.getGender(), person.getBirthDate(),
+                person.getDepartment(), person.getSalary());
+    }
+
+    /**
+     * Выводит строку таблицы без создания объекта Person.
+     *
+     * @param table колоночная таблица
+     * @param row номер строки
+     * @throws IOException если запись в канал не удалась
+     */
+    public void write(PersonTable table, int row) throws IOException {
+        writeRow(table.getId(row), table.getName(row), table.getGender(row), table.getBirthDate(row),
+                table.getDepartment(row), table.getSalary(row));
+    }
+
+    /**
+     * Выводит все строки таблицы.
+     *
+     * @param table колоночная таблица
+     * @throws IOException если запись в канал не удалась
+     */
+    public void writeAll(PersonTable table) throws IOException {
+        for (int row = 0; row < table.size(); row++) {
+            write(table, row);
+        }
+    }
+
+    /**
+     * Возвращает количество выведенных строк с данными.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Возвращает дату, на которую вычисляется возраст.
+     */
+    public LocalDate getReferenceDate() {
+        return ages.getReferenceDate();
+    }
+
+    /**
+     * Записывает накопленный буфер в канал.
+     *
+     * @throws IOException если запись в канал не удалась
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+        if (sink != null) {
+            sink.flush();
+        }
+    }
+
+    /**
+     * Сбрасывает буфер и закрывает канал, если писатель им владеет.
+     *
+     * @throws IOException если запись или закрытие не удались
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeHeaderIfPending();
+            flush();
+        } finally {
+            if (closeChannel) {
+                channel.close();
+            }
+        }
+    }
+
+    private void writeRow(int id, String name, String gender, LocalDate birthDate,
+                          Department department, double salary) throws IOException {
+        if (closed) {
+            throw new IOException("Вывод уже закрыт");
+        }
+        writeHeaderIfPending();
+        length = 0;
+        switch (format) {
+            case TABLE -> appendTableRow(id, name, gender, birthDate, department, salary);
+            case CSV -> appendCsvRow(id, name, gender, birthDate, department, salary);
+            case JSON_LINES -> appendJsonRow(id, name, gender, birthDate, department, salary);
+        }
+        append('\n');
+        encodeLine();
+        rowCount++;
+    }
+
+    /**
+     * Выводит заголовок CSV перед первой строкой или при закрытии пустого вывода.
+     */
+    private void writeHeaderIfPending() throws IOException {
+        if (headerPending) {
+            headerPending = false;
+            length = 0;
+            append(CSV_HEADER);
+            append('\n');
+            encodeLine();
+        }
+    }
+
+    /**
+     * Та же раскладка, что и у {@link Person#toString()}:
+     * {@code "ID: %-6d Имя: %-15s Пол: %-8s Отдел: %-15s Зарплата: %8.2f Дата рождения: %s Возраст: %d"}.
+     * Разделитель дробной части зарплаты всегда точка.
+     */
+    private void appendTableRow(int id, String name, String gender, LocalDate birthDate,
+                                Department department, double salary) {
+        int start;
+        append("ID: ");
+        start = length;
+        appendInt(id);
+        pad(start, 6);
+        append(" Имя: ");
+        start = length;
+        append(name);
+        pad(start, 15);
+        append(" Пол: ");
+        start = length;
+        append(gender);
+        pad(start, 8);
+        append(" Отдел: ");
+        start = length;
+        append(department.getName());
+        pad(start, 15);
+        append(" Зарплата: ");
+        appendSalaryRightAligned(salary, 8);
+        append(" Дата рождения: ");
+        appendTwoDigits(birthDate.getDayOfMonth());
+        append('.');
+        appendTwoDigits(birthDate.getMonthValue());
+        append('.');
+        appendYear(birthDate.getYear());
+        append(" Возраст: ");
+        appendInt(ages.age(birthDate));
+    }
+
+    /**
+     * Строка в формате data.csv; зарплата записывается без потери точности.
+     */
+    private void appendCsvRow(int id, String name, String gender, LocalDate birthDate,
+                              Department department, double salary) {
+        appendInt(id);
+        append(';');
+        appendCsvField(name);
+        append(';');
+        appendCsvField(gender);
+        append(';');
+        appendTwoDigits(birthDate.getDayOfMonth());
+        append('.');
+        appendTwoDigits(birthDate.getMonthValue());
+        append('.');
+        appendYear(birthDate.getYear());
+        append(';');
+        appendCsvField(department.getName());
+        append(';');
+        appendNumber(salary);
+    }
+
+    /**
+     * Поле CSV по RFC 4180: значение с ';', '"', CR или LF заключается в кавычки,
+     * кавычки внутри удваиваются. Остальные значения выводятся как есть.
+     */
+    private void appendCsvField(String value) {
+        if (!needsQuotes(value)) {
+            append(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == RowTokenizer.SEPARATOR || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JSON объект; дата рождения в формате ISO (yyyy-MM-dd).
+     */
+    private void appendJsonRow(int id, String name, String gender, LocalDate birthDate,
+                               Department department, double salary) {
+        append("{\"id\":");
+        appendInt(id);
+        append(",\"name\":");
+        appendJsonString(name);
+        append(",\"gender\":");
+        appendJsonString(gender);
+        append(",\"birthDate\":\"");
+        appendYear(birthDate.getYear());
+        append('-');
+        appendTwoDigits(birthDate.getMonthValue());
+        append('-');
+        appendTwoDigits(birthDate.getDayOfMonth());
+        append("\",\"department\":");
+        appendJsonString(department.getName());
+        append(",\"departmentId\":");
+        appendInt(department.getId());
+        append(",\"salary\":");
+        appendNumber(salary);
+        append(",\"age\":");
+        appendInt(ages.age(birthDate));
+        append('}');
+    }
+
+    /**
+     * Кодирует текущую строку в буфер вывода, при переполнении сбрасывая буфер в канал.
+     */
+    private void encodeLine() throws IOException {
+        CharBuffer in = charView.limit(length).position(0);
+        while (true) {
+            CoderResult result = encoder.encode(in, out, true);
+            if (result.isOverflow()) {
+                flush();
+            } else {
+                break;
+            }
+        }
+        encoder.reset();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + extra));
+            charView = CharBuffer.wrap(chars);
+        }
+    }
+
+    private void append(char c) {
+        ensureCapacity(1);
+        chars[length++] = c;
+    }
+
+    private void append(String s) {
+        int count = s.length();
+        ensureCapacity(count);
+        s.getChars(0, count, chars, length);
+        length += count;
+    }
+
+    /**
+     * Дополняет пробелами справа значение, начавшееся с позиции start, до ширины width.
+     */
+    private void pad(int start, int width) {
+        int spaces = width - (length - start);
+        if (spaces > 0) {
+            ensureCapacity(spaces);
+            Arrays.fill(chars, length, length + spaces, ' ');
+            length += spaces;
+        }
+    }
+
+    private void appendInt(long value) {
+        if (value < 0) {
+            append('-');
+            if (value == Long.MIN_VALUE) {
+                append("9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void appendTwoDigits(int value) {
+        ensureCapacity(2);
+        chars[length++] = (char) ('0' + value / 10);
+        chars[length++] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Год из четырех цифр с ведущими нулями, как в шаблоне yyyy.
+     */
+    private void appendYear(int year) {
+        if (year >= 0 && year <= 9999) {
+            appendTwoDigits(year / 100);
+            appendTwoDigits(year % 100);
+        } else {
+            appendInt(year);
+        }
+    }
+
+    /**
+     * Зарплата с двумя знаками после точки, выровненная вправо, как {@code %8.2f}.
+     */
+    private void appendSalaryRightAligned(double salary, int width) {
+        int start = length;
+        appendFixed2(salary);
+        int written = length - start;
+        if (written < width) {
+            int spaces = width - written;
+            ensureCapacity(spaces);
+            System.arraycopy(chars, start, chars, start + spaces, written);
+            Arrays.fill(chars, start, start + spaces, ' ');
+            length += spaces;
+        }
+    }
+
+    /**
+     * Число с двумя знаками после точки. Округление HALF_UP по кратчайшему десятичному
+     * представлению, как у {@link java.util.Formatter}; близкие к середине значения
+     * и очень большие числа округляются через BigDecimal.
+     */
+    private void appendFixed2(double value) {
+        double scaled = value * 100;
+        double fraction = Math.abs(scaled - Math.rint(scaled));
+        if (!Double.isFinite(value) || Math.abs(scaled) >= 1e15 || Math.abs(fraction - 0.5) < 1e-6) {
+            if (Double.isFinite(value)) {
+                append(new BigDecimal(Double.toString(value)).setScale(2, RoundingMode.HALF_UP).toPlainString());
+            } else {
+                append(Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity");
+            }
+            return;
+        }
+        long cents = Math.round(Math.abs(scaled));
+        if (value < 0 && cents != 0) {
+            append('-');
+        }
+        appendInt(cents / 100);
+        append('.');
+        appendTwoDigits((int) (cents % 100));
+    }
+
+    /**
+     * Целые значения выводятся без дробной части, остальные - кратчайшим представлением double.
+     */
+    private void appendNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            appendInt((long) value);
+        } else {
+            append(Double.toString(value));
+        }
+    }
+
+    private void appendJsonString(String s) {
+        append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> append("\\\"");
+                case '\\' -> append("\\\\");
+                case '\n' -> append("\\n");
+                case '\r' -> append("\\r");
+                case '\t' -> append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        append("\\u00");
+                        append(Character.forDigit(c >> 4, 16));
+                        append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        append(c);
+                    }
+                }
+            }
+        }
+        append('"');
+    }
+}
@@ -0,0 +1,47 @@
+package org.example;
+
+/**
+ * Разбиение строки CSV на поля по разделителю ';'.
+ * <p>
+ * Реализации хранят внутренние буферы между вызовами и не потокобезопасны:
+ * каждому читателю нужен свой экземпляр.
+ */
+public interface RowTokenizer {
+
+    /** Разделитель полей */
+    char SEPARATOR = ';';
+
+    /**
+     * Разбивает строку на поля и записывает первые fields.length полей в массив.
+     * Как и в {@link String#split(String)}, пустые поля в конце строки не считаются.
+     *
+     * @param line строка без перевода строки
+     * @param fields массив для полей; значения за пределами возвращенного количества не определены
+     * @return количество полей в строке
+     * @throws InvalidFieldException если строку нельзя разобрать, например из-за незакрытой кавычки
+     */
+    int tokenize(String line, String[] fields);
+
+    /**
+     * Возвращает разбиение через {@code String.split(";")}, как до появления этого интерфейса.
+     * Кавычки не поддерживаются: ';' внутри поля в кавычках разбивает поле.
+     */
+    static RowTokenizer split() {
+        return new SplitTokenizer();
+    }
+
+    /**
+     * Возвращает разбиение по RFC 4180 с помощью opencsv.
+     */
+    static RowTokenizer openCsv() {
+        return new OpenCsvTokenizer();
+    }
+
+    /**
+     * Возвращает однопроходное разбиение по RFC 4180. Строки без кавычек
+     * разбиваются быстрым путем, поля в кавычках собираются в общем буфере.
+     */
+    static RowTokenizer quoteAware() {
+        return new QuoteAwareTokenizer();
+    }
+}
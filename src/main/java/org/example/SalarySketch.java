@@ -0,0 +1,131 @@
+package org.example;
+
+/**
+ * Компактная гистограмма для приближенного вычисления процентилей зарплаты.
+ * Значения раскладываются по логарифмическим корзинам, поэтому оценка любого
+ * процентиля отличается от точного значения не более чем на {@link #RELATIVE_ACCURACY}.
+ * Гистограммы можно объединять, что позволяет считать процентили по частям параллельно.
+ * Не потокобезопасна.
+ */
+public final class SalarySketch {
+
+    /** Относительная точность оценки процентиля (1%) */
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    /** Отношение границ соседних корзин */
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    /** Значения не больше этого порога считаются нулевыми */
+    private static final double MIN_POSITIVE = 1e-9;
+
+    /** Количество значений в корзинах; counts[i] относится к корзине с индексом offset + i */
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long totalCount;
+
+    /**
+     * Добавляет значение.
+     *
+     * @param value неотрицательное конечное значение
+     * @throws IllegalArgumentException если значение бесконечно или NaN
+     */
+    public void add(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Значение должно быть конечным числом: " + value);
+        }
+        totalCount++;
+        if (value <= MIN_POSITIVE) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+        ensureIndex(index);
+        counts[index - offset]++;
+    }
+
+    /**
+     * Добавляет к этой гистограмме все значения другой.
+     *
+     * @param other гистограмма для объединения
+     */
+    public void merge(SalarySketch other) {
+        if (other.counts.length > 0) {
+            ensureIndex(other.offset);
+            ensureIndex(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * Возвращает количество добавленных значений.
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Возвращает оценку процентиля.
+     *
+     * @param quantile доля от 0 до 1, например 0.95 для 95-го процентиля
+     * @return оценка значения или NaN, если значений нет
+     * @throws IllegalArgumentException если доля вне диапазона [0, 1]
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Доля должна быть в диапазоне [0, 1]: " + quantile);
+        }
+        if (totalCount == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) (quantile * (totalCount - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return 2 * Math.pow(GAMMA, offset + i) / (GAMMA + 1);
+            }
+        }
+        return 2 * Math.pow(GAMMA, offset + counts.length - 1) / (GAMMA + 1);
+    }
+
+    /**
+     * Расширяет массив корзин так, чтобы он содержал корзину index.
+     */
+    private void ensureIndex(int index) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            offset = index - counts.length / 2;
+            return;
+        }
+        if (index >= offset && index < offset + counts.length) {
+            return;
+        }
+
+        int newOffset = Math.min(offset, index);
+        int newEnd = Math.max(offset + counts.length, index + 1);
+
+        // Запас в сторону роста, чтобы не расширять массив на каждом новом значении
+        int slack = Math.max(8, (newEnd - newOffset) / 2);
+        if (index < offset) {
+            newOffset -= slack;
+        } else {
+            newEnd += slack;
+        }
+
+        long[] grown = new long[newEnd - newOffset];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+}
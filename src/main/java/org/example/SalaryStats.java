@@ -0,0 +1,124 @@
+package org.example;
+
+/**
+ * Статистика зарплат группы сотрудников: количество, сумма, минимум, максимум,
+ * среднее и приближенные процентили. Накапливается за один проход,
+ * частичные результаты объединяются методом {@link #merge(SalaryStats)}.
+ * Не потокобезопасна.
+ */
+public final class SalaryStats {
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final SalarySketch sketch = new SalarySketch();
+
+    /**
+     * Учитывает зарплату одного сотрудника.
+     *
+     * @param salary зарплата
+     */
+    public void add(double salary) {
+        count++;
+        sum += salary;
+        min = Math.min(min, salary);
+        max = Math.max(max, salary);
+        sketch.add(salary);
+    }
+
+    /**
+     * Добавляет к этой статистике другую, например посчитанную в другом потоке.
+     *
+     * @param other статистика для объединения
+     */
+    public void merge(SalaryStats other) {
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sketch.merge(other.sketch);
+    }
+
+    /**
+     * Возвращает независимую копию статистики вместе с корзинами оценки процентилей.
+     */
+    SalaryStats copy() {
+        SalaryStats copy = new SalaryStats();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Возвращает количество сотрудников.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Возвращает сумму зарплат.
+     */
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Возвращает минимальную зарплату или NaN, если сотрудников нет.
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * Возвращает максимальную зарплату или NaN, если сотрудников нет.
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Возвращает среднюю зарплату или NaN, если сотрудников нет.
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * Возвращает оценку процентиля зарплаты с точностью {@link SalarySketch#RELATIVE_ACCURACY}.
+     * Оценка не выходит за пределы минимума и максимума.
+     *
+     * @param quantile доля от 0 до 1
+     * @return оценка или NaN, если сотрудников нет
+     */
+    public double getPercentile(double quantile) {
+        double estimate = sketch.quantile(quantile);
+        return count == 0 ? Double.NaN : Math.max(min, Math.min(max, estimate));
+    }
+
+    /**
+     * Возвращает оценку медианы зарплаты.
+     */
+    public double getP50() {
+        return getPercentile(0.50);
+    }
+
+    /**
+     * Возвращает оценку 95-го процентиля зарплаты.
+     */
+    public double getP95() {
+        return getPercentile(0.95);
+    }
+
+    /**
+     * Возвращает оценку 99-го процентиля зарплаты.
+     */
+    public double getP99() {
+        return getPercentile(0.99);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d sum=%.2f min=%.2f max=%.2f avg=%.2f p50=%.2f p95=%.2f p99=%.2f",
+                count, sum, getMin(), getMax(), getMean(), getP50(), getP95(), getP99());
+    }
+}
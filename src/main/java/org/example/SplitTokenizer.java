@@ -0,0 +1,16 @@
+package org.example;
+
+/**
+ * Разбиение строки через {@link String#split(String)} без поддержки кавычек.
+ */
+final class SplitTokenizer implements RowTokenizer {
+
+    private static final String SEPARATOR_STRING = String.valueOf(SEPARATOR);
+
+    @Override
+    public int tokenize(String line, String[] fields) {
+        String[] parts = line.split(SEPARATOR_STRING);
+        System.arraycopy(parts, 0, fields, 0, Math.min(parts.length, fields.length));
+        return parts.length;
+    }
+}
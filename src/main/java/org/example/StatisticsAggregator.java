@@ -0,0 +1,201 @@
+package org.example;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Агрегатор зарплат за один проход: количество, сумма, минимум, максимум, среднее
+ * и процентили p50/p95/p99 - в целом, по подразделениям, полу и возрастным группам.
+ * Статистика подразделений хранится в массиве по плотному ID подразделения,
+ * а частичные результаты разных потоков объединяются, поэтому агрегацию
+ * можно выполнять на параллельном потоке.
+ */
+public final class StatisticsAggregator {
+
+    /** Ширина возрастной группы по умолчанию */
+    public static final int DEFAULT_AGE_BAND_WIDTH = 10;
+
+    private final AgeCalculator ages;
+    private final int ageBandWidth;
+
+    private final SalaryStats total = new SalaryStats();
+    private SalaryStats[] byDepartmentId = new SalaryStats[Department.maxId() + 1];
+    private final Map<String, SalaryStats> byGender = new HashMap<>();
+    private final Map<Integer, SalaryStats> byAgeBand = new HashMap<>();
+
+    /**
+     * Создает пустой агрегатор.
+     *
+     * @param referenceDate дата, на которую вычисляется возраст
+     * @param ageBandWidth ширина возрастной группы в годах
+     * @throws IllegalArgumentException если ширина группы не положительна
+     */
+    public StatisticsAggregator(LocalDate referenceDate, int ageBandWidth) {
+        this(AgeCalculator.of(referenceDate), ageBandWidth);
+    }
+
+    /**
+     * Создает пустой агрегатор с готовым калькулятором возраста, который можно
+     * разделить между агрегаторами частей одного потока.
+     *
+     * @param ages калькулятор возраста на дату отсчета
+     * @param ageBandWidth ширина возрастной группы в годах
+     * @throws IllegalArgumentException если ширина группы не положительна
+     */
+    public StatisticsAggregator(AgeCalculator ages, int ageBandWidth) {
+        if (ageBandWidth <= 0) {
+            throw new IllegalArgumentException("Ширина возрастной группы должна быть положительной");
+        }
+        this.ages = ages;
+        this.ageBandWidth = ageBandWidth;
+    }
+
+    /**
+     * Агрегирует поток людей. Если поток параллельный, части агрегируются
+     * в разных потоках и затем объединяются.
+     *
+     * @param people поток людей
+     * @return результат агрегации на сегодняшнюю дату
+     */
+    public static StatisticsReport aggregate(Stream<Person> people) {
+        return people.collect(collector(AgeCalculator.today(), DEFAULT_AGE_BAND_WIDTH));
+    }
+
+    /**
+     * Агрегирует колоночную таблицу, читая только нужные столбцы.
+     *
+     * @param table таблица с данными о людях
+     * @param parallel агрегировать ли части таблицы параллельно
+     * @return результат агрегации на сегодняшнюю дату
+     */
+    public static StatisticsReport aggregate(PersonTable table, boolean parallel) {
+        AgeCalculator ages = AgeCalculator.today();
+        IntStream rows = IntStream.range(0, table.size());
+        if (parallel) {
+            rows = rows.parallel();
+        }
+        return rows.collect(
+                () -> new StatisticsAggregator(ages, DEFAULT_AGE_BAND_WIDTH),
+                (aggregator, row) -> aggregator.add(table.getDepartmentId(row), table.getGender(row),
+                        table.getBirthEpochDay(row), table.getSalary(row)),
+                StatisticsAggregator::merge
+        ).toReport();
+    }
+
+    /**
+     * Возвращает коллектор, который агрегирует людей в {@link StatisticsReport}.
+     *
+     * @param referenceDate дата, на которую вычисляется возраст
+     * @param ageBandWidth ширина возрастной группы в годах
+     * @return коллектор для обычных и параллельных потоков
+     */
+    public static Collector<Person, StatisticsAggregator, StatisticsReport> collector(LocalDate referenceDate,
+                                                                                      int ageBandWidth) {
+        return collector(AgeCalculator.of(referenceDate), ageBandWidth);
+    }
+
+    /**
+     * Возвращает коллектор, который агрегирует людей в {@link StatisticsReport}.
+     * Калькулятор возраста общий для агрегаторов всех частей потока.
+     *
+     * @param ages калькулятор возраста на дату отсчета
+     * @param ageBandWidth ширина возрастной группы в годах
+     * @return коллектор для обычных и параллельных потоков
+     */
+    public static Collector<Person, StatisticsAggregator, StatisticsReport> collector(AgeCalculator ages,
+                                                                                      int ageBandWidth) {
+        return Collector.of(
+                () -> new StatisticsAggregator(ages, ageBandWidth),
+                StatisticsAggregator::add,
+                StatisticsAggregator::merge,
+                StatisticsAggregator::toReport,
+                Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * Учитывает одного сотрудника.
+     *
+     * @param person сотрудник
+     */
+    public void add(Person person) {
+        add(person.getDepartment().getId(), person.getGender(), person.getBirthDate().toEpochDay(),
+                person.getSalary());
+    }
+
+    private void add(int departmentId, String gender, long birthEpochDay, double salary) {
+        total.add(salary);
+
+        if (departmentId >= byDepartmentId.length) {
+            byDepartmentId = Arrays.copyOf(byDepartmentId, Math.max(departmentId + 1, Department.maxId() + 1));
+        }
+        SalaryStats department = byDepartmentId[departmentId];
+        if (department == null) {
+            department = new SalaryStats();
+            byDepartmentId[departmentId] = department;
+        }
+        department.add(salary);
+
+        byGender.computeIfAbsent(gender, key -> new SalaryStats()).add(salary);
+
+        int band = Math.floorDiv(ages.ageAt(birthEpochDay), ageBandWidth) * ageBandWidth;
+        byAgeBand.computeIfAbsent(band, key -> new SalaryStats()).add(salary);
+    }
+
+    /**
+     * Добавляет к этому агрегатору результаты другого.
+     *
+     * @param other агрегатор с той же датой отсчета и шириной группы
+     * @return этот агрегатор
+     */
+    public StatisticsAggregator merge(StatisticsAggregator other) {
+        total.merge(other.total);
+
+        if (other.byDepartmentId.length > byDepartmentId.length) {
+            byDepartmentId = Arrays.copyOf(byDepartmentId, other.byDepartmentId.length);
+        }
+        for (int id = 0; id < other.byDepartmentId.length; id++) {
+            SalaryStats stats = other.byDepartmentId[id];
+            if (stats != null) {
+                if (byDepartmentId[id] == null) {
+                    byDepartmentId[id] = new SalaryStats();
+                }
+                byDepartmentId[id].merge(stats);
+            }
+        }
+
+        other.byGender.forEach((gender, stats) -> byGender.computeIfAbsent(gender, key -> new SalaryStats()).merge(stats));
+        other.byAgeBand.forEach((band, stats) -> byAgeBand.computeIfAbsent(band, key -> new SalaryStats()).merge(stats));
+        return this;
+    }
+
+    /**
+     * Возвращает результат агрегации.
+     * Отчет получает копии накопленной статистики, поэтому дальнейшие вызовы
+     * accept() и merge() его не меняют.
+     *
+     * @return отчет со статистикой
+     */
+    public StatisticsReport toReport() {
+        SalaryStats[] departments = new SalaryStats[byDepartmentId.length];
+        for (int id = 0; id < departments.length; id++) {
+            if (byDepartmentId[id] != null) {
+                departments[id] = byDepartmentId[id].copy();
+            }
+        }
+        Map<String, SalaryStats> genders = new HashMap<>();
+        byGender.forEach((gender, stats) -> genders.put(gender, stats.copy()));
+        SortedMap<Integer, SalaryStats> ageBands = new TreeMap<>();
+        byAgeBand.forEach((band, stats) -> ageBands.put(band, stats.copy()));
+
+        return new StatisticsReport(total.copy(), departments, genders, ageBands,
+                ageBandWidth, ages.getReferenceDate());
+    }
+}
@@ -0,0 +1,103 @@
+package org.example;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Результат агрегации зарплат, полученный от {@link StatisticsAggregator}:
+ * общая статистика и статистика по подразделениям, полу и возрастным группам.
+ * Отчет - снимок на момент построения и не меняется при дальнейшей агрегации.
+ */
+public final class StatisticsReport {
+    private final SalaryStats total;
+    private final SalaryStats[] byDepartmentId;
+    private final Map<String, SalaryStats> byGender;
+    private final SortedMap<Integer, SalaryStats> byAgeBand;
+    private final int ageBandWidth;
+    private final LocalDate referenceDate;
+
+    StatisticsReport(SalaryStats total, SalaryStats[] byDepartmentId, Map<String, SalaryStats> byGender,
+                     SortedMap<Integer, SalaryStats> byAgeBand, int ageBandWidth, LocalDate referenceDate) {
+        this.total = total;
+        this.byDepartmentId = byDepartmentId;
+        this.byGender = Collections.unmodifiableMap(new TreeMap<>(byGender));
+        this.byAgeBand = Collections.unmodifiableSortedMap(byAgeBand);
+        this.ageBandWidth = ageBandWidth;
+        this.referenceDate = referenceDate;
+    }
+
+    /**
+     * Возвращает статистику по всем сотрудникам.
+     */
+    public SalaryStats getTotal() {
+        return total;
+    }
+
+    /**
+     * Возвращает подразделения, в которых есть сотрудники, в порядке их ID.
+     */
+    public List<Department> getDepartments() {
+        List<Department> departments = new ArrayList<>();
+        for (int id = 0; id < byDepartmentId.length; id++) {
+            Department department = byDepartmentId[id] != null ? Department.getById(id) : null;
+            if (department != null) {
+                departments.add(department);
+            }
+        }
+        return departments;
+    }
+
+    /**
+     * Возвращает статистику подразделения.
+     *
+     * @param department подразделение
+     * @return статистика или null, если в подразделении нет сотрудников
+     */
+    public SalaryStats getByDepartment(Department department) {
+        return getByDepartmentId(department.getId());
+    }
+
+    /**
+     * Возвращает статистику подразделения по его ID.
+     *
+     * @param departmentId идентификатор подразделения
+     * @return статистика или null, если в подразделении нет сотрудников
+     */
+    public SalaryStats getByDepartmentId(int departmentId) {
+        return departmentId >= 0 && departmentId < byDepartmentId.length ? byDepartmentId[departmentId] : null;
+    }
+
+    /**
+     * Возвращает статистику по значениям пола, отсортированным по алфавиту.
+     */
+    public Map<String, SalaryStats> getByGender() {
+        return byGender;
+    }
+
+    /**
+     * Возвращает статистику по возрастным группам.
+     * Ключ - нижняя граница группы, например 30 для возраста от 30 до 39 лет при ширине 10.
+     */
+    public SortedMap<Integer, SalaryStats> getByAgeBand() {
+        return byAgeBand;
+    }
+
+    /**
+     * Возвращает ширину возрастной группы в годах.
+     */
+    public int getAgeBandWidth() {
+        return ageBandWidth;
+    }
+
+    /**
+     * Возвращает дату, на которую вычислялся возраст.
+     */
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+}
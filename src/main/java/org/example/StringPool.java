@@ -0,0 +1,155 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Ограниченный пул строк для часто повторяющихся значений, например имен.
+ * <p>
+ * Пул - таблица фиксированного размера с прямым отображением: строка попадает в ячейку
+ * по хэшу, а при совпадении ячейки новое значение вытесняет старое. Поэтому объем пула
+ * не растет с размером данных, а редкие значения не задерживаются в памяти надолго.
+ * Вытесненная строка остается у тех объектов, которые ее уже получили.
+ * <p>
+ * Пул потокобезопасен без блокировок: ячейка хранит неизменяемую запись, и гонка
+ * двух потоков за одну ячейку приводит лишь к тому, что одно из значений не будет
+ * переиспользовано. Результат {@link #intern} всегда равен переданному значению.
+ */
+public final class StringPool {
+
+    /** Размер пула по умолчанию */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** Наибольший размер пула */
+    public static final int MAX_CAPACITY = 1 << 24;
+
+    private final Entry[] slots;
+    private final int mask;
+
+    /**
+     * Создает пул.
+     *
+     * @param capacity количество ячеек, округляется вверх до степени двойки; 0 выключает пул
+     * @throws IllegalArgumentException если размер отрицателен или больше {@link #MAX_CAPACITY}
+     */
+    public StringPool(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Недопустимый размер пула строк: " + capacity);
+        }
+        int size = capacity <= 1 ? capacity : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = size == 0 ? null : new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Возвращает выключенный пул, который возвращает строки без изменений.
+     */
+    public static StringPool disabled() {
+        return new StringPool(0);
+    }
+
+    /**
+     * Возвращает количество ячеек пула.
+     */
+    public int capacity() {
+        return slots == null ? 0 : slots.length;
+    }
+
+    /**
+     * Возвращает строку из пула, равную value, или помещает value в пул.
+     *
+     * @param value строка
+     * @return строка из пула или само value
+     */
+    public String intern(String value) {
+        if (slots == null || value == null) {
+            return value;
+        }
+        int i = spread(value.hashCode()) & mask;
+        Entry entry = slots[i];
+        if (entry != null && (entry.value == value || entry.value.equals(value))) {
+            return entry.value;
+        }
+        slots[i] = new Entry(value, null);
+        return value;
+    }
+
+    /**
+     * Возвращает строку из пула по фрагменту [start, end) буфера. Для строк из символов
+     * ASCII и для UTF-8 известное значение находится без декодирования и создания строки.
+     *
+     * @param buf буфер с байтами строки
+     * @param start абсолютная позиция начала фрагмента
+     * @param end абсолютная позиция конца фрагмента (не включается)
+     * @param scratch буфер для декодирования
+     * @param charset кодировка байтов, совместимая с ASCII
+     * @return строка из пула или новая строка
+     */
+    String intern(ByteBuffer buf, int start, int end, byte[] scratch, Charset charset) {
+        if (slots == null) {
+            return ByteFields.decode(buf, start, end, scratch, charset);
+        }
+
+        int hash = 0;
+        boolean ascii = true;
+        for (int i = start; i < end; i++) {
+            byte b = buf.get(i);
+            ascii &= b >= 0;
+            hash = 31 * hash + b;
+        }
+        if (!ascii && !charset.equals(StandardCharsets.UTF_8)) {
+            return intern(ByteFields.decode(buf, start, end, scratch, charset));
+        }
+
+        // Для ASCII хэш байтов совпадает с String.hashCode(), поэтому ячейка та же, что у intern(String)
+        int i = spread(hash) & mask;
+        Entry entry = slots[i];
+        if (entry != null && entry.matches(buf, start, end, ascii)) {
+            return entry.value;
+        }
+        String value = ByteFields.decode(buf, start, end, scratch, charset);
+        byte[] utf8 = null;
+        if (!ascii) {
+            utf8 = new byte[end - start];
+            buf.get(start, utf8);
+        }
+        slots[i] = new Entry(value, utf8);
+        return value;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Ячейка пула. Для значений, добавленных по байтам UTF-8 с символами вне ASCII,
+     * хранятся и сами байты, чтобы сравнивать их без декодирования.
+     */
+    private record Entry(String value, byte[] utf8) {
+
+        boolean matches(ByteBuffer buf, int start, int end, boolean ascii) {
+            int length = end - start;
+            if (ascii) {
+                if (value.length() != length) {
+                    return false;
+                }
+                for (int i = 0; i < length; i++) {
+                    if (value.charAt(i) != buf.get(start + i)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (utf8 == null || utf8.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (utf8[i] != buf.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Распределение по возрастным группам шириной 10 лет: прежний способ через
+ * {@code Period.between(birthDate, LocalDate.now())} на каждую строку, вычисление возраста
+ * через {@link AgeCalculator} и определение группы по граничным датам {@link AgeCalculator.Bands}.
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=AgeBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgeBenchmark {
+
+    private static final int BAND_WIDTH = 10;
+
+    @Param({"100000"})
+    public int rows;
+
+    private int[] birthEpochDays;
+    private LocalDate[] birthDates;
+    private AgeCalculator ages;
+    private AgeCalculator.Bands bands;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long today = LocalDate.now().toEpochDay();
+        birthEpochDays = new int[rows];
+        birthDates = new LocalDate[rows];
+        for (int i = 0; i < rows; i++) {
+            birthEpochDays[i] = (int) (today - 18 * 365 - random.nextInt(50 * 365));
+            birthDates[i] = LocalDate.ofEpochDay(birthEpochDays[i]);
+        }
+        ages = AgeCalculator.today();
+        bands = ages.bandsOfWidth(BAND_WIDTH);
+    }
+
+    @Benchmark
+    public int[] period() {
+        int[] counts = new int[AgeCalculator.MAX_AGE / BAND_WIDTH + 1];
+        for (LocalDate birthDate : birthDates) {
+            counts[Period.between(birthDate, LocalDate.now()).getYears() / BAND_WIDTH]++;
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public int[] calculator() {
+        int[] counts = new int[AgeCalculator.MAX_AGE / BAND_WIDTH + 1];
+        for (int birthEpochDay : birthEpochDays) {
+            counts[ages.ageAt(birthEpochDay) / BAND_WIDTH]++;
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public int[] bands() {
+        int[] counts = new int[bands.size()];
+        for (int birthEpochDay : birthEpochDays) {
+            counts[bands.indexOf(birthEpochDay)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,122 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgeCalculatorTest {
+
+    private static final List<LocalDate> REFERENCE_DATES = List.of(
+            LocalDate.of(2024, 2, 28), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 1),
+            LocalDate.of(2023, 2, 28), LocalDate.of(2023, 3, 1), LocalDate.of(2025, 12, 31),
+            LocalDate.of(2026, 1, 1));
+
+    @Test
+    void testAge_SameAsPeriod() {
+        Random random = new Random(18);
+        for (LocalDate referenceDate : REFERENCE_DATES) {
+            AgeCalculator ages = AgeCalculator.of(referenceDate);
+            long reference = referenceDate.toEpochDay();
+
+            // Каждый день последних двух лет, окрестности 29 февраля и случайные даты, включая будущие
+            List<LocalDate> birthDates = new ArrayList<>();
+            for (long day = reference - 800; day <= reference + 10; day++) {
+                birthDates.add(LocalDate.ofEpochDay(day));
+            }
+            for (int year = 1864; year <= 2024; year += 4) {
+                if (!Year.isLeap(year)) {
+                    continue;
+                }
+                birthDates.add(LocalDate.of(year, 2, 28));
+                birthDates.add(LocalDate.of(year, 2, 29));
+                birthDates.add(LocalDate.of(year, 3, 1));
+            }
+            for (int i = 0; i < 20_000; i++) {
+                birthDates.add(LocalDate.ofEpochDay(reference - random.nextInt(200 * 366) + 1000));
+            }
+
+            for (LocalDate birthDate : birthDates) {
+                assertEquals(Period.between(birthDate, referenceDate).getYears(), ages.age(birthDate),
+                        birthDate + " на " + referenceDate);
+            }
+        }
+    }
+
+    @Test
+    void testBirthDateRange_MatchesAge() {
+        AgeCalculator ages = AgeCalculator.of(LocalDate.of(2024, 2, 29));
+        for (int age = 0; age <= AgeCalculator.MAX_AGE + 5; age++) {
+            long earliest = ages.earliestBirthEpochDay(age);
+            long latest = ages.latestBirthEpochDay(age);
+            assertEquals(age, ages.ageAt(earliest));
+            assertEquals(age + 1, ages.ageAt(earliest - 1));
+            assertEquals(age, ages.ageAt(latest));
+            if (age > 0) {
+                assertEquals(age - 1, ages.ageAt(latest + 1));
+            }
+        }
+        assertEquals(Long.MIN_VALUE, ages.earliestBirthEpochDay(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> ages.latestBirthEpochDay(-1));
+    }
+
+    @Test
+    void testBands() {
+        AgeCalculator ages = AgeCalculator.of(LocalDate.of(2024, 3, 1));
+        AgeCalculator.Bands bands = ages.bands(18, 30, 45, 60);
+
+        assertEquals(4, bands.size());
+        assertEquals("18-29", bands.label(0));
+        assertEquals("60+", bands.label(3));
+        assertEquals(-1, bands.indexOf(LocalDate.of(2006, 3, 2).toEpochDay()));
+        assertEquals(0, bands.indexOf(LocalDate.of(2006, 3, 1).toEpochDay()));
+        assertEquals(1, bands.indexOf(LocalDate.of(1994, 3, 1).toEpochDay()));
+        assertEquals(1, bands.indexOf(LocalDate.of(1979, 3, 2).toEpochDay()));
+        assertEquals(2, bands.indexOf(LocalDate.of(1979, 3, 1).toEpochDay()));
+        assertEquals(3, bands.indexOf(LocalDate.of(1900, 1, 1).toEpochDay()));
+
+        AgeCalculator.Bands decades = ages.bandsOfWidth(10);
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            long birthEpochDay = ages.getReferenceDate().toEpochDay() - random.nextInt(AgeCalculator.MAX_AGE * 365);
+            int age = ages.ageAt(birthEpochDay);
+            assertEquals(age / 10 * 10, decades.minAge(decades.indexOf(birthEpochDay)));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> ages.bands(30, 18));
+        assertThrows(IllegalArgumentException.class, () -> ages.bands());
+        assertThrows(IllegalArgumentException.class, () -> ages.bandsOfWidth(0));
+    }
+
+    @Test
+    void testIndexQuery_AgeBetween() {
+        Department department = Department.getDepartment("Возраст");
+        List<Person> people = new ArrayList<>();
+        LocalDate birthDate = LocalDate.of(1950, 1, 1);
+        for (int id = 1; birthDate.isBefore(LocalDate.of(2010, 1, 1)); id++, birthDate = birthDate.plusDays(37)) {
+            people.add(new Person(id, "Name", "Male", birthDate, department, 1000));
+        }
+        PersonIndex index = PersonIndex.build(people);
+        AgeCalculator ages = AgeCalculator.of(LocalDate.of(2024, 2, 29));
+        AgeCalculator.Bands bands = ages.bands(20, 40, 60);
+
+        assertEquals(people.stream().filter(p -> p.getAge(ages) >= 30 && p.getAge(ages) <= 39).toList(),
+                index.query().ageBetween(ages, 30, 39).list());
+        assertEquals(people.stream().filter(p -> p.getAge(ages) >= 60).toList(),
+                index.query().ageBand(bands, 2).list());
+        assertThrows(IllegalArgumentException.class, () -> index.query().ageBetween(ages, 40, 30));
+    }
+
+    @Test
+    void testToday_ReusedWithinDay() {
+        AgeCalculator today = AgeCalculator.today();
+        assertEquals(LocalDate.now(), today.getReferenceDate());
+        assertSame(today, AgeCalculator.today());
+    }
+}
@@ -0,0 +1,87 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры JMH для чтения CSV целиком и вывода статистики по синтетическим файлам
+ * разного размера и с разным количеством подразделений.
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=CSVReaderBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CSVReaderBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"10", "1000"})
+    public int departments;
+
+    private Path file;
+    private List<Person> people;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), rows, departments, 42);
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            people = CSVReader.readPeople(reader);
+        }
+
+        // Вывод статистики замеряется без затрат на консоль
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Полное чтение файла: построчное чтение, разбор и создание объектов Person.
+     * Использует тот же путь, что и {@link CSVReader#readPeopleFromResource(String)},
+     * но читает сгенерированный файл заданного размера.
+     */
+    @Benchmark
+    public List<Person> readPeople() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return CSVReader.readPeople(reader);
+        }
+    }
+
+    /**
+     * Агрегация и вывод количества сотрудников по отделам для уже прочитанного списка.
+     */
+    @Benchmark
+    public void printStatistics() {
+        CSVReader.printStatistics(people);
+    }
+}
@@ -1,9 +1,19 @@
+package org.example;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -74,4 +84,49 @@ class CSVReaderTest {
 
         assertTrue(exception.getMessage().contains("Ресурс не найден"));
     }
+
+    @Test
+    void testStreamPeopleFromResource_SameAsList() throws IOException {
+        try (Stream<Person> stream = CSVReader.streamPeopleFromResource("data.csv")) {
+            List<Integer> ids = stream.map(Person::getId).collect(Collectors.toList());
+            assertEquals(people.stream().map(Person::getId).collect(Collectors.toList()), ids);
+        }
+    }
+
+    @Test
+    void testStreamPeople_LazyAndClosesReader() {
+        AtomicBoolean closed = new AtomicBoolean();
+        BufferedReader reader = new BufferedReader(new StringReader(
+                "id;name;gender;BirthDate;Division;Salary\n"
+                        + "1;Anna;Female;01.02.1990;A;100\n"
+                        + "2;Bob;Male;01.02.1990;A;100\n"
+                        + "broken\n")) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        // Ошибочная строка в конце не читается, так как поток прерван после первого человека
+        try (Stream<Person> stream = CSVReader.streamPeople(reader)) {
+            assertEquals(1, stream.findFirst().orElseThrow().getId());
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testStreamPeopleFromFile(@TempDir Path tempDir) throws IOException {
+        Path file = SyntheticCsv.generate(tempDir.resolve("people.csv"), 1_000, 5, 3);
+
+        try (Stream<Person> stream = CSVReader.streamPeopleFromFile(file)) {
+            assertEquals(1_000, stream.count());
+        }
+    }
+
+    @Test
+    void testPrintStatistics_FromStream() {
+        assertDoesNotThrow(() -> CSVReader.printStatistics(people.stream()));
+        assertDoesNotThrow(() -> CSVReader.printStatistics(Stream.empty()));
+    }
 }
\ No newline at end of file
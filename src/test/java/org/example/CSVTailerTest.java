@@ -0,0 +1,196 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVTailerTest {
+
+    private static final String HEADER = "id;name;gender;BirthDate;Division;Salary\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Person> people = new ArrayList<>();
+    private final List<CSVTailer.Restart> restarts = new ArrayList<>();
+
+    private final CSVTailer.Listener listener = new CSVTailer.Listener() {
+        @Override
+        public void onPerson(Person person) {
+            people.add(person);
+        }
+
+        @Override
+        public void onRestart(CSVTailer.Restart reason) {
+            restarts.add(reason);
+        }
+    };
+
+    private static String row(int id) {
+        return id + ";Name" + id + ";Female;01.02.1990;T;" + (1000 + id) + "\n";
+    }
+
+    private static void append(Path file, String text) throws IOException {
+        Files.writeString(file, text, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private List<Integer> ids() {
+        return people.stream().map(Person::getId).toList();
+    }
+
+    @Test
+    void testPoll_ReadsOnlyAppendedRows() throws IOException {
+        Path file = tempDir.resolve("people.csv");
+        append(file, HEADER + row(1) + row(2));
+
+        try (CSVTailer tailer = new CSVTailer(file, listener)) {
+            assertEquals(2, tailer.poll());
+            assertEquals(Files.size(file), tailer.getOffset());
+            assertEquals(3, tailer.getLineNumber());
+
+            assertEquals(0, tailer.poll());
+
+            append(file, row(3) + row(4));
+            assertEquals(2, tailer.poll());
+            assertEquals(List.of(1, 2, 3, 4), ids());
+            assertEquals(5, tailer.getLineNumber());
+        }
+        assertTrue(restarts.isEmpty());
+    }
+
+    @Test
+    void testListenerFailure_PropagatesAndIsNotParseError() throws IOException {
+        Path file = tempDir.resolve("people.csv");
+        append(file, HEADER + row(1) + row(2) + row(3));
+        CSVTailer.Listener failing = person -> {
+            if (person.getId() == 2) {
+                throw new IllegalStateException("Получатель не принял " + person.getId());
+            }
+            people.add(person);
+        };
+
+        try (CSVTailer tailer = new CSVTailer(file, failing)) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, tailer::poll);
+            assertEquals("Получатель не принял 2", e.getMessage());
+            assertEquals(0, tailer.getErrors().getTotal());
+            assertEquals(Files.size(file), tailer.getOffset());
+
+            assertEquals(1, tailer.poll());
+            assertEquals(List.of(1, 3), ids());
+        }
+    }
+
+    @Test
+    void testFailFast_BadRowDoesNotRepeatGoodRows() throws IOException {
+        Path file = tempDir.resolve("people.csv");
+        append(file, HEADER + row(1) + row(2));
+        ParseErrors errors = new ParseErrors(ErrorPolicy.failFast());
+
+        try (CSVTailer tailer = new CSVTailer(file, listener, 0, 0, errors)) {
+            assertEquals(2, tailer.poll());
+
+            append(file, row(3) + "4;Broken\n" + row(5));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, tailer::poll);
+            assertTrue(e.getMessage().startsWith("Ошибка в строке 5:"));
+            assertEquals(List.of(1, 2, 3), ids());
+            assertEquals(5, tailer.getLineNumber());
+
+            assertEquals(1, tailer.poll());
+            assertEquals(0, tailer.poll());
+            assertEquals(List.of(1, 2, 3, 5), ids());
+            assertEquals(6, tailer.getLineNumber());
+            assertEquals(Files.size(file), tailer.getOffset());
+            assertEquals(1, errors.getTotal());
+        }
+    }
+
+    @Test
+    void testPoll_PartialLastLineWaitsForLineBreak() throws IOException {
+        Path file = tempDir.resolve("people.csv");
+        String third = row(3);
+        append(file, HEADER + row(1) + third.substring(0, 7));
+
+        try (CSVTailer tailer = new CSVTailer(file, listener)) {
+            assertEquals(1, tailer.poll());
+            long offset = tailer.getOffset();
+            assertEquals(Files.size(file) - 7, offset);
+
+            append(file, third.substring(7, 15));
+            assertEquals(0, tailer.poll());
+            assertEquals(offset, tailer.getOffset());
+
+            append(file, third.substring(15));
+            assertEquals(1, tailer.poll());
+            assertEquals(List.of(1, 3), ids());
+        }
+    }
+
+    @Test
+    void testPoll_TruncatedFileReadFromStart() throws IOException {
+        Path file = tempDir.resolve("people.csv");
+        append(file, HEADER + row(1) + row(2) + row(3));
+
+        try (CSVTailer tailer = new CSVTailer(file, listener)) {
+            assertEquals(3, tailer.poll());
+
+            Files.writeString(file, HEADER + row(10));
+            assertEquals(1, tailer.poll());
+            assertEquals(List.of(CSVTailer.Restart.TRUNCATED), restarts);
+            assertEquals(List.of(1, 2, 3, 10), ids());
+            assertEquals(2, tailer.getLineNumber());
+        }
+    }
+
+    @Test
+    void testPoll_RotatedFileDrainsOldThenReadsNew() throws IOException {
+        Path file = tempDir.resolve("people.csv");
+        append(file, HEADER + row(1));
+
+        try (CSVTailer tailer = new CSVTailer(file, listener)) {
+            assertEquals(1, tailer.poll());
+
+            // Строка дописана в прежний файл перед его переименованием
+            append(file, row(2));
+            Files.move(file, tempDir.resolve("people.csv.1"));
+            assertEquals(1, tailer.poll());
+
+            append(file, HEADER + row(3));
+            assertEquals(1, tailer.poll());
+            assertEquals(List.of(1, 2, 3), ids());
+            assertEquals(List.of(CSVTailer.Restart.ROTATED), restarts);
+        }
+    }
+
+    @Test
+    void testResume_FromSavedPosition() throws IOException {
+        Path file = tempDir.resolve("people.csv");
+        append(file, HEADER + row(1) + row(2));
+
+        long offset;
+        int lineNumber;
+        try (CSVTailer tailer = new CSVTailer(file, listener)) {
+            tailer.poll();
+            offset = tailer.getOffset();
+            lineNumber = tailer.getLineNumber();
+        }
+
+        append(file, row(3));
+        people.clear();
+        try (CSVTailer tailer = new CSVTailer(file, listener, offset, lineNumber)) {
+            assertEquals(1, tailer.poll());
+            assertEquals(List.of(3), ids());
+            assertEquals(4, tailer.getLineNumber());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new CSVTailer(file, listener, -1, 0));
+    }
+}
@@ -0,0 +1,88 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Замер пропускной способности реестра подразделений, когда много потоков
+ * одновременно ищут небольшой набор названий. Для сравнения измеряется
+ * прежний вариант - синхронизированный HashMap.
+ * <p>
+ * Запуск: {@code java DepartmentContentionBenchmark [потоков] [секунд на замер]}
+ */
+public class DepartmentContentionBenchmark {
+
+    private static final int DEPARTMENTS = 16;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        long millis = (long) ((args.length > 1 ? Double.parseDouble(args[1]) : 2.0) * 1000);
+
+        String[] names = new String[DEPARTMENTS];
+        String[] padded = new String[DEPARTMENTS];
+        ByteBuffer[] bytes = new ByteBuffer[DEPARTMENTS];
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            names[i] = SyntheticCsv.departmentName(i);
+            padded[i] = " " + names[i] + " ";
+            bytes[i] = ByteBuffer.wrap(padded[i].getBytes(StandardCharsets.UTF_8));
+        }
+
+        Map<String, Department> baseline = new HashMap<>();
+        System.out.printf("Потоков: %d%n", threads);
+
+        for (int round = 0; round < 3; round++) {
+            measure("synchronized HashMap", threads, millis, i -> {
+                synchronized (baseline) {
+                    baseline.computeIfAbsent(names[i].trim(), Department::getDepartment);
+                }
+            });
+            measure("getDepartment(String)", threads, millis, i -> Department.getDepartment(padded[i]));
+            measure("getDepartment(chars)", threads, millis,
+                    i -> Department.getDepartment(padded[i], 0, padded[i].length()));
+            measure("getDepartment(bytes)", threads, millis,
+                    i -> Department.getDepartment(bytes[i], 0, bytes[i].limit()));
+        }
+    }
+
+    private static void measure(String label, int threads, long millis, IntConsumer lookup)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long[] deadline = new long[1];
+
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                int i = seed;
+                while (System.nanoTime() < deadline[0]) {
+                    for (int k = 0; k < 1024; k++) {
+                        lookup.accept(i++ & (DEPARTMENTS - 1));
+                    }
+                    count += 1024;
+                }
+                operations.add(count);
+            });
+            workers[t].start();
+        }
+
+        deadline[0] = System.nanoTime() + millis * 1_000_000;
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        System.out.printf("%-22s %,15.0f операций/с%n", label, operations.sum() * 1000.0 / millis);
+    }
+}
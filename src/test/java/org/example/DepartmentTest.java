@@ -0,0 +1,137 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DepartmentTest {
+
+    @Test
+    void testConcurrentInterning_OneInstancePerName() throws Exception {
+        int threads = 16;
+        int names = 50;
+        Set<Department> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 100; round++) {
+                        for (int i = 0; i < names; i++) {
+                            seen.add(Department.getDepartment("Concurrent-" + i));
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Один объект на название и без повторяющихся ID
+        assertEquals(names, seen.size());
+        Set<Integer> ids = new HashSet<>();
+        for (Department department : seen) {
+            assertTrue(ids.add(department.getId()));
+            assertSame(department, Department.getById(department.getId()));
+            assertTrue(department.getId() <= Department.maxId());
+        }
+    }
+
+    @Test
+    void testConcurrentInterning_EveryIdUpToMaxIdResolves() throws Exception {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+
+        try {
+            Future<?>[] writers = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                writers[t] = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        Department.getDepartment("Published-" + thread + "-" + i);
+                    }
+                    return null;
+                });
+            }
+            Future<Integer> reader = pool.submit(() -> {
+                start.await();
+                int misses = 0;
+                for (int round = 0; round < 2_000; round++) {
+                    int maxId = Department.maxId();
+                    for (int id = 1; id <= maxId; id++) {
+                        if (Department.getById(id) == null) {
+                            misses++;
+                        }
+                    }
+                }
+                return misses;
+            });
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            assertEquals(0, reader.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testLookupByFragment_SameInstanceAsByString() {
+        Department department = Department.getDepartment("Фрагмент");
+
+        String line = "1;Anna;  Фрагмент ;x";
+        assertSame(department, Department.getDepartment(line, 7, 18));
+
+        ByteBuffer bytes = ByteBuffer.wrap(" Фрагмент ".getBytes(StandardCharsets.UTF_8));
+        assertSame(department, Department.getDepartment(bytes, 0, bytes.limit()));
+
+        ByteBuffer ascii = ByteBuffer.wrap("xx Ascii-Dept\r".getBytes(StandardCharsets.US_ASCII));
+        assertSame(Department.getDepartment("Ascii-Dept"), Department.getDepartment(ascii, 2, ascii.limit()));
+    }
+
+    @Test
+    void testIdsAreDense() {
+        int before = Department.maxId();
+        Department first = Department.getDepartment("Dense-1");
+        Department second = Department.getDepartment("Dense-2");
+
+        assertEquals(before + 1, first.getId());
+        assertEquals(before + 2, second.getId());
+        for (int id = 1; id <= Department.maxId(); id++) {
+            assertNotNull(Department.getById(id));
+        }
+        assertNull(Department.getById(0));
+        assertNull(Department.getById(Department.maxId() + 1));
+    }
+
+    @Test
+    void testEmptyName_ThrowsException() {
+        InvalidFieldException e = assertThrows(InvalidFieldException.class, () -> Department.getDepartment("  "));
+        assertEquals(ParseErrorCause.VALIDATION, e.getErrorCause());
+        assertEquals(CSVReader.DEPARTMENT_FIELD, e.getFieldIndex());
+        assertThrows(InvalidFieldException.class, () -> Department.getDepartment("a;  ;b", 2, 4));
+        assertThrows(InvalidFieldException.class,
+                () -> Department.getDepartment(ByteBuffer.wrap(new byte[]{' '}), 0, 1));
+    }
+}
@@ -0,0 +1,67 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение содержимого CSV в UTF-8 из памяти: построчно через Reader, где каждый байт
+ * декодируется в char до разбора, и прямо в байтах, где декодируются только имя и пол.
+ * Данные только в ASCII и с кириллическими именами и подразделениями в половине строк.
+ * Количество выделенной памяти на операцию показывает {@code -prof gc}.
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=EncodingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EncodingBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cyrillic;
+
+    @Param({"100000"})
+    public int rows;
+
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), rows, 26, 42, cyrillic);
+        content = Files.readAllBytes(file);
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public List<Person> reader() throws IOException {
+        return CSVReader.readPeople(new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)),
+                new ParseErrors(ErrorPolicy.skip()));
+    }
+
+    @Benchmark
+    public List<Person> bytes() {
+        return CSVReader.readPeople(content, StandardCharsets.UTF_8, new ParseErrors(ErrorPolicy.skip()));
+    }
+}
@@ -0,0 +1,94 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldParsersTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    /**
+     * Проверяет, что быстрый и эталонный разбор дают одинаковый результат или одинаковую ошибку.
+     */
+    private static <T> void assertSameBehavior(Function<String, T> expected, Function<String, T> actual,
+                                               String value) {
+        T expectedResult;
+        try {
+            expectedResult = expected.apply(value);
+        } catch (RuntimeException e) {
+            RuntimeException actualError = assertThrows(RuntimeException.class, () -> actual.apply(value),
+                    "Ожидалась ошибка для '" + value + "'");
+            assertEquals(e.getClass(), actualError.getClass());
+            assertEquals(e.getMessage(), actualError.getMessage());
+            return;
+        }
+        assertEquals(expectedResult, actual.apply(value), "Значение '" + value + "'");
+    }
+
+    @Test
+    void testParseDate_EveryDayOfSeveralCenturies() {
+        for (LocalDate date = LocalDate.of(1899, 1, 1); date.getYear() < 2101; date = date.plusDays(1)) {
+            String value = date.format(FORMATTER);
+            assertEquals(date, FieldParsers.parseDate(value, FORMATTER));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "15.05.1970", " 15.05.1970\t", "31.02.2020", "29.02.2021", "29.02.2000", "29.02.1900",
+            "30.02.2020", "31.04.2020", "00.01.2020", "01.00.2020", "01.13.2020", "32.01.2020",
+            "1.1.2020", "15/05/1970", "15.05.70", "15.05.19700", "15.05.0000", "aa.bb.cccc",
+            "15.05.+970", "", "   ", "１5.05.1970"
+    })
+    void testParseDate_SameAsFormatter(String value) {
+        assertSameBehavior(v -> LocalDate.parse(v.trim(), FORMATTER), v -> FieldParsers.parseDate(v, FORMATTER),
+                value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "28281", " 42 ", "-7", "+7", "-", "+", "", "123456789", "2147483647", "2147483648",
+            "-2147483648", "12a", "1 2", "٣", "00000000001"
+    })
+    void testParseInt_SameAsIntegerParseInt(String value) {
+        assertSameBehavior(v -> Integer.parseInt(v.trim()), FieldParsers::parseInt, value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "4800", " 1000.50 ", "0.1", ".5", "5.", ".", "", "1e3", "-12.5", "+3", "NaN", "1.2.3",
+            "9007199254740993", "123456789012345678", "0.30000000000000004", "1,5", "0x10", "1.0000000000000000000000001"
+    })
+    void testParseDouble_SameAsDoubleParseDouble(String value) {
+        assertSameBehavior(v -> Double.parseDouble(v.trim()), FieldParsers::parseDouble, value);
+    }
+
+    @Test
+    void testParseDouble_RandomSalariesBitIdentical() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            String value = random.nextInt(1_000_000) + "." + String.format("%0" + (1 + random.nextInt(6)) + "d",
+                    random.nextInt(1_000_000) % 100_000);
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(value)),
+                    Double.doubleToLongBits(FieldParsers.parseDouble(value)), value);
+        }
+    }
+
+    @Test
+    void testPersonConstructor_InvalidDateStillThrows() {
+        Department department = Department.getDepartment("A");
+        assertThrows(DateTimeParseException.class,
+                () -> new Person(1, "Anna", "Female", "99.99.1990", department, 100));
+        assertEquals(LocalDate.of(2020, 2, 29),
+                new Person(1, "Anna", "Female", "31.02.2020", department, 100).getBirthDate());
+    }
+}
@@ -0,0 +1,71 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость сбора метрик: построчное чтение {@link CSVReader} и чтение через отображение
+ * файла {@link MappedCSVReader} с выключенными и включенными {@link IngestionMetrics}.
+ * Выключенный сбор должен совпадать по времени с замерами до появления метрик
+ * (например, {@link CSVReaderBenchmark#readPeople()}) в пределах погрешности.
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=IngestionMetricsBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IngestionMetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    @Param({"100000"})
+    public int rows;
+
+    private Path file;
+    private String content;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), rows, 26, 42);
+        content = Files.readString(file);
+        IngestionMetrics.get().setEnabled(enabled);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        IngestionMetrics.get().setEnabled(false);
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Person> csvReader() throws IOException {
+        return CSVReader.readPeople(new BufferedReader(new StringReader(content)));
+    }
+
+    @Benchmark
+    public List<Person> mappedReader() throws IOException {
+        return MappedCSVReader.readPeopleFromFile(file);
+    }
+}
@@ -0,0 +1,173 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.ObjectName;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestionMetricsTest {
+
+    private static final String CSV = """
+            id;name;gender;BirthDate;Division;Salary
+            1;Anna;Female;01.02.1990;A;1000
+            2;Boris;Male;03.04.1985;B;2000
+
+            3;Vera;Female;05.06.1975
+            x;Gleb;Male;07.08.1965;A;3000
+            5;Dina;Female;32.13.1990;B;4000
+            -6;Egor;Male;09.10.1995;A;5000
+            """;
+
+    private final IngestionMetrics metrics = IngestionMetrics.get();
+
+    @BeforeEach
+    void enable() {
+        metrics.reset();
+        metrics.setEnabled(true);
+    }
+
+    @AfterEach
+    void disable() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    private static void assertErrors(IngestionMetrics.Snapshot snapshot) {
+        assertEquals(2, snapshot.rows());
+        assertEquals(4, snapshot.errorCount());
+        assertEquals(1, snapshot.errors().get(ParseErrorCause.FIELD_COUNT));
+        assertEquals(1, snapshot.errors().get(ParseErrorCause.NUMBER_FORMAT));
+        assertEquals(1, snapshot.errors().get(ParseErrorCause.DATE_FORMAT));
+        assertEquals(1, snapshot.errors().get(ParseErrorCause.VALIDATION));
+        assertEquals(8, snapshot.lines());
+    }
+
+    @Test
+    void testCSVReader_CountsRowsErrorsAndPhases() throws IOException {
+        List<Person> people = CSVReader.readPeople(new BufferedReader(new StringReader(CSV)));
+        assertEquals(2, people.size());
+
+        IngestionMetrics.Snapshot snapshot = metrics.snapshot();
+        assertErrors(snapshot);
+        assertEquals(CSV.length(), snapshot.bytes());
+        assertEquals(8, snapshot.lineLength().count());
+        assertEquals(2, snapshot.rowNanos().count());
+        assertTrue(snapshot.loadNanos() > 0);
+        for (IngestionMetrics.Phase phase : IngestionMetrics.Phase.values()) {
+            assertTrue(snapshot.phaseNanos().get(phase) > 0, phase.name());
+        }
+        assertEquals(4.0 / 6, snapshot.errorRate(), 1e-9);
+    }
+
+    @Test
+    void testCSVReader_CountsEncodedBytes(@TempDir Path tempDir) throws IOException {
+        String csv = CSV.replace("Anna", "Анна").replace("Boris", "Борис 😀");
+        for (Charset charset : List.of(StandardCharsets.UTF_8, Charset.forName("windows-1251"))) {
+            Path file = Files.write(tempDir.resolve("people.csv"),
+                    (charset.equals(StandardCharsets.UTF_8) ? csv : csv.replace(" 😀", "")).getBytes(charset));
+            metrics.reset();
+            try (Stream<Person> people = CSVReader.streamPeopleFromFile(file, charset,
+                    new ParseErrors(ErrorPolicy.skip()))) {
+                assertEquals(2, people.count());
+            }
+
+            assertEquals(Files.size(file), metrics.snapshot().bytes(), charset.name());
+        }
+    }
+
+    @Test
+    void testMappedCSVReader_CountsRowsAndErrors(@TempDir Path tempDir) throws IOException {
+        Path file = Files.writeString(tempDir.resolve("people.csv"), CSV);
+        assertEquals(2, MappedCSVReader.readPeopleFromFile(file).size());
+
+        IngestionMetrics.Snapshot snapshot = metrics.snapshot();
+        assertErrors(snapshot);
+        assertEquals(Files.size(file), snapshot.bytes());
+        assertEquals(2, snapshot.rowNanos().count());
+        assertTrue(snapshot.rowsPerSecond() > 0);
+    }
+
+    @Test
+    void testMappedCSVReader_RecordsLineLengths(@TempDir Path tempDir) throws IOException {
+        // BOM и последняя строка без перевода строки
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] body = CSV.stripTrailing().getBytes(StandardCharsets.UTF_8);
+        byte[] content = Arrays.copyOf(bom, bom.length + body.length);
+        System.arraycopy(body, 0, content, bom.length, body.length);
+        Path file = Files.write(tempDir.resolve("people.csv"), content);
+        assertEquals(2, MappedCSVReader.readPeopleFromFile(file).size());
+
+        IngestionMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(8, snapshot.lines());
+        assertEquals(8, snapshot.lineLength().count());
+        assertEquals(body.length, snapshot.lineLength().sum());
+        assertEquals(Files.size(file), snapshot.bytes());
+    }
+
+    @Test
+    void testReadPeopleFromResource_RecordsPhases() throws IOException {
+        List<Person> people = CSVReader.readPeopleFromResource("data.csv");
+
+        IngestionMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(people.size(), snapshot.rows());
+        assertEquals(people.size(), snapshot.rowNanos().count());
+        assertTrue(snapshot.loadNanos() > 0);
+        for (IngestionMetrics.Phase phase : IngestionMetrics.Phase.values()) {
+            assertTrue(snapshot.phaseNanos().get(phase) > 0, phase.name());
+        }
+    }
+
+    @Test
+    void testDisabled_RecordsNothing() throws IOException {
+        metrics.setEnabled(false);
+        CSVReader.readPeople(new BufferedReader(new StringReader(CSV)));
+
+        IngestionMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(0, snapshot.lines());
+        assertEquals(0, snapshot.rows());
+        assertEquals(0, snapshot.errorCount());
+        assertEquals(0, snapshot.loadNanos());
+        assertEquals("нет данных", snapshot.rowNanos().toString());
+    }
+
+    @Test
+    void testMXBean_ExposesCounters() throws Exception {
+        IngestionMetrics.registerMBean();
+        IngestionMetrics.registerMBean();
+        CSVReader.readPeople(new BufferedReader(new StringReader(CSV)));
+
+        ObjectName name = new ObjectName(IngestionMetrics.OBJECT_NAME);
+        assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Rows"));
+        assertEquals(true, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Enabled"));
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        IngestionMetrics local = new IngestionMetrics(true);
+        for (int length = 1; length <= 100; length++) {
+            local.recordLine(length);
+        }
+
+        IngestionMetrics.HistogramSnapshot lengths = local.snapshot().lineLength();
+        assertEquals(100, lengths.count());
+        assertEquals(50.5, lengths.mean(), 1e-9);
+        assertEquals(63, lengths.percentile(0.5));
+        assertEquals(100, lengths.percentile(0.99));
+        assertEquals(100, lengths.max());
+    }
+}
@@ -0,0 +1,54 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Сравнение пропускной способности построчного чтения {@link CSVReader},
+ * чтения через отображение файла в память {@link MappedCSVReader}
+ * и параллельного чтения {@link ParallelCSVReader}.
+ * <p>
+ * Запуск: {@code java -Xmx4g MappedCSVReaderBenchmark [строк] [повторов]}
+ */
+public class MappedCSVReaderBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), rows, 26, 42);
+        long bytes = Files.size(file);
+        System.out.printf("Файл: %d строк, %.1f МБ%n", rows, bytes / 1e6);
+
+        try {
+            for (int i = 0; i < iterations; i++) {
+                measure("BufferedReader", bytes, () -> {
+                    try (BufferedReader reader = Files.newBufferedReader(file)) {
+                        return CSVReader.readPeople(reader);
+                    }
+                });
+                measure("MappedByteBuffer", bytes, () -> MappedCSVReader.readPeopleFromFile(file));
+                measure("Parallel ordered", bytes, () -> ParallelCSVReader.readPeopleFromFile(file, true));
+                measure("Parallel any", bytes, () -> ParallelCSVReader.readPeopleFromFile(file, false));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void measure(String label, long bytes, Load load) throws IOException {
+        long start = System.nanoTime();
+        List<Person> people = load.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-16s %,10d строк за %6.3f с: %,12.0f строк/с, %8.1f МБ/с%n",
+                label, people.size(), seconds, people.size() / seconds, bytes / 1e6 / seconds);
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        List<Person> run() throws IOException;
+    }
+}
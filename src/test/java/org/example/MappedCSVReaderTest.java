@@ -0,0 +1,129 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCSVReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Path dataCsv() throws URISyntaxException {
+        return Path.of(MappedCSVReaderTest.class.getClassLoader().getResource("data.csv").toURI());
+    }
+
+    private static void assertSamePeople(List<Person> expected, List<Person> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Person e = expected.get(i);
+            Person a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getGender(), a.getGender());
+            assertEquals(e.getBirthDate(), a.getBirthDate());
+            assertSame(e.getDepartment(), a.getDepartment());
+            assertEquals(e.getSalary(), a.getSalary(), 0.0);
+        }
+    }
+
+    @Test
+    void testReadPeopleFromFile_SameAsLineReader() throws Exception {
+        List<Person> expected;
+        try (Stream<Person> people = CSVReader.streamPeopleFromResource("data.csv")) {
+            expected = people.toList();
+        }
+        List<Person> actual = MappedCSVReader.readPeopleFromFile(dataCsv());
+
+        assertEquals(16, actual.size());
+        assertSamePeople(expected, actual);
+    }
+
+    @Test
+    void testSmallWindows_LinesSplitAcrossWindows() throws Exception {
+        List<Person> expected = MappedCSVReader.readPeopleFromFile(dataCsv());
+
+        // Окно чуть длиннее строки: почти каждая строка пересекает границу окна
+        List<Person> actual = MappedCSVReader.readPeopleFromFile(dataCsv(), 45);
+
+        assertSamePeople(expected, actual);
+    }
+
+    @Test
+    void testWindowShorterThanLine_ThrowsException() {
+        assertThrows(IOException.class, () -> MappedCSVReader.readPeopleFromFile(dataCsv(), 10));
+    }
+
+    @Test
+    void testCrLfAndMalformedLines() throws IOException {
+        Path file = tempDir.resolve("crlf.csv");
+        Files.writeString(file,
+                "id;name;gender;BirthDate;Division;Salary\r\n"
+                        + "1; Anna ;Female;01.02.1990;Отдел;1500.50\r\n"
+                        + "\r\n"
+                        + "2;Bob;Male;01.02.1990;B\r\n"
+                        + "x;Bob;Male;01.02.1990;B;100\r\n"
+                        + "3;Иван;Male;31.12.1985;Отдел;2000",
+                StandardCharsets.UTF_8);
+
+        List<Person> people = MappedCSVReader.readPeopleFromFile(file);
+
+        assertEquals(2, people.size());
+        assertEquals("Anna", people.get(0).getName());
+        assertEquals(1500.50, people.get(0).getSalary(), 0.0);
+        assertEquals("Иван", people.get(1).getName());
+        assertEquals(LocalDate.of(1985, 12, 31), people.get(1).getBirthDate());
+        assertSame(people.get(0).getDepartment(), people.get(1).getDepartment());
+    }
+
+    @Test
+    void testFileNotFound_ThrowsException() {
+        assertThrows(IOException.class, () ->
+                MappedCSVReader.readPeopleFromFile(tempDir.resolve("non_existent.csv")));
+    }
+
+    @Test
+    void testCharsets_BomAndCyrillicFields() throws IOException {
+        String csv = "id;name;gender;BirthDate;Division;Salary\n"
+                + "1;Анна;Female;01.02.1990;Отдел кадров;1000\n"
+                + "2;Boris;Male;03.04.1985;Отдел кадров;2000\n";
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] utf8 = csv.getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[bom.length + utf8.length];
+        System.arraycopy(bom, 0, withBom, 0, bom.length);
+        System.arraycopy(utf8, 0, withBom, bom.length, utf8.length);
+        Path utf8File = Files.write(tempDir.resolve("utf8.csv"), withBom);
+
+        Charset cp1251 = Charset.forName("windows-1251");
+        Path cp1251File = Files.write(tempDir.resolve("cp1251.csv"), csv.getBytes(cp1251));
+
+        // Кодировка платформы не влияет на результат: она задана явно
+        List<Person> expected;
+        try (Stream<Person> people = CSVReader.streamPeopleFromFile(utf8File)) {
+            expected = people.toList();
+        }
+        assertEquals(2, expected.size());
+        assertEquals("Анна", expected.get(0).getName());
+        assertEquals("Отдел кадров", expected.get(0).getDepartment().getName());
+
+        assertSamePeople(expected, MappedCSVReader.readPeopleFromFile(utf8File));
+        assertSamePeople(expected, MappedCSVReader.readPeopleFromFile(cp1251File, cp1251,
+                new ParseErrors(ErrorPolicy.failFast())));
+        assertSamePeople(expected, CSVReader.readPeople(withBom, StandardCharsets.UTF_8,
+                new ParseErrors(ErrorPolicy.failFast())));
+
+        assertThrows(IllegalArgumentException.class, () -> MappedCSVReader.readPeopleFromFile(
+                utf8File, StandardCharsets.UTF_16, new ParseErrors(ErrorPolicy.skip())));
+    }
+}
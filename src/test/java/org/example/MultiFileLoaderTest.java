@@ -0,0 +1,81 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiFileLoaderTest {
+
+    private static final int FILE_COUNT = 30;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Создает файлы office-00.csv ... с тремя строками; в файле i у людей ID от i * 10 + 1.
+     */
+    private void writeOffices() throws IOException {
+        for (int i = 0; i < FILE_COUNT; i++) {
+            StringBuilder content = new StringBuilder("id;name;gender;BirthDate;Division;Salary\n");
+            for (int j = 1; j <= 3; j++) {
+                content.append(i * 10 + j).append(";Name;Female;01.02.1990;Office").append(j).append(";1000\n");
+            }
+            Files.writeString(tempDir.resolve(String.format("office-%02d.csv", i)), content);
+        }
+        Files.writeString(tempDir.resolve("readme.txt"), "not a csv");
+    }
+
+    @Test
+    void testLoad_MergesFilesInOrder() throws IOException {
+        writeOffices();
+        MultiFileLoader.Result result = MultiFileLoader.load(
+                MultiFileLoader.findFiles(tempDir, "*.csv"), 3, ErrorPolicy.collect(10));
+
+        assertEquals(FILE_COUNT, result.files().size());
+        assertEquals(FILE_COUNT * 3, result.people().size());
+        assertEquals(0, result.errorCount());
+        for (int i = 0; i < FILE_COUNT; i++) {
+            MultiFileLoader.FileStats stats = result.files().get(i);
+            assertEquals(String.format("office-%02d.csv", i), stats.file().getFileName().toString());
+            assertEquals(3, stats.rows());
+            assertEquals(Files.size(stats.file()), stats.bytes());
+            assertEquals(i * 10 + 1, result.people().get(i * 3).getId());
+        }
+
+        // Одинаковые названия из разных файлов дают один объект подразделения
+        assertSame(result.people().get(0).getDepartment(), result.people().get(3).getDepartment());
+        assertEquals(result.files().stream().mapToLong(MultiFileLoader.FileStats::bytes).sum(), result.bytes());
+    }
+
+    @Test
+    void testLoad_ErrorsPerFile() throws IOException {
+        writeOffices();
+        Files.writeString(tempDir.resolve("office-99.csv"), "1;Anna;Female;01.02.1990;A;1000\nx;Bad;Male;01.01.1980;A;1\n");
+
+        MultiFileLoader.Result result = MultiFileLoader.load(tempDir, "office-9*.csv");
+        assertEquals(1, result.files().size());
+        assertEquals(1, result.people().size());
+        assertEquals(1, result.errorCount());
+        ParseError error = result.files().get(0).errors().getErrors().get(0);
+        assertEquals(2, error.lineNumber());
+        assertEquals(ParseErrorCause.NUMBER_FORMAT, error.cause());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                MultiFileLoader.load(MultiFileLoader.findFiles(tempDir, "*.csv"), 4, ErrorPolicy.failFast()));
+        assertTrue(e.getMessage().contains("office-99.csv"));
+    }
+
+    @Test
+    void testFindFiles_SingleFileAndInvalidArguments() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("one.csv"), "1;Anna;Female;01.02.1990;A;1000\n");
+        assertEquals(List.of(file), MultiFileLoader.findFiles(file, "*.txt"));
+        assertThrows(IllegalArgumentException.class, () -> MultiFileLoader.load(List.of(file), 0, ErrorPolicy.skip()));
+        assertThrows(IOException.class, () -> MultiFileLoader.load(tempDir.resolve("missing"), "*.csv"));
+    }
+}
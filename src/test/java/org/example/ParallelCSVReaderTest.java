@@ -0,0 +1,165 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCSVReaderTest {
+
+    /** Маленькие диапазоны, чтобы даже небольшой файл делился на десятки частей */
+    private static final long CHUNK_SIZE = 4 * 1024;
+
+    private static ExecutorService pool;
+
+    @TempDir
+    static Path tempDir;
+
+    private static Path file;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        file = SyntheticCsv.generate(tempDir.resolve("people.csv"), 5_000, 30, 7);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testPreserveOrder_SameAsSequentialReader() throws IOException {
+        List<Person> expected = MappedCSVReader.readPeopleFromFile(file);
+        List<Person> actual = ParallelCSVReader.readPeopleFromFile(file, true, pool, CHUNK_SIZE);
+
+        assertEquals(5_000, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertSame(expected.get(i).getDepartment(), actual.get(i).getDepartment());
+        }
+    }
+
+    @Test
+    void testUnordered_SamePeople() throws IOException {
+        List<Person> actual = new ArrayList<>(ParallelCSVReader.readPeopleFromFile(file, false, pool, CHUNK_SIZE));
+        actual.sort(Comparator.comparingInt(Person::getId));
+
+        assertEquals(5_000, actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(i + 1, actual.get(i).getId());
+        }
+    }
+
+    @Test
+    void testErrorLineNumbers_SameAsSequentialReader() throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.set(100, "broken line");
+        lines.set(2_500, "");
+        lines.set(4_000, "4000;Name;Male;99.99.1990;A;1000");
+        Path broken = Files.write(tempDir.resolve("broken.csv"), lines);
+
+        String expected = captureErrors(() -> MappedCSVReader.readPeopleFromFile(broken));
+        String actual = captureErrors(() -> ParallelCSVReader.readPeopleFromFile(broken, false, pool, CHUNK_SIZE));
+
+        assertTrue(expected.contains("Ошибка в строке 101:"));
+        assertTrue(expected.contains("Ошибка в строке 4001:"));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testFailFast_SameLineAsSequentialReader() throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.set(3_000, "broken line");
+        lines.set(4_000, "broken line");
+        Path broken = Files.write(tempDir.resolve("fail-fast.csv"), lines);
+
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+                () -> MappedCSVReader.readPeopleFromFile(broken, new ParseErrors(ErrorPolicy.failFast())));
+        IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> ParallelCSVReader.readPeopleFromFile(broken, false, pool, CHUNK_SIZE,
+                        new ParseErrors(ErrorPolicy.failFast())));
+
+        assertTrue(expected.getMessage().contains("строке 3001"));
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    void testFailFast_LaterChunksStopAfterError() throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.set(10, "broken line");
+        Path broken = Files.write(tempDir.resolve("fail-fast-early.csv"), lines);
+
+        // Один поток разбирает диапазоны по порядку, поэтому ошибка первого диапазона
+        // известна до начала остальных
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        IngestionMetrics metrics = IngestionMetrics.get();
+        metrics.reset();
+        metrics.setEnabled(true);
+        try {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> ParallelCSVReader.readPeopleFromFile(broken, true, single, CHUNK_SIZE,
+                            new ParseErrors(ErrorPolicy.failFast())));
+
+            assertTrue(e.getMessage().contains("строке 11"));
+            assertEquals(11, metrics.snapshot().lines());
+        } finally {
+            metrics.setEnabled(false);
+            metrics.reset();
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testSplitAtLineBreaks_BoundariesFollowNewline() throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            long[] bounds = ParallelCSVReader.splitAtLineBreaks(channel, CHUNK_SIZE);
+            byte[] bytes = Files.readAllBytes(file);
+
+            assertTrue(bounds.length > 2);
+            assertEquals(0, bounds[0]);
+            assertEquals(bytes.length, bounds[bounds.length - 1]);
+            for (int i = 1; i < bounds.length - 1; i++) {
+                assertEquals('\n', bytes[(int) bounds[i] - 1]);
+            }
+        }
+    }
+
+    @Test
+    void testInvalidParallelism_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> ParallelCSVReader.readPeopleFromFile(file, true, 0));
+    }
+
+    private static String captureErrors(Load load) throws IOException {
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            load.run();
+        } finally {
+            System.setErr(originalErr);
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        List<Person> run() throws IOException;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseErrorsTest {
+
+    private static final String CSV = """
+            id;name;gender;BirthDate;Division;Salary
+            1;Anna;Female;01.02.1990;A;1000
+            3;Vera;Female;05.06.1975
+            x;Gleb;Male;07.08.1965;A;3000
+            5;Dina;Female;32.13.1990;B;4000
+            -6;Egor;Male;09.10.1995;A;5000
+            7;Zoya;Female;01.01.2000;B;abc
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private static List<ParseError> expectedErrors() {
+        return List.of(
+                new ParseError(3, CSV.indexOf("3;Vera"), 4, ParseErrorCause.FIELD_COUNT,
+                        "Недостаточно полей. Ожидается 6, получено 4"),
+                new ParseError(4, CSV.indexOf("x;Gleb"), 0, ParseErrorCause.NUMBER_FORMAT,
+                        "Некорректный числовой формат"));
+    }
+
+    @Test
+    void testCollect_KeepsFirstErrorsAndCountsAll() throws IOException {
+        ParseErrors errors = new ParseErrors(ErrorPolicy.collect(2));
+        List<Person> people = CSVReader.readPeople(new BufferedReader(new StringReader(CSV)), errors);
+
+        assertEquals(1, people.size());
+        assertEquals(5, errors.getTotal());
+        assertEquals(expectedErrors(), errors.getErrors());
+        assertTrue(errors.isTruncated());
+        assertEquals(1, errors.getCount(ParseErrorCause.FIELD_COUNT));
+        assertEquals(2, errors.getCount(ParseErrorCause.NUMBER_FORMAT));
+        assertEquals(1, errors.getCount(ParseErrorCause.DATE_FORMAT));
+        assertEquals(1, errors.getCount(ParseErrorCause.VALIDATION));
+        assertEquals(0, errors.getCounts().get(ParseErrorCause.OTHER));
+    }
+
+    @Test
+    void testCollect_FieldIndexForEachCause() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("people.csv"), CSV);
+        ParseErrors errors = new ParseErrors(ErrorPolicy.collect(ErrorPolicy.DEFAULT_LIMIT));
+        MappedCSVReader.readPeopleFromFile(file, errors);
+
+        assertFalse(errors.isTruncated());
+        assertEquals(expectedErrors(), errors.getErrors().subList(0, 2));
+        List<Integer> fields = errors.getErrors().stream().map(ParseError::fieldIndex).toList();
+        assertEquals(List.of(4, 0, 3, 0, 5), fields);
+        assertEquals(CSV.indexOf("7;Zoya"), errors.getErrors().get(4).byteOffset());
+        assertEquals("Ошибка в строке 6: ID должен быть положительным числом [VALIDATION, поле 0, смещение "
+                + CSV.indexOf("-6;Egor") + "]", errors.getErrors().get(3).toString());
+    }
+
+    @Test
+    void testPrinting_KeepsPlainFormat() throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        ParseErrors errors = new ParseErrors(ErrorPolicy.collect(2), new PrintStream(log, true, StandardCharsets.UTF_8));
+        CSVReader.readPeople(new BufferedReader(new StringReader(CSV)), errors);
+
+        assertEquals(String.join(System.lineSeparator(),
+                "Ошибка в строке 3: Недостаточно полей. Ожидается 6, получено 4",
+                "Ошибка в строке 4: Некорректный числовой формат",
+                "Выведено ошибок: 2 из 5", ""), log.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSkip_CountsWithoutKeeping() throws IOException {
+        ParseErrors errors = new ParseErrors(ErrorPolicy.skip());
+        CSVReader.readPeople(new BufferedReader(new StringReader(CSV)), errors);
+
+        assertEquals(5, errors.getTotal());
+        assertTrue(errors.getErrors().isEmpty());
+    }
+
+    @Test
+    void testFailFast_StopsOnFirstError() {
+        ParseErrors errors = new ParseErrors(ErrorPolicy.failFast());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> CSVReader.readPeople(new BufferedReader(new StringReader(CSV)), errors));
+
+        assertTrue(e.getMessage().startsWith("Ошибка в строке 3: Недостаточно полей"));
+        assertEquals(1, errors.getTotal());
+    }
+
+    @Test
+    void testParallel_SameErrorsAsSequentialReader() throws IOException {
+        StringBuilder content = new StringBuilder("id;name;gender;BirthDate;Division;Salary\n");
+        for (int i = 1; i <= 2_000; i++) {
+            String id = i % 97 == 0 ? "bad" : Integer.toString(i);
+            content.append(id).append(";Name").append(i).append(";Male;01.01.1980;D").append(i % 5)
+                    .append(";").append(i).append('\n');
+        }
+        Path file = Files.writeString(tempDir.resolve("big.csv"), content);
+
+        ParseErrors sequential = new ParseErrors(ErrorPolicy.collect(10));
+        MappedCSVReader.readPeopleFromFile(file, sequential);
+
+        ExecutorService pool = new ForkJoinPool(4);
+        try {
+            ParseErrors parallel = new ParseErrors(ErrorPolicy.collect(10));
+            ParallelCSVReader.readPeopleFromFile(file, false, pool, 1024, parallel);
+            assertEquals(20, parallel.getTotal());
+            assertEquals(sequential.getErrors(), parallel.getErrors());
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                    ParallelCSVReader.readPeopleFromFile(file, true, pool, 1024,
+                            new ParseErrors(ErrorPolicy.failFast())));
+            assertTrue(e.getMessage().startsWith("Ошибка в строке 98:"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testValidationError_HasNoStackTrace() {
+        Department department = Department.getDepartment("A");
+        InvalidFieldException e = assertThrows(InvalidFieldException.class,
+                () -> new Person(1, "Anna", "Female", "01.02.1990", department, -1));
+
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals(CSVReader.SALARY_FIELD, e.getFieldIndex());
+        assertEquals(ParseErrorCause.VALIDATION, ParseErrorCause.of(e));
+    }
+}
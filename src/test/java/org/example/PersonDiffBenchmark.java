@@ -0,0 +1,115 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение двух выгрузок: поиск каждого сотрудника перебором второго списка
+ * (как в сравнении "вручную"), {@link PersonDiff#compare} для списков в произвольном
+ * порядке и {@link PersonDiff#compareSorted} для выгрузок, отсортированных по ID.
+ * Около 5% сотрудников принято, уволено, переведено или получили новую зарплату.
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=PersonDiffBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonDiffBenchmark {
+
+    @Param({"20000"})
+    public int rows;
+
+    private List<Person> before;
+    private List<Person> after;
+    private List<Person> shuffledBefore;
+    private List<Person> shuffledAfter;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate birthDate = LocalDate.of(1990, 1, 1);
+        before = new ArrayList<>(rows);
+        after = new ArrayList<>(rows);
+        for (int id = 1; id <= rows; id++) {
+            Department department = Department.getDepartment(SyntheticCsv.departmentName(random.nextInt(26)));
+            double salary = 1000 + random.nextInt(90) * 100;
+            int action = random.nextInt(80);
+            if (action != 0) {
+                before.add(new Person(id, "Name", "Male", birthDate, department, salary));
+            }
+            if (action == 1) {
+                continue;
+            }
+            if (action == 2) {
+                department = Department.getDepartment(SyntheticCsv.departmentName(random.nextInt(26)));
+            } else if (action == 3) {
+                salary += 500;
+            }
+            after.add(new Person(id, "Name", "Male", birthDate, department, salary));
+        }
+        shuffledBefore = new ArrayList<>(before);
+        shuffledAfter = new ArrayList<>(after);
+        Collections.shuffle(shuffledBefore, random);
+        Collections.shuffle(shuffledAfter, random);
+    }
+
+    @Benchmark
+    public int listScan() {
+        int changes = 0;
+        for (Person old : shuffledBefore) {
+            Person current = null;
+            for (Person person : shuffledAfter) {
+                if (person.getId() == old.getId()) {
+                    current = person;
+                    break;
+                }
+            }
+            if (current == null || current.getSalary() != old.getSalary()
+                    || current.getDepartment() != old.getDepartment()) {
+                changes++;
+            }
+        }
+        for (Person current : shuffledAfter) {
+            boolean found = false;
+            for (Person person : shuffledBefore) {
+                if (person.getId() == current.getId()) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                changes++;
+            }
+        }
+        return changes;
+    }
+
+    @Benchmark
+    public PersonDiff.Result compare() {
+        return PersonDiff.compare(shuffledBefore, shuffledAfter);
+    }
+
+    @Benchmark
+    public PersonDiff.Result compareSorted() {
+        return PersonDiff.compareSorted(before.stream(), after.stream());
+    }
+}
@@ -0,0 +1,114 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonDiffTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1990, 2, 1);
+
+    private static Person person(int id, String department, double salary) {
+        return new Person(id, "Name" + id, "Female", BIRTH_DATE, Department.getDepartment(department), salary);
+    }
+
+    @Test
+    void testCompare_FindsAllKindsOfChanges() {
+        List<Person> before = List.of(
+                person(5, "DiffA", 1000),
+                person(1, "DiffA", 2000),
+                person(3, "DiffB", 3000),
+                person(4, "DiffB", 4000));
+        List<Person> after = List.of(
+                person(3, "DiffA", 3500),
+                person(6, "DiffB", 1500),
+                person(1, "DiffA", 2000),
+                person(4, "DiffB", 4200));
+
+        PersonDiff.Result result = PersonDiff.compare(before, after);
+
+        assertEquals(List.of(6), result.hires().stream().map(Person::getId).toList());
+        assertEquals(List.of(5), result.leavers().stream().map(Person::getId).toList());
+        assertEquals(List.of(3, 4), result.salaryChanges().stream().map(change -> change.after().getId()).toList());
+        assertEquals(List.of(3), result.departmentMoves().stream().map(change -> change.after().getId()).toList());
+        assertEquals(200, result.salaryChanges().get(1).salaryDelta());
+        assertFalse(result.isEmpty());
+
+        Map<String, PersonDiff.DepartmentDelta> departments = result.departments().stream()
+                .collect(Collectors.toMap(delta -> delta.department().getName(), delta -> delta));
+        assertEquals(2, departments.size());
+        // DiffA: уволен 5 (-1000), переведен 3 (+3500); DiffB: ушел 3 (-3000), принят 6 (+1500), 4 (+200)
+        assertEquals(0, departments.get("DiffA").headcount());
+        assertEquals(2500, departments.get("DiffA").payroll());
+        assertEquals(0, departments.get("DiffB").headcount());
+        assertEquals(-1300, departments.get("DiffB").payroll());
+
+        assertTrue(PersonDiff.compare(before, before).isEmpty());
+        assertTrue(PersonDiff.compare(before, before).departments().isEmpty());
+    }
+
+    @Test
+    void testCompareSorted_SameAsUnsortedAndMatchesTotals() {
+        Random random = new Random(20);
+        String[] departments = {"DiffX", "DiffY", "DiffZ"};
+        List<Person> before = new ArrayList<>();
+        List<Person> after = new ArrayList<>();
+        for (int id = 1; id <= 5_000; id++) {
+            Person old = person(id, departments[random.nextInt(3)], 1000 + random.nextInt(50) * 100);
+            int action = random.nextInt(10);
+            if (action != 0) {
+                before.add(old);
+            }
+            if (action == 1) {
+                continue;
+            }
+            String department = action == 2 ? departments[random.nextInt(3)] : old.getDepartment().getName();
+            double salary = action == 3 ? old.getSalary() + 100 : old.getSalary();
+            after.add(person(id, department, salary));
+        }
+
+        PersonDiff.Result sorted = PersonDiff.compareSorted(before.stream(), after.stream());
+        List<Person> shuffledBefore = new ArrayList<>(before);
+        List<Person> shuffledAfter = new ArrayList<>(after);
+        Collections.shuffle(shuffledBefore, random);
+        Collections.shuffle(shuffledAfter, random);
+        assertEquals(sorted, PersonDiff.compare(shuffledBefore, shuffledAfter));
+
+        // Изменения по подразделениям совпадают с разницей полной агрегации выгрузок
+        Map<Department, Integer> headcount = new HashMap<>();
+        Map<Department, Double> payroll = new HashMap<>();
+        for (Person person : after) {
+            headcount.merge(person.getDepartment(), 1, Integer::sum);
+            payroll.merge(person.getDepartment(), person.getSalary(), Double::sum);
+        }
+        for (Person person : before) {
+            headcount.merge(person.getDepartment(), -1, Integer::sum);
+            payroll.merge(person.getDepartment(), -person.getSalary(), Double::sum);
+        }
+        for (PersonDiff.DepartmentDelta delta : sorted.departments()) {
+            assertEquals(headcount.get(delta.department()), delta.headcount());
+            assertEquals(payroll.get(delta.department()), delta.payroll(), 1e-6);
+        }
+        assertEquals(3, sorted.departments().size());
+    }
+
+    @Test
+    void testDuplicateOrUnsortedIds_Rejected() {
+        List<Person> duplicates = List.of(person(1, "DiffA", 1000), person(1, "DiffA", 2000));
+        List<Person> unsorted = List.of(person(2, "DiffA", 1000), person(1, "DiffA", 2000));
+
+        assertThrows(IllegalArgumentException.class, () -> PersonDiff.compare(duplicates, List.of()));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> PersonDiff.compareSorted(List.<Person>of().stream(), unsorted.stream()));
+        assertTrue(e.getMessage().contains("в сегодняшней выгрузке: 1 после 2"));
+    }
+}
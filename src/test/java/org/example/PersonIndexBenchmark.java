@@ -0,0 +1,135 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Задержка запросов через {@link PersonIndex} в сравнении с фильтрацией потока по списку.
+ * Каждая операция использует следующие параметры из заранее подготовленного набора.
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=PersonIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PersonIndexBenchmark {
+
+    private static final int QUERIES = 1 << 10;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private List<Person> people;
+    private PersonIndex index;
+
+    private int[] ids;
+    private Department[] departments;
+    private double[] minSalaries;
+    private LocalDate[] fromDates;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int nextIndex() {
+            return next++ & (QUERIES - 1);
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Path file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), rows, 26, 42);
+        try {
+            people = MappedCSVReader.readPeopleFromFile(file);
+        } finally {
+            Files.delete(file);
+        }
+        index = PersonIndex.build(people);
+
+        Random random = new Random(1);
+        ids = new int[QUERIES];
+        departments = new Department[QUERIES];
+        minSalaries = new double[QUERIES];
+        fromDates = new LocalDate[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            ids[i] = 1 + random.nextInt(rows);
+            departments[i] = people.get(random.nextInt(rows)).getDepartment();
+            minSalaries[i] = 1000 + random.nextInt(90) * 100;
+            fromDates[i] = LocalDate.of(1940 + random.nextInt(60), 1 + random.nextInt(12), 1);
+        }
+    }
+
+    @Benchmark
+    public Person findByIdIndexed(Cursor cursor) {
+        return index.findById(ids[cursor.nextIndex()]);
+    }
+
+    @Benchmark
+    public Person findByIdStream(Cursor cursor) {
+        int id = ids[cursor.nextIndex()];
+        return people.stream().filter(p -> p.getId() == id).findFirst().orElse(null);
+    }
+
+    /**
+     * Узкий диапазон зарплат: около 1% строк.
+     */
+    @Benchmark
+    public int salaryRangeIndexed(Cursor cursor) {
+        double min = minSalaries[cursor.nextIndex()];
+        return index.bySalary(min, min).size();
+    }
+
+    @Benchmark
+    public int salaryRangeStream(Cursor cursor) {
+        double min = minSalaries[cursor.nextIndex()];
+        return (int) people.stream().filter(p -> p.getSalary() >= min && p.getSalary() <= min).count();
+    }
+
+    /**
+     * Подразделение, диапазон зарплат и пятилетний диапазон дат рождения.
+     */
+    @Benchmark
+    public List<Person> combinedIndexed(Cursor cursor) {
+        int i = cursor.nextIndex();
+        double min = minSalaries[i];
+        return index.query()
+                .department(departments[i])
+                .salaryBetween(min, min + 2000)
+                .bornBetween(fromDates[i], fromDates[i].plusYears(5))
+                .list();
+    }
+
+    @Benchmark
+    public List<Person> combinedStream(Cursor cursor) {
+        int i = cursor.nextIndex();
+        Department department = departments[i];
+        double min = minSalaries[i];
+        LocalDate from = fromDates[i];
+        LocalDate to = from.plusYears(5);
+        return people.stream()
+                .filter(p -> p.getDepartment() == department)
+                .filter(p -> p.getSalary() >= min && p.getSalary() <= min + 2000)
+                .filter(p -> !p.getBirthDate().isBefore(from) && !p.getBirthDate().isAfter(to))
+                .toList();
+    }
+}
@@ -0,0 +1,91 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonIndexTest {
+
+    private static List<Person> people;
+    private static PersonIndex index;
+
+    @BeforeAll
+    static void setUp(@TempDir Path tempDir) throws IOException {
+        Path file = SyntheticCsv.generate(tempDir.resolve("people.csv"), 20_000, 15, 21);
+        people = MappedCSVReader.readPeopleFromFile(file);
+        index = PersonIndex.build(people);
+    }
+
+    @Test
+    void testFindById() {
+        assertEquals(people.size(), index.size());
+        for (Person person : people) {
+            assertSame(person, index.findById(person.getId()));
+        }
+        assertNull(index.findById(0));
+        assertNull(index.findById(people.size() + 1));
+        assertNull(PersonIndex.build(List.of()).findById(1));
+    }
+
+    @Test
+    void testSingleFilters_SameAsStreamFilter() {
+        Department department = people.get(0).getDepartment();
+        assertEquals(filter(p -> p.getDepartment() == department), index.byDepartment(department));
+        assertEquals(filter(p -> p.getSalary() >= 3000 && p.getSalary() <= 4500), index.bySalary(3000, 4500));
+
+        LocalDate from = LocalDate.of(1970, 1, 1);
+        LocalDate to = LocalDate.of(1979, 12, 31);
+        assertEquals(filter(p -> !p.getBirthDate().isBefore(from) && !p.getBirthDate().isAfter(to)),
+                index.byBirthDate(from, to));
+
+        assertEquals(index.bySalary(3000, 4500).size(), index.query().salaryBetween(3000, 4500).count());
+        assertTrue(index.bySalary(5000, 4000).isEmpty());
+        assertEquals(0, index.query().salaryBetween(5000, 4000).count());
+        assertTrue(index.byDepartment(Department.getDepartment("Нет такого отдела")).isEmpty());
+    }
+
+    @Test
+    void testCombinedFilters_SameAsStreamFilter() {
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            Department department = people.get(random.nextInt(people.size())).getDepartment();
+            double minSalary = 1000 + random.nextInt(9000);
+            double maxSalary = minSalary + random.nextInt(3000);
+            LocalDate from = LocalDate.of(1940 + random.nextInt(65), 1, 1);
+            LocalDate to = from.plusDays(random.nextInt(8000));
+
+            List<Person> expected = filter(p -> p.getDepartment() == department
+                    && p.getSalary() >= minSalary && p.getSalary() <= maxSalary
+                    && !p.getBirthDate().isBefore(from) && !p.getBirthDate().isAfter(to));
+            PersonIndex.Query query = index.query()
+                    .department(department)
+                    .salaryBetween(minSalary, maxSalary)
+                    .bornBetween(from, to);
+
+            assertEquals(expected, query.list());
+            assertEquals(expected.size(), query.count());
+        }
+    }
+
+    @Test
+    void testResultIsUnmodifiable() {
+        List<Person> result = index.bySalary(1000, 2000);
+        assertThrows(UnsupportedOperationException.class, () -> result.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> index.query().list().clear());
+        assertThrows(IndexOutOfBoundsException.class, () -> result.get(result.size()));
+    }
+
+    private static List<Person> filter(Predicate<Person> predicate) {
+        return people.stream().filter(predicate).collect(Collectors.toList());
+    }
+}
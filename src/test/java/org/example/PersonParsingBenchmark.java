@@ -0,0 +1,115 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры JMH для разбора одной строки CSV, создания объекта {@link Person},
+ * поиска подразделения по названию и чтения data.csv из ресурсов.
+ * Каждая операция берет следующую строку из заранее сгенерированного набора,
+ * чтобы замер не сводился к одной и той же строке в кэше.
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=PersonParsingBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonParsingBenchmark {
+
+    /** Количество строк в наборе; степень двойки для перехода к следующей строке по маске */
+    private static final int LINES = 1 << 12;
+
+    @Param({"10", "1000"})
+    public int departments;
+
+    private String[] lines;
+    private String[][] fields;
+    private String[] departmentNames;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), LINES, departments, 7);
+        try {
+            List<String> all = Files.readAllLines(file);
+            lines = all.subList(1, all.size()).toArray(new String[0]);
+        } finally {
+            Files.delete(file);
+        }
+
+        fields = new String[LINES][];
+        departmentNames = new String[LINES];
+        for (int i = 0; i < LINES; i++) {
+            fields[i] = lines[i].split(";");
+            departmentNames[i] = fields[i][4];
+            Department.getDepartment(departmentNames[i]);
+        }
+    }
+
+    private int nextIndex() {
+        return next++ & (LINES - 1);
+    }
+
+    /**
+     * Разбор строки: разбиение на поля, числа, дата, подразделение и создание Person.
+     */
+    @Benchmark
+    public Person parsePersonLine() {
+        int i = nextIndex();
+        return CSVReader.parsePersonLine(lines[i], i + 2);
+    }
+
+    /**
+     * Только создание Person из уже разбитых полей, включая разбор даты и проверку параметров.
+     */
+    @Benchmark
+    public Person newPerson() {
+        String[] f = fields[nextIndex()];
+        return new Person(Integer.parseInt(f[0]), f[1], f[2], f[3],
+                Department.getDepartment(f[4]), Double.parseDouble(f[5]));
+    }
+
+    /**
+     * Поиск уже зарегистрированного подразделения по названию.
+     */
+    @Benchmark
+    public Department getDepartment() {
+        return Department.getDepartment(departmentNames[nextIndex()]);
+    }
+
+    /**
+     * Поиск подразделения по фрагменту строки без создания подстроки.
+     */
+    @Benchmark
+    public Department getDepartmentSlice() {
+        String name = departmentNames[nextIndex()];
+        return Department.getDepartment(name, 0, name.length());
+    }
+
+    /**
+     * Чтение небольшого data.csv из ресурсов целиком.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<Person> readPeopleFromResource() throws IOException {
+        return CSVReader.readPeopleFromResource("data.csv");
+    }
+}
@@ -0,0 +1,139 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static void assertSameTable(PersonTable expected, PersonTable actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getId(i), actual.getId(i));
+            assertEquals(expected.getName(i), actual.getName(i));
+            assertEquals(expected.getGender(i), actual.getGender(i));
+            assertEquals(expected.getBirthEpochDay(i), actual.getBirthEpochDay(i));
+            assertSame(expected.getDepartment(i), actual.getDepartment(i));
+            assertEquals(expected.getSalary(i), actual.getSalary(i), 0.0);
+        }
+    }
+
+    @Test
+    void testWriteAndLoad_SameTable() throws IOException {
+        Path csv = SyntheticCsv.generate(tempDir.resolve("people.csv"), 20_000, 30, 3);
+        Path snapshot = tempDir.resolve("people.snap");
+        PersonTable table = PersonTable.readFromFile(csv);
+
+        PersonSnapshot.write(table, snapshot, Files.size(csv), Files.getLastModifiedTime(csv).toMillis());
+
+        assertSameTable(table, PersonSnapshot.load(snapshot));
+    }
+
+    @Test
+    void testManyGenders_WideCodesKeptAndLoaded() throws IOException {
+        Department department = Department.getDepartment("Склад");
+        PersonTable.Builder builder = new PersonTable.Builder(16);
+        int genders = PersonTable.MAX_BYTE_GENDER_CODES + 72;
+        for (int id = 1; id <= 2 * genders; id++) {
+            builder.add(id, "Name" + id, " Gender" + (id % genders) + " ", "01.02.1990", department, 1000 + id);
+        }
+        PersonTable table = builder.build();
+
+        assertEquals(2 * genders, table.size());
+        assertEquals(genders, table.genderDictionarySize());
+        for (int row = 0; row < table.size(); row++) {
+            assertEquals("Gender" + ((row + 1) % genders), table.getGender(row));
+        }
+
+        Path snapshot = tempDir.resolve("people.snap");
+        PersonSnapshot.write(table, snapshot, 0, 0);
+        assertSameTable(table, PersonSnapshot.load(snapshot));
+        assertSameTable(table, PersonSnapshot.load(snapshot, 4096));
+    }
+
+    @Test
+    void testLoad_CorruptedSnapshot_Throws() throws IOException {
+        Path csv = SyntheticCsv.generate(tempDir.resolve("people.csv"), 1_000, 5, 4);
+        Path snapshot = tempDir.resolve("people.snap");
+        PersonSnapshot.write(PersonTable.readFromFile(csv), snapshot, 0, 0);
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(snapshot, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> PersonSnapshot.load(snapshot));
+        assertTrue(e.getMessage().contains("Контрольная сумма"));
+
+        Files.write(snapshot, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> PersonSnapshot.load(snapshot));
+    }
+
+    @Test
+    void testLoadOrRebuild_ReusesFreshSnapshot() throws IOException {
+        Path csv = SyntheticCsv.generate(tempDir.resolve("people.csv"), 5_000, 10, 5);
+        Path snapshot = tempDir.resolve("people.snap");
+
+        PersonTable first = PersonSnapshot.loadOrRebuild(csv, snapshot);
+        assertTrue(Files.exists(snapshot));
+        FileTime written = Files.getLastModifiedTime(snapshot);
+
+        PersonTable second = PersonSnapshot.loadOrRebuild(csv, snapshot);
+        assertEquals(written, Files.getLastModifiedTime(snapshot));
+        assertSameTable(first, second);
+    }
+
+    @Test
+    void testLoadOrRebuild_ChangedCsv_Rebuilds() throws IOException {
+        Path csv = SyntheticCsv.generate(tempDir.resolve("people.csv"), 5_000, 10, 6);
+        Path snapshot = tempDir.resolve("people.snap");
+        assertEquals(5_000, PersonSnapshot.loadOrRebuild(csv, snapshot).size());
+
+        SyntheticCsv.generate(csv, 7_000, 10, 7);
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        assertEquals(7_000, PersonSnapshot.loadOrRebuild(csv, snapshot).size());
+        assertEquals(7_000, PersonSnapshot.load(snapshot).size());
+    }
+
+    @Test
+    void testLoad_SmallWindows_SameTable() throws IOException {
+        Path csv = SyntheticCsv.generate(tempDir.resolve("people.csv"), 3_000, 12, 8, true);
+        Path snapshot = tempDir.resolve("people.snap");
+        PersonTable table = PersonTable.readFromFile(csv);
+        PersonSnapshot.write(table, snapshot, 0, 0);
+
+        // Окна меньше строк словаря и не кратные размерам столбцов
+        for (int windowSize : new int[]{9, 100, 4_099}) {
+            assertSameTable(table, PersonSnapshot.load(snapshot, windowSize));
+        }
+    }
+
+    @Test
+    void testLoadOrRebuild_CorruptedHeader_Rebuilds() throws IOException {
+        Path csv = SyntheticCsv.generate(tempDir.resolve("people.csv"), 2_000, 10, 9);
+        Path snapshot = tempDir.resolve("people.snap");
+        PersonTable table = PersonSnapshot.loadOrRebuild(csv, snapshot);
+
+        // Количество строк в заголовке больше, чем помещается в файл
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[24] = (byte) 0xFF;
+        bytes[25] = (byte) 0xFF;
+        bytes[26] = (byte) 0xFF;
+        bytes[27] = 0x7F;
+        Files.write(snapshot, bytes);
+        IOException e = assertThrows(IOException.class, () -> PersonSnapshot.load(snapshot));
+        assertTrue(e.getMessage().contains("Заголовок"));
+
+        assertSameTable(table, PersonSnapshot.loadOrRebuild(csv, snapshot));
+        assertSameTable(table, PersonSnapshot.load(snapshot));
+    }
+}
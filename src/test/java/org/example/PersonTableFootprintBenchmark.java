@@ -0,0 +1,77 @@
+package org.example;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Сравнение объема кучи, занимаемого {@code List<Person>} и {@link PersonTable}
+ * с одинаковыми данными. Строки создаются так же, как при разборе файла:
+ * у каждой строки свои экземпляры имени и пола.
+ * <p>
+ * Запуск: {@code java -Xmx12g PersonTableFootprintBenchmark [строк...]}, по умолчанию 1M и 10M.
+ */
+public class PersonTableFootprintBenchmark {
+
+    private static final String[] NAMES = {
+            "Aahan", "Aala", "Aaleahya", "Aaleyah", "Aalijah", "Aaliyah", "Aamori",
+            "Aanjay", "Aaralyn", "Aaric", "Aarika", "Aaron", "Aarshiya", "Aart"
+    };
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1_000_000, 10_000_000};
+
+        for (int rows : sizes) {
+            long listBytes = measure(() -> people(rows));
+            long tableBytes = measure(() -> PersonTable.fromPeople(people(rows)));
+
+            System.out.printf("%,d строк: List<Person> %,d МБ (%.1f байт/строка), "
+                            + "PersonTable %,d МБ (%.1f байт/строка), в %.1f раза меньше%n",
+                    rows, listBytes >> 20, (double) listBytes / rows,
+                    tableBytes >> 20, (double) tableBytes / rows, (double) listBytes / tableBytes);
+        }
+    }
+
+    /**
+     * Создает список людей с синтетическими данными.
+     */
+    private static List<Person> people(int rows) {
+        Random random = new Random(42);
+        List<Person> people = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String birthDate = String.format("%02d.%02d.%04d",
+                    1 + random.nextInt(28), 1 + random.nextInt(12), 1940 + random.nextInt(65));
+            people.add(new Person(i + 1,
+                    new String(NAMES[random.nextInt(NAMES.length)]),
+                    new String(random.nextBoolean() ? "Male" : "Female"),
+                    birthDate,
+                    Department.getDepartment(SyntheticCsv.departmentName(random.nextInt(26))),
+                    1000 + random.nextInt(90) * 100));
+        }
+        return people;
+    }
+
+    /**
+     * Возвращает прирост занятой кучи, пока созданный объект достижим.
+     */
+    private static long measure(Supplier<Object> factory) {
+        long before = usedHeap();
+        Object retained = factory.get();
+        long after = usedHeap();
+        Reference.reachabilityFence(retained);
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,96 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonTableTest {
+
+    private static List<Person> people;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        people = CSVReader.readPeopleFromResource("data.csv");
+    }
+
+    @Test
+    void testFromPeople_SameDataInSameOrder() {
+        PersonTable table = PersonTable.fromPeople(people);
+
+        assertEquals(people.size(), table.size());
+        for (int i = 0; i < people.size(); i++) {
+            Person person = people.get(i);
+            assertEquals(person.getId(), table.getId(i));
+            assertEquals(person.getName(), table.getName(i));
+            assertEquals(person.getGender(), table.getGender(i));
+            assertEquals(person.getBirthDate(), table.getBirthDate(i));
+            assertSame(person.getDepartment(), table.getDepartment(i));
+            assertEquals(person.getDepartment().getId(), table.getDepartmentId(i));
+            assertEquals(person.getSalary(), table.getSalary(i), 0.0);
+        }
+
+        // В data.csv имена Aaliyah и Aaron повторяются, а пол принимает два значения
+        assertEquals(14, table.nameDictionarySize());
+        assertEquals(2, table.genderDictionarySize());
+    }
+
+    @Test
+    void testReadFromFile_SameAsFromPeople() throws IOException, URISyntaxException {
+        Path dataCsv = Path.of(getClass().getClassLoader().getResource("data.csv").toURI());
+        PersonTable table = PersonTable.readFromFile(dataCsv);
+
+        assertEquals(16, table.size());
+        PersonTable.Row last = table.row(15);
+        assertEquals(28296, last.getId());
+        assertEquals("Aart", last.getName());
+        assertEquals(LocalDate.of(1992, 4, 14), last.getBirthDate());
+        assertEquals("F", last.getDepartment().getName());
+        assertEquals(3900.0, last.getSalary(), 0.001);
+    }
+
+    @Test
+    void testRowToPerson_SameFields() {
+        PersonTable table = PersonTable.fromPeople(people);
+        Person original = people.get(3);
+        Person restored = table.rows().get(3).toPerson();
+
+        assertEquals(original.getId(), restored.getId());
+        assertEquals(original.getName(), restored.getName());
+        assertEquals(original.getBirthDate(), restored.getBirthDate());
+        assertSame(original.getDepartment(), restored.getDepartment());
+        assertEquals(original.toString(), restored.toString());
+    }
+
+    @Test
+    void testInvalidRowsAreSkipped() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("invalid.csv"),
+                "id;name;gender;BirthDate;Division;Salary\n"
+                        + "1;Anna;Female;01.02.1990;A;-5\n"
+                        + "0;Bob;Male;01.02.1990;A;100\n"
+                        + "2;Carl;Male;01.02.1990;A;100\n");
+
+        PersonTable table = PersonTable.readFromFile(file);
+
+        assertEquals(1, table.size());
+        assertEquals(2, table.getId(0));
+    }
+
+    @Test
+    void testRowOutOfBounds_ThrowsException() {
+        PersonTable table = PersonTable.fromPeople(people);
+        assertThrows(IndexOutOfBoundsException.class, () -> table.row(people.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getId(-1));
+    }
+}
@@ -0,0 +1,109 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вывод списка сотрудников в файл: прежний путь {@code println(person)} через PrintStream
+ * с автосбросом, как у System.out, против {@link ReportWriter} в каждом из форматов.
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=ReportWriterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReportWriterBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private List<Person> people;
+    private PersonTable table;
+    private Path output;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), rows, 26, 42);
+        try {
+            people = MappedCSVReader.readPeopleFromFile(file);
+        } finally {
+            Files.delete(file);
+        }
+        table = PersonTable.fromPeople(people);
+        output = Files.createTempFile("report", ".txt");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public void printlnToString() throws IOException {
+        try (PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output.toFile())),
+                true, StandardCharsets.UTF_8)) {
+            for (Person person : people) {
+                out.println(person);
+            }
+        }
+    }
+
+    @Benchmark
+    public long writerTable() throws IOException {
+        return write(ReportWriter.Format.TABLE);
+    }
+
+    @Benchmark
+    public long writerCsv() throws IOException {
+        return write(ReportWriter.Format.CSV);
+    }
+
+    @Benchmark
+    public long writerJsonLines() throws IOException {
+        return write(ReportWriter.Format.JSON_LINES);
+    }
+
+    /**
+     * Таблица из колоночного хранилища без создания объектов Person.
+     */
+    @Benchmark
+    public long writerTableFromColumns() throws IOException {
+        try (ReportWriter writer = ReportWriter.toFile(output, ReportWriter.Format.TABLE, LocalDate.now())) {
+            writer.writeAll(table);
+            return writer.getRowCount();
+        }
+    }
+
+    private long write(ReportWriter.Format format) throws IOException {
+        try (ReportWriter writer = ReportWriter.toFile(output, format, LocalDate.now())) {
+            for (Person person : people) {
+                writer.write(person);
+            }
+            return writer.getRowCount();
+        }
+    }
+}
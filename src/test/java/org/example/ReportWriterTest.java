@@ -0,0 +1,161 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportWriterTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+
+    private static List<Person> people;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        people = CSVReader.readPeopleFromResource("data.csv");
+    }
+
+    private static String render(ReportWriter.Format format, LocalDate referenceDate, int bufferSize,
+                                 List<Person> people) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ReportWriter writer = new ReportWriter(Channels.newChannel(bytes), true, format,
+                referenceDate, bufferSize)) {
+            for (Person person : people) {
+                writer.write(person);
+            }
+            assertEquals(people.size(), writer.getRowCount());
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testTable_SameAsToString() throws IOException {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ROOT);
+        try {
+            String[] lines = render(ReportWriter.Format.TABLE, LocalDate.now(), 64, people).split("\n");
+            assertEquals(people.size(), lines.length);
+            for (int i = 0; i < lines.length; i++) {
+                assertEquals(people.get(i).toString(), lines[i]);
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, 0.125, 1.005, 2.675, 1234.5, 99999.995, 12345678.9, 1e16})
+    void testTable_SalaryRoundedAsFormat(double salary) throws IOException {
+        Person person = new Person(1, "Имя", "Female", "01.01.2000", Department.getDepartment("F"), salary);
+        String line = render(ReportWriter.Format.TABLE, REFERENCE_DATE, 256, List.of(person));
+
+        assertTrue(line.contains("Зарплата: " + String.format(Locale.ROOT, "%8.2f", salary) + " "), line);
+        assertTrue(line.endsWith("Возраст: 25\n"), line);
+    }
+
+    @Test
+    void testCsv_ReadsBackSamePeople() throws IOException {
+        String csv = render(ReportWriter.Format.CSV, REFERENCE_DATE, 64, people);
+        List<Person> readBack = CSVReader.readPeople(new BufferedReader(new StringReader(csv)));
+
+        assertEquals(people.size(), readBack.size());
+        for (int i = 0; i < people.size(); i++) {
+            Person expected = people.get(i);
+            Person actual = readBack.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getGender(), actual.getGender());
+            assertEquals(expected.getBirthDate(), actual.getBirthDate());
+            assertSame(expected.getDepartment(), actual.getDepartment());
+            assertEquals(expected.getSalary(), actual.getSalary(), 0.0);
+        }
+
+        assertEquals("id;name;gender;BirthDate;Division;Salary\n",
+                render(ReportWriter.Format.CSV, REFERENCE_DATE, 64, List.of()));
+    }
+
+    @Test
+    void testCsv_QuotesSeparatorsAndQuotes_ReadsBackWithQuoteAware() throws IOException {
+        Department department = Department.getDepartment("Отдел; \"Б\"");
+        List<Person> quoted = List.of(
+                new Person(1, "Анна \"Мария\"", "Female", "29.02.2000", department, 1500.5),
+                new Person(2, "Smith; John", "Male", "01.01.1980", department, 2000));
+
+        String csv = render(ReportWriter.Format.CSV, REFERENCE_DATE, 64, quoted);
+
+        assertTrue(csv.contains("\n1;\"Анна \"\"Мария\"\"\";Female;29.02.2000;\"Отдел; \"\"Б\"\"\";1500.5\n"));
+        List<Person> readBack = CSVReader.readPeople(new BufferedReader(new StringReader(csv)),
+                new ParseErrors(ErrorPolicy.failFast()), RowTokenizer.quoteAware());
+        assertEquals(quoted.size(), readBack.size());
+        for (int i = 0; i < quoted.size(); i++) {
+            assertEquals(quoted.get(i).getName(), readBack.get(i).getName());
+            assertSame(department, readBack.get(i).getDepartment());
+            assertEquals(quoted.get(i).getSalary(), readBack.get(i).getSalary(), 0.0);
+        }
+    }
+
+    @Test
+    void testJsonLines_EscapesStrings() throws IOException {
+        Department department = Department.getDepartment("Отдел \"Б\"");
+        Person person = new Person(7, "Anna\\Maria", "Female", "29.02.2000", department, 1500.5);
+
+        String json = render(ReportWriter.Format.JSON_LINES, REFERENCE_DATE, 64, List.of(person));
+
+        assertEquals("{\"id\":7,\"name\":\"Anna\\\\Maria\",\"gender\":\"Female\",\"birthDate\":\"2000-02-29\","
+                + "\"department\":\"Отдел \\\"Б\\\"\",\"departmentId\":" + department.getId()
+                + ",\"salary\":1500.5,\"age\":24}\n", json);
+    }
+
+    @Test
+    void testWriteTable_ToFile(@TempDir Path tempDir) throws IOException {
+        PersonTable table = PersonTable.fromPeople(people);
+        Path file = tempDir.resolve("people.jsonl");
+
+        try (ReportWriter writer = ReportWriter.toFile(file, ReportWriter.Format.JSON_LINES, REFERENCE_DATE)) {
+            writer.writeAll(table);
+        }
+
+        assertEquals(render(ReportWriter.Format.JSON_LINES, REFERENCE_DATE, 64, people),
+                Files.readString(file));
+    }
+
+    @Test
+    void testToStdout_WritesThroughSystemOutInItsCharset() throws IOException {
+        Charset charset = Charset.forName("windows-1251");
+        Person person = new Person(3, "Глеб", "Male", "05.06.1975", Department.getDepartment("Склад"), 3000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(bytes, false, charset));
+        try {
+            System.out.print("до;");
+            try (ReportWriter writer = ReportWriter.toStdout(ReportWriter.Format.CSV, REFERENCE_DATE)) {
+                writer.write(person);
+            }
+            System.out.print("после");
+            System.out.flush();
+        } finally {
+            System.setOut(stdout);
+        }
+
+        assertEquals("до;id;name;gender;BirthDate;Division;Salary\n3;Глеб;Male;05.06.1975;Склад;3000\nпосле",
+                bytes.toString(charset));
+    }
+}
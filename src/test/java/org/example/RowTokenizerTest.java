@@ -0,0 +1,128 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowTokenizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static RowTokenizer tokenizer(String kind) {
+        return switch (kind) {
+            case "split" -> RowTokenizer.split();
+            case "openCsv" -> RowTokenizer.openCsv();
+            default -> RowTokenizer.quoteAware();
+        };
+    }
+
+    private static List<String> tokenize(RowTokenizer tokenizer, String line) {
+        String[] fields = new String[16];
+        int count = tokenizer.tokenize(line, fields);
+        return Arrays.asList(fields).subList(0, count);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"split", "openCsv", "quoteAware"})
+    void testSimpleRows_SameAsSplit(String kind) {
+        RowTokenizer tokenizer = tokenizer(kind);
+        String[] lines = {
+                "1;Anna;Female;01.02.1990;A;1000",
+                "1; Anna ;Female;;A;1000",
+                "a;b;;",
+                ";;x",
+                "x"
+        };
+        for (String line : lines) {
+            assertEquals(List.of(line.split(";")), tokenize(tokenizer, line), line);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"openCsv", "quoteAware"})
+    void testQuotedFields(String kind) {
+        RowTokenizer tokenizer = tokenizer(kind);
+
+        assertEquals(List.of("1", "Smith; John", "Male", "01.02.1990", "A", "1000"),
+                tokenize(tokenizer, "1;\"Smith; John\";Male;01.02.1990;A;1000"));
+        assertEquals(List.of("say \"hi\"", "", "x"), tokenize(tokenizer, "\"say \"\"hi\"\"\";\"\";x"));
+        assertEquals(List.of("a", "b"), tokenize(tokenizer, "a;\"b\";\"\""));
+    }
+
+    @Test
+    void testQuoteAware_UnterminatedQuote() {
+        InvalidFieldException e = assertThrows(InvalidFieldException.class,
+                () -> tokenize(RowTokenizer.quoteAware(), "1;\"Anna;Female"));
+        assertEquals(ParseErrorCause.OTHER, e.getErrorCause());
+        assertEquals(1, e.getFieldIndex());
+    }
+
+    @Test
+    void testQuoteAware_SameAsOpenCsvOnRandomRows() {
+        RowTokenizer expected = RowTokenizer.openCsv();
+        RowTokenizer actual = RowTokenizer.quoteAware();
+        Random random = new Random(17);
+        String[] pieces = {"a", "bc", " ", ";", "\"x;y\"", "\"q\"\"q\"", "\"\""};
+
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder line = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            boolean afterQuoted = false;
+            for (int j = 0; j < length; j++) {
+                // Поле в кавычках занимает поле целиком: перед ним и после него стоят разделители
+                String piece = pieces[random.nextInt(pieces.length)];
+                boolean quoted = piece.startsWith("\"");
+                boolean fieldStart = line.isEmpty() || line.charAt(line.length() - 1) == ';';
+                if ((quoted && !fieldStart) || (afterQuoted && !piece.equals(";"))) {
+                    line.append(';');
+                }
+                line.append(piece);
+                afterQuoted = quoted;
+            }
+            assertEquals(tokenize(expected, line.toString()), tokenize(actual, line.toString()), line.toString());
+        }
+    }
+
+    @Test
+    void testShortFieldArray_CountsAllFields() {
+        String[] fields = new String[2];
+        assertEquals(4, RowTokenizer.quoteAware().tokenize("a;b;c;d", fields));
+        assertArrayEquals(new String[]{"a", "b"}, fields);
+    }
+
+    @Test
+    void testReaders_QuotedSeparatorInName() throws IOException {
+        String csv = """
+                id;name;gender;BirthDate;Division;Salary
+                1;"Smith; John";Male;01.02.1990;"Sales";1000
+                2;Anna;Female;03.04.1985;Sales;2000
+                """;
+        ParseErrors errors = new ParseErrors(ErrorPolicy.failFast());
+        List<Person> lineReader = CSVReader.readPeople(new BufferedReader(new StringReader(csv)), errors);
+        List<Person> byteReader = MappedCSVReader.readPeopleFromFile(
+                Files.writeString(tempDir.resolve("quoted.csv"), csv), errors);
+
+        for (List<Person> people : List.of(lineReader, byteReader)) {
+            assertEquals(2, people.size());
+            assertEquals("Smith; John", people.get(0).getName());
+            assertSame(people.get(1).getDepartment(), people.get(0).getDepartment());
+        }
+
+        ParseErrors splitErrors = new ParseErrors(ErrorPolicy.collect(10));
+        CSVReader.readPeople(new BufferedReader(new StringReader(csv)), splitErrors, RowTokenizer.split());
+        assertEquals(1, splitErrors.getTotal());
+    }
+}
@@ -0,0 +1,166 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsAggregatorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+
+    private static List<Person> people;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        people = CSVReader.readPeopleFromResource("data.csv");
+    }
+
+    private static StatisticsReport aggregate(List<Person> people, boolean parallel) {
+        return (parallel ? people.parallelStream() : people.stream())
+                .collect(StatisticsAggregator.collector(REFERENCE_DATE, 10));
+    }
+
+    @Test
+    void testDepartmentStatistics() {
+        StatisticsReport report = aggregate(people, false);
+
+        // В отделе G четыре сотрудника с зарплатами 1000, 1500, 2100 и 7200
+        SalaryStats g = report.getByDepartment(Department.getDepartment("G"));
+        assertEquals(4, g.getCount());
+        assertEquals(11800, g.getSum(), 0.001);
+        assertEquals(1000, g.getMin(), 0.0);
+        assertEquals(7200, g.getMax(), 0.0);
+        assertEquals(2950, g.getMean(), 0.001);
+
+        assertEquals(16, report.getTotal().getCount());
+        assertEquals(10, report.getDepartments().size());
+        long sum = report.getDepartments().stream().mapToLong(d -> report.getByDepartment(d).getCount()).sum();
+        assertEquals(16, sum);
+    }
+
+    @Test
+    void testGenderAndAgeBands() {
+        StatisticsReport report = aggregate(people, false);
+
+        assertEquals(List.of("Female", "Male"), List.copyOf(report.getByGender().keySet()));
+        assertEquals(11, report.getByGender().get("Female").getCount());
+        assertEquals(5, report.getByGender().get("Male").getCount());
+
+        // Aahan (15.05.1970) на 01.01.2025 исполнилось 54 года
+        assertTrue(report.getByAgeBand().containsKey(50));
+        assertEquals(16, report.getByAgeBand().values().stream().mapToLong(SalaryStats::getCount).sum());
+        assertEquals(REFERENCE_DATE, report.getReferenceDate());
+    }
+
+    @Test
+    void testReport_NotChangedByLaterRows() {
+        StatisticsAggregator aggregator = new StatisticsAggregator(REFERENCE_DATE, 10);
+        people.forEach(aggregator::add);
+        StatisticsReport report = aggregator.toReport();
+        Department g = Department.getDepartment("G");
+        double p99 = report.getByDepartment(g).getP99();
+
+        // Сотрудники, добавленные после построения отчета, в него не попадают
+        people.forEach(aggregator::add);
+
+        assertEquals(16, report.getTotal().getCount());
+        assertEquals(4, report.getByDepartment(g).getCount());
+        assertEquals(p99, report.getByDepartment(g).getP99(), 0.0);
+        assertEquals(11, report.getByGender().get("Female").getCount());
+        assertEquals(16, report.getByAgeBand().values().stream().mapToLong(SalaryStats::getCount).sum());
+        assertEquals(32, aggregator.toReport().getTotal().getCount());
+    }
+
+    @Test
+    void testPercentiles_WithinRelativeAccuracy() {
+        Random random = new Random(5);
+        SalaryStats stats = new SalaryStats();
+        double[] salaries = new double[100_000];
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = 500 + random.nextDouble() * 20_000;
+            stats.add(salaries[i]);
+        }
+        Arrays.sort(salaries);
+
+        for (double quantile : new double[]{0.5, 0.95, 0.99}) {
+            double exact = salaries[(int) (quantile * (salaries.length - 1))];
+            assertEquals(exact, stats.getPercentile(quantile), exact * SalarySketch.RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    void testParallel_SameAsSequential(@TempDir Path tempDir) throws IOException {
+        Path file = SyntheticCsv.generate(tempDir.resolve("people.csv"), 50_000, 40, 11);
+        List<Person> many = MappedCSVReader.readPeopleFromFile(file);
+
+        StatisticsReport sequential = aggregate(many, false);
+        StatisticsReport parallel = aggregate(many, true);
+        StatisticsReport fromTable = StatisticsAggregator.aggregate(PersonTable.fromPeople(many), true);
+
+        assertEquals(sequential.getDepartments(), parallel.getDepartments());
+        for (Department department : sequential.getDepartments()) {
+            SalaryStats expected = sequential.getByDepartment(department);
+            for (StatisticsReport other : List.of(parallel, fromTable)) {
+                SalaryStats actual = other.getByDepartment(department);
+                assertEquals(expected.getCount(), actual.getCount());
+                assertEquals(expected.getSum(), actual.getSum(), 1e-6);
+                assertEquals(expected.getMin(), actual.getMin(), 0.0);
+                assertEquals(expected.getMax(), actual.getMax(), 0.0);
+                assertEquals(expected.getP95(), actual.getP95(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testEmptyStatistics() {
+        StatisticsReport report = aggregate(List.of(), false);
+
+        assertEquals(0, report.getTotal().getCount());
+        assertTrue(Double.isNaN(report.getTotal().getMean()));
+        assertTrue(Double.isNaN(report.getTotal().getP50()));
+        assertTrue(report.getDepartments().isEmpty());
+    }
+
+    @Test
+    void testNonFiniteSalary_RejectedAsSalaryField(@TempDir Path tempDir) throws IOException {
+        String csv = """
+                id;name;gender;BirthDate;Division;Salary
+                1;Anna;Female;01.02.1990;A;1000
+                2;Boris;Male;01.02.1990;A;1e400
+                3;Vera;Female;01.02.1990;A;Infinity
+                4;Gleb;Male;01.02.1990;A;NaN
+                """;
+        ParseErrors lineErrors = new ParseErrors(ErrorPolicy.collect(10));
+        List<Person> lineReader = CSVReader.readPeople(
+                new BufferedReader(new StringReader(csv)), lineErrors);
+        ParseErrors byteErrors = new ParseErrors(ErrorPolicy.collect(10));
+        List<Person> byteReader = MappedCSVReader.readPeopleFromFile(
+                Files.writeString(tempDir.resolve("salaries.csv"), csv), byteErrors);
+
+        for (ParseErrors errors : List.of(lineErrors, byteErrors)) {
+            assertEquals(3, errors.getTotal());
+            for (ParseError error : errors.getErrors()) {
+                assertEquals(ParseErrorCause.VALIDATION, error.cause());
+                assertEquals(CSVReader.SALARY_FIELD, error.fieldIndex());
+            }
+        }
+        assertEquals(1, lineReader.size());
+        assertEquals(1000, aggregate(byteReader, false).getTotal().getMax(), 0.0);
+
+        SalarySketch sketch = new SalarySketch();
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.NaN));
+    }
+}
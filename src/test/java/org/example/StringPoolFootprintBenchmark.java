@@ -0,0 +1,71 @@
+package org.example;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Сравнение объема кучи после загрузки {@code List<Person>} с пулом имен {@link StringPool}
+ * и без него. Значения пола в обоих случаях разделяют строки реестра {@link Genders}.
+ * Для каждого варианта выводится прирост занятой кучи и строки гистограммы классов
+ * (как {@code jcmd <pid> GC.class_histogram}) для строк, их массивов байтов и Person.
+ * <p>
+ * Запуск: {@code java -Xmx8g StringPoolFootprintBenchmark [строк]}, по умолчанию 5M.
+ */
+public class StringPoolFootprintBenchmark {
+
+    private static final String[] HISTOGRAM_CLASSES = {"java.lang.String", "[B", "org.example.Person"};
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), rows, 26, 42, true);
+        try {
+            StringPool pool = Person.namePool();
+            measure("Без пула имен", file, StringPool.disabled());
+            measure("С пулом имен", file, pool);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void measure(String title, Path file, StringPool pool) throws Exception {
+        Person.setNamePool(pool);
+        long before = usedHeap();
+        List<Person> people = MappedCSVReader.readPeopleFromFile(file);
+        long after = usedHeap();
+
+        System.out.printf("%s: %,d строк, %,d МБ (%.1f байт/строка)%n",
+                title, people.size(), (after - before) >> 20, (double) (after - before) / people.size());
+        printHistogram();
+        Reference.reachabilityFence(people);
+    }
+
+    /**
+     * Выводит строки гистограммы классов для отслеживаемых классов.
+     */
+    private static void printHistogram() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        String histogram = (String) server.invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram", new Object[]{null}, new String[]{String[].class.getName()});
+        for (String line : histogram.split("\n")) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length >= 4 && List.of(HISTOGRAM_CLASSES).contains(columns[3])) {
+                System.out.printf("  %-20s %,14d объектов %,10d МБ%n",
+                        columns[3], Long.parseLong(columns[1]), Long.parseLong(columns[2]) >> 20);
+            }
+        }
+    }
+
+    private static long usedHeap() throws IOException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,112 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String intern(StringPool pool, String value, Charset charset) {
+        byte[] bytes = ("  " + value + ";").getBytes(charset);
+        return pool.intern(ByteBuffer.wrap(bytes), 2, bytes.length - 1, new byte[64], charset);
+    }
+
+    @Test
+    void testIntern_ReturnsPooledInstance() {
+        StringPool pool = new StringPool(100);
+        assertEquals(128, pool.capacity());
+
+        String anna = pool.intern(new String("Anna"));
+        assertSame(anna, pool.intern(new String("Anna")));
+        assertSame(anna, intern(pool, "Anna", StandardCharsets.UTF_8));
+        assertSame(anna, intern(pool, "Anna", Charset.forName("windows-1251")));
+
+        String boris = intern(pool, "Борис", StandardCharsets.UTF_8);
+        assertEquals("Борис", boris);
+        assertSame(boris, intern(pool, "Борис", StandardCharsets.UTF_8));
+        assertEquals("Борис", intern(pool, "Борис", Charset.forName("windows-1251")));
+        assertNull(pool.intern(null));
+    }
+
+    @Test
+    void testBounded_EvictsAndStaysCorrect() {
+        StringPool pool = new StringPool(4);
+        for (int i = 0; i < 1_000; i++) {
+            String value = "name" + (i % 50);
+            assertEquals(value, pool.intern(value));
+            assertEquals(value, intern(pool, value, StandardCharsets.UTF_8));
+        }
+
+        StringPool disabled = StringPool.disabled();
+        String value = new String("Anna");
+        assertEquals(0, disabled.capacity());
+        assertSame(value, disabled.intern(value));
+        assertThrows(IllegalArgumentException.class, () -> new StringPool(-1));
+    }
+
+    @Test
+    void testConcurrentIntern_AlwaysEqualValue() throws Exception {
+        StringPool pool = new StringPool(16);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        String value = "v" + ((i * 7 + seed) % 100);
+                        if (!value.equals(pool.intern(value))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        }
+    }
+
+    @Test
+    void testReaders_ShareNamesAndGenders() throws IOException {
+        String csv = """
+                id;name;gender;BirthDate;Division;Salary
+                1;Anna;Female;01.02.1990;A;1000
+                2; Anna ;Female;03.04.1985;A;2000
+                3;Глеб;Мужской;05.06.1975;A;3000
+                4;Глеб;Мужской;07.08.1965;A;4000
+                """;
+        List<Person> byteReader = MappedCSVReader.readPeopleFromFile(Files.writeString(tempDir.resolve("p.csv"), csv));
+        List<Person> lineReader = CSVReader.readPeople(new BufferedReader(new StringReader(csv)));
+
+        List<Person> people = new ArrayList<>(byteReader);
+        people.addAll(lineReader);
+        for (Person first : people) {
+            for (Person second : people) {
+                if (first.getName().equals(second.getName())) {
+                    assertSame(first.getName(), second.getName());
+                    assertSame(first.getGender(), second.getGender());
+                }
+            }
+        }
+        assertEquals("Мужской", byteReader.get(3).getGender());
+    }
+}
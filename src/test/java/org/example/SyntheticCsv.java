@@ -0,0 +1,102 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Генератор синтетических CSV файлов в формате data.csv для тестов и замеров производительности.
+ */
+final class SyntheticCsv {
+
+    private static final String HEADER = "id;name;gender;BirthDate;Division;Salary";
+
+    private static final String[] NAMES = {
+            "Aahan", "Aala", "Aaleahya", "Aaleyah", "Aalijah", "Aaliyah", "Aamori",
+            "Aanjay", "Aaralyn", "Aaric", "Aarika", "Aaron", "Aarshiya", "Aart"
+    };
+
+    private static final String[] CYRILLIC_NAMES = {
+            "Анна", "Борис", "Вера", "Глеб", "Дина", "Егор", "Жанна", "Зоя", "Игорь", "Кира"
+    };
+
+    private SyntheticCsv() {
+    }
+
+    /**
+     * Записывает синтетический файл для ручных замеров.
+     * <p>
+     * Запуск: {@code java SyntheticCsv файл [строк] [подразделений] [seed]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Использование: SyntheticCsv файл [строк] [подразделений] [seed]");
+            return;
+        }
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int departments = args.length > 2 ? Integer.parseInt(args[2]) : 26;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        Path file = generate(Path.of(args[0]), rows, departments, seed);
+        System.out.printf("Записано %d строк, %d подразделений: %s (%.1f МБ)%n",
+                rows, departments, file, Files.size(file) / 1e6);
+    }
+
+    /**
+     * Записывает файл с заголовком и заданным количеством строк.
+     *
+     * @param file файл для записи
+     * @param rows количество строк с данными
+     * @param departments количество различных подразделений
+     * @param seed начальное значение генератора случайных чисел
+     * @return путь к записанному файлу
+     */
+    static Path generate(Path file, int rows, int departments, long seed) throws IOException {
+        return generate(file, rows, departments, seed, false);
+    }
+
+    /**
+     * Записывает файл, в котором при cyrillic половина имен и названий подразделений кириллические.
+     *
+     * @param cyrillic добавлять ли кириллические имена и подразделения
+     */
+    static Path generate(Path file, int rows, int departments, long seed, boolean cyrillic) throws IOException {
+        Random random = new Random(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                writer.write(Integer.toString(i + 1));
+                writer.write(';');
+                writer.write(cyrillic && random.nextBoolean()
+                        ? CYRILLIC_NAMES[random.nextInt(CYRILLIC_NAMES.length)]
+                        : NAMES[random.nextInt(NAMES.length)]);
+                writer.write(';');
+                writer.write(random.nextBoolean() ? "Male" : "Female");
+                writer.write(';');
+                writer.write(String.format("%02d.%02d.%04d",
+                        1 + random.nextInt(28), 1 + random.nextInt(12), 1940 + random.nextInt(65)));
+                writer.write(';');
+                int department = random.nextInt(departments);
+                writer.write(cyrillic && department % 2 == 0 ? "Отдел " + departmentName(department)
+                        : departmentName(department));
+                writer.write(';');
+                writer.write(Integer.toString(1000 + random.nextInt(90) * 100));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Возвращает название подразделения по номеру: A..Z, затем A1..Z1 и т.д.
+     */
+    static String departmentName(int index) {
+        char letter = (char) ('A' + index % 26);
+        int suffix = index / 26;
+        return suffix == 0 ? String.valueOf(letter) : letter + Integer.toString(suffix);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбиение строк на поля тремя реализациями {@link RowTokenizer}: {@code String.split},
+ * opencsv и однопроходной с учетом кавычек. Строки берутся из синтетического файла;
+ * при quotedShare часть строк содержит имя в кавычках с ';' внутри
+ * (split разбивает такие строки неверно, но время все равно показательно).
+ * <p>
+ * Запуск: {@code mvn -P benchmark test -DskipTests -Djmh.include=TokenizerBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenizerBenchmark {
+
+    @Param({"split", "openCsv", "quoteAware"})
+    public String tokenizer;
+
+    /** Доля строк с полем в кавычках в процентах */
+    @Param({"0", "10"})
+    public int quotedShare;
+
+    private String[] lines;
+    private RowTokenizer rowTokenizer;
+    private final String[] fields = new String[CSVReader.FIELD_COUNT];
+
+    @Setup
+    public void setUp() throws IOException {
+        Path file = SyntheticCsv.generate(Files.createTempFile("people", ".csv"), 10_000, 26, 42);
+        List<String> all = Files.readAllLines(file);
+        Files.delete(file);
+
+        lines = all.subList(1, all.size()).toArray(new String[0]);
+        for (int i = 0; i < lines.length; i++) {
+            if (i % 100 < quotedShare) {
+                String[] parts = lines[i].split(";");
+                parts[1] = "\"" + parts[1] + "; Jr.\"";
+                lines[i] = String.join(";", parts);
+            }
+        }
+        rowTokenizer = switch (tokenizer) {
+            case "split" -> RowTokenizer.split();
+            case "openCsv" -> RowTokenizer.openCsv();
+            default -> RowTokenizer.quoteAware();
+        };
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(rowTokenizer.tokenize(line, fields));
+            blackhole.consume(fields[CSVReader.SALARY_FIELD]);
+        }
+    }
+}